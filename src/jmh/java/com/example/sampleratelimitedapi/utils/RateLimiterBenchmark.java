@@ -0,0 +1,154 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ *
+ * <h1>RateLimiterBenchmark</h1>
+ *
+ * <p>Measures the throughput of {@link RateLimiter#isAllowed()} for every {@link
+ * RateLimitAlgorithm}, with 1, 4, 16 and 64 threads sharing the same RateLimiter.
+ *
+ * <p>The "allowed" benchmarks use a limit that is never reached, while the "rejected" benchmarks
+ * use a limit that is reached by the first request: the amount of allowed and rejected requests is
+ * reported next to the throughput.
+ *
+ * <p>Run with "gradlew jmh": the gc profiler also reports the memory allocated per request.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+  /** A RateLimiter whose limit (a million requests per millisecond) is never reached. */
+  @State(Scope.Benchmark)
+  public static class AllowedState {
+    @Param({
+      "SLIDING_LOG",
+      "TOKEN_BUCKET",
+      "GCRA",
+      "SLIDING_WINDOW_COUNTER",
+      "STRIPED_TOKEN_BUCKET"
+    })
+    public RateLimitAlgorithm algorithm;
+
+    private RateLimiter rateLimiter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      rateLimiter = new RateLimiter(1000 * 1000L, 1L, algorithm);
+    }
+  }
+
+  /** A RateLimiter whose limit (one request per hour) is reached by the first request. */
+  @State(Scope.Benchmark)
+  public static class RejectedState {
+    @Param({
+      "SLIDING_LOG",
+      "TOKEN_BUCKET",
+      "GCRA",
+      "SLIDING_WINDOW_COUNTER",
+      "STRIPED_TOKEN_BUCKET"
+    })
+    public RateLimitAlgorithm algorithm;
+
+    private RateLimiter rateLimiter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      rateLimiter = new RateLimiter(1L, 60 * 60 * 1000L, algorithm);
+    }
+  }
+
+  /** The amount of allowed and rejected requests, reported next to the throughput. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Decisions {
+    public long allowed;
+
+    public long rejected;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+      allowed = 0;
+      rejected = 0;
+    }
+  }
+
+  private static boolean isAllowed(RateLimiter rateLimiter, Decisions decisions) {
+    boolean allowed = rateLimiter.isAllowed();
+
+    if (allowed) decisions.allowed++;
+    else decisions.rejected++;
+
+    return allowed;
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean allowed01Thread(AllowedState state, Decisions decisions) {
+    return isAllowed(state.rateLimiter, decisions);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean allowed04Threads(AllowedState state, Decisions decisions) {
+    return isAllowed(state.rateLimiter, decisions);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public boolean allowed16Threads(AllowedState state, Decisions decisions) {
+    return isAllowed(state.rateLimiter, decisions);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public boolean allowed64Threads(AllowedState state, Decisions decisions) {
+    return isAllowed(state.rateLimiter, decisions);
+  }
+
+  @Benchmark
+  @Threads(1)
+  public boolean rejected01Thread(RejectedState state, Decisions decisions) {
+    return isAllowed(state.rateLimiter, decisions);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public boolean rejected04Threads(RejectedState state, Decisions decisions) {
+    return isAllowed(state.rateLimiter, decisions);
+  }
+
+  @Benchmark
+  @Threads(16)
+  public boolean rejected16Threads(RejectedState state, Decisions decisions) {
+    return isAllowed(state.rateLimiter, decisions);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public boolean rejected64Threads(RejectedState state, Decisions decisions) {
+    return isAllowed(state.rateLimiter, decisions);
+  }
+}
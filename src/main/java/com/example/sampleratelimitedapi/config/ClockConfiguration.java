@@ -0,0 +1,35 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.utils.CachedClock;
+import com.example.sampleratelimitedapi.utils.Clock;
+import com.example.sampleratelimitedapi.utils.MonotonicClock;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ *
+ *
+ * <h1>ClockConfiguration</h1>
+ *
+ * <p>Provides the {@link Clock} used by the RateLimiter instances.
+ *
+ * <p>By default this is the {@link MonotonicClock}; if "rate-limit.clock-resolution-ms" is
+ * positive, it is a {@link CachedClock} refreshed at that interval instead.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Configuration
+public class ClockConfiguration {
+  @Bean
+  @ConditionalOnMissingBean
+  public Clock clock(RateLimitProperties rateLimitProperties) {
+    long resolutionMs = rateLimitProperties.getClockResolutionMs();
+
+    if (resolutionMs > 0) return new CachedClock(MonotonicClock.INSTANCE, resolutionMs);
+
+    return MonotonicClock.INSTANCE;
+  }
+}
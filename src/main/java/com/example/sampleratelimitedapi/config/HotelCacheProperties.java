@@ -0,0 +1,42 @@
+package com.example.sampleratelimitedapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ *
+ * <h1>HotelCacheProperties</h1>
+ *
+ * <p>The settings of the cache of the Hotel lookups (see CachingHotelRepository), bound from the
+ * "hotels.cache.*" properties of the application.properties file.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Component
+@ConfigurationProperties(prefix = "hotels.cache")
+public class HotelCacheProperties {
+  // The maximum amount of results held by the cache (0 means no cache).
+  private int maxEntries = 1000;
+
+  // The interval (in milliseconds) after which a cached result expires.
+  private long ttlMs = 60 * 1000L;
+
+  public int getMaxEntries() {
+    return maxEntries;
+  }
+
+  public void setMaxEntries(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  public long getTtlMs() {
+    return ttlMs;
+  }
+
+  public void setTtlMs(long ttlMs) {
+    this.ttlMs = ttlMs;
+  }
+}
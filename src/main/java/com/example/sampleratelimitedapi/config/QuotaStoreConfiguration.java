@@ -0,0 +1,30 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.utils.InMemoryQuotaStore;
+import com.example.sampleratelimitedapi.utils.QuotaStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ *
+ *
+ * <h1>QuotaStoreConfiguration</h1>
+ *
+ * <p>Provides the {@link QuotaStore} shared by the "distributed" endpoints.
+ *
+ * <p>By default this is an {@link InMemoryQuotaStore}, so the limits are only shared within this
+ * node: a cluster should declare its own QuotaStore bean, backed by a store shared by every node.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Configuration
+public class QuotaStoreConfiguration {
+  @Bean
+  @ConditionalOnMissingBean
+  public QuotaStore quotaStore() {
+    return new InMemoryQuotaStore();
+  }
+}
@@ -0,0 +1,315 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.utils.RateLimitAlgorithm;
+import com.example.sampleratelimitedapi.utils.RateLimiter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ *
+ * <h1>RateLimitProperties</h1>
+ *
+ * <p>The rate limit settings of every endpoint, bound from the "rate-limit.endpoints.{name}.*"
+ * properties of the application.properties file, plus the settings shared by every endpoint.
+ *
+ * <p>If "rate-limit.reload-file" is set, the properties are bound again whenever that file changes
+ * (see {@link RateLimitPropertiesReloader}): every setting can be reloaded, except the
+ * "clock-resolution-ms", the "deny-list-capacity", the "reload-*", the "snapshot-*", the "usage-*"
+ * and the "adaptive" settings, which require a restart.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+  // The settings of every endpoint, by name (e.g. "rate-limit.endpoints.city.algorithm").
+  private Map<String, Endpoint> endpoints = new HashMap<>();
+
+  // The interval (in milliseconds) in which a cached clock is refreshed (0 means not cached).
+  private long clockResolutionMs = 0L;
+
+  // The limit shared by every request of every client, protecting the database.
+  private Limit global = new Limit();
+
+  // The limit of every client, across all the endpoints.
+  private Limit client = new Limit();
+
+  // The API keys the clients can be identified by (any other key is ignored).
+  private List<String> apiKeys = new ArrayList<>();
+
+  // The addresses of the proxies whose X-Forwarded-For header is trusted (e.g. a load balancer).
+  private List<String> trustedProxies = new ArrayList<>();
+
+  // The interval (in milliseconds) in which an endpoint is unavailable once its limit is exceeded.
+  private long blockedTimeMs = RateLimiter.API_BLOCKED_TIME_MS;
+
+  // The amount of blocked clients turned away before their limits are checked (0 means none).
+  private int denyListCapacity = 4096;
+
+  // The file the properties are reloaded from when it changes (empty means no reload).
+  private String reloadFile = "";
+
+  // The interval (in milliseconds) in which the reload file is checked for changes.
+  private long reloadIntervalMs = 1000L;
+
+  // The file the state of the RateLimiter instances is saved to (empty means never saved).
+  private String snapshotFile = "";
+
+  // The interval (in milliseconds) in which the state of the RateLimiter instances is saved.
+  private long snapshotIntervalMs = 10 * 1000L;
+
+  // The interval (in milliseconds) in which the usage of the clients is saved to the database.
+  private long usageFlushIntervalMs = 10 * 1000L;
+
+  public Map<String, Endpoint> getEndpoints() {
+    return endpoints;
+  }
+
+  public void setEndpoints(Map<String, Endpoint> endpoints) {
+    this.endpoints = endpoints;
+  }
+
+  public Limit getGlobal() {
+    return global;
+  }
+
+  public void setGlobal(Limit global) {
+    this.global = global;
+  }
+
+  public Limit getClient() {
+    return client;
+  }
+
+  public void setClient(Limit client) {
+    this.client = client;
+  }
+
+  public long getClockResolutionMs() {
+    return clockResolutionMs;
+  }
+
+  public void setClockResolutionMs(long clockResolutionMs) {
+    this.clockResolutionMs = clockResolutionMs;
+  }
+
+  public List<String> getApiKeys() {
+    return apiKeys;
+  }
+
+  public void setApiKeys(List<String> apiKeys) {
+    this.apiKeys = apiKeys;
+  }
+
+  public List<String> getTrustedProxies() {
+    return trustedProxies;
+  }
+
+  public void setTrustedProxies(List<String> trustedProxies) {
+    this.trustedProxies = trustedProxies;
+  }
+
+  public long getBlockedTimeMs() {
+    return blockedTimeMs;
+  }
+
+  public void setBlockedTimeMs(long blockedTimeMs) {
+    this.blockedTimeMs = blockedTimeMs;
+  }
+
+  public int getDenyListCapacity() {
+    return denyListCapacity;
+  }
+
+  public void setDenyListCapacity(int denyListCapacity) {
+    this.denyListCapacity = denyListCapacity;
+  }
+
+  public String getReloadFile() {
+    return reloadFile;
+  }
+
+  public void setReloadFile(String reloadFile) {
+    this.reloadFile = reloadFile;
+  }
+
+  public long getReloadIntervalMs() {
+    return reloadIntervalMs;
+  }
+
+  public void setReloadIntervalMs(long reloadIntervalMs) {
+    this.reloadIntervalMs = reloadIntervalMs;
+  }
+
+  public String getSnapshotFile() {
+    return snapshotFile;
+  }
+
+  public void setSnapshotFile(String snapshotFile) {
+    this.snapshotFile = snapshotFile;
+  }
+
+  public long getSnapshotIntervalMs() {
+    return snapshotIntervalMs;
+  }
+
+  public void setSnapshotIntervalMs(long snapshotIntervalMs) {
+    this.snapshotIntervalMs = snapshotIntervalMs;
+  }
+
+  public long getUsageFlushIntervalMs() {
+    return usageFlushIntervalMs;
+  }
+
+  public void setUsageFlushIntervalMs(long usageFlushIntervalMs) {
+    this.usageFlushIntervalMs = usageFlushIntervalMs;
+  }
+
+  /**
+   * Returns the settings of the given endpoint, or the default settings if it has none.
+   *
+   * @param name The name of the endpoint (e.g. "city").
+   * @return the settings of the given endpoint.
+   */
+  public Endpoint getEndpoint(String name) {
+    return endpoints.getOrDefault(name, new Endpoint());
+  }
+
+  /** A rate limit applied on top of the limits of the endpoints. */
+  public static class Limit {
+    // The maximum amount of requests allowed for the given interval (0 means no limit).
+    private long maxRequests = 0L;
+
+    // The interval (in milliseconds) in which the number of max requests is valid.
+    private long timeIntervalMs = 1000L;
+
+    // The algorithm deciding if a request is allowed.
+    private RateLimitAlgorithm algorithm = RateLimitAlgorithm.SLIDING_LOG;
+
+    public boolean isEnabled() {
+      return maxRequests > 0;
+    }
+
+    public long getMaxRequests() {
+      return maxRequests;
+    }
+
+    public void setMaxRequests(long maxRequests) {
+      this.maxRequests = maxRequests;
+    }
+
+    public long getTimeIntervalMs() {
+      return timeIntervalMs;
+    }
+
+    public void setTimeIntervalMs(long timeIntervalMs) {
+      this.timeIntervalMs = timeIntervalMs;
+    }
+
+    public RateLimitAlgorithm getAlgorithm() {
+      return algorithm;
+    }
+
+    public void setAlgorithm(RateLimitAlgorithm algorithm) {
+      this.algorithm = algorithm;
+    }
+  }
+
+  /** The rate limit settings of a single endpoint. */
+  public static class Endpoint {
+    // The maximum amount of requests allowed for the given interval (0 means the RateLimited one).
+    private long maxRequests = 0L;
+
+    // The interval (in milliseconds) of the limit (0 means the RateLimited one).
+    private long timeIntervalMs = 0L;
+
+    // The algorithm deciding if a request is allowed (when the endpoint is not distributed).
+    private RateLimitAlgorithm algorithm = RateLimitAlgorithm.SLIDING_LOG;
+
+    // If true, the limit is shared by every node of the cluster through the QuotaStore.
+    private boolean distributed = false;
+
+    // The amount of permits leased from the QuotaStore at once (0 means a tenth of the limit).
+    private long leaseSize = 0L;
+
+    // If true, the requests handled at the same time are limited by the observed latency.
+    private boolean adaptive = false;
+
+    // The highest amount of requests handled at the same time, when the endpoint is adaptive.
+    private int maxConcurrency = 100;
+
+    // How long (in milliseconds) a request over the limit may wait for a slot (0 means no wait).
+    private long maxWaitMs = 0L;
+
+    public long getMaxRequests() {
+      return maxRequests;
+    }
+
+    public void setMaxRequests(long maxRequests) {
+      this.maxRequests = maxRequests;
+    }
+
+    public long getTimeIntervalMs() {
+      return timeIntervalMs;
+    }
+
+    public void setTimeIntervalMs(long timeIntervalMs) {
+      this.timeIntervalMs = timeIntervalMs;
+    }
+
+    public RateLimitAlgorithm getAlgorithm() {
+      return algorithm;
+    }
+
+    public void setAlgorithm(RateLimitAlgorithm algorithm) {
+      this.algorithm = algorithm;
+    }
+
+    public boolean isDistributed() {
+      return distributed;
+    }
+
+    public void setDistributed(boolean distributed) {
+      this.distributed = distributed;
+    }
+
+    public long getLeaseSize() {
+      return leaseSize;
+    }
+
+    public void setLeaseSize(long leaseSize) {
+      this.leaseSize = leaseSize;
+    }
+
+    public boolean isAdaptive() {
+      return adaptive;
+    }
+
+    public void setAdaptive(boolean adaptive) {
+      this.adaptive = adaptive;
+    }
+
+    public int getMaxConcurrency() {
+      return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+    }
+
+    public long getMaxWaitMs() {
+      return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+      this.maxWaitMs = maxWaitMs;
+    }
+  }
+}
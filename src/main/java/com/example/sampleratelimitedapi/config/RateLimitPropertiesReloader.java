@@ -0,0 +1,146 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.interceptors.RateLimitInterceptor;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ScheduledFuture;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySource;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ *
+ * <h1>RateLimitPropertiesReloader</h1>
+ *
+ * <p>Reloads the {@link RateLimitProperties} at runtime, without restarting the application.
+ *
+ * <p>If "rate-limit.reload-file" is set, that file is checked every "rate-limit.reload-interval-ms"
+ * milliseconds on the {@link TaskScheduler}: whenever it changes, the "rate-limit.*" properties are
+ * bound again from that file (taking precedence) and from the application.properties file, and
+ * applied by the {@link RateLimitInterceptor}, which reconfigures the RateLimiter instances in
+ * place. A file that can not be read or bound is ignored, and the current settings are kept.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Component
+public class RateLimitPropertiesReloader {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitPropertiesReloader.class);
+
+  // The prefix of the properties bound to the RateLimitProperties.
+  private static final String PREFIX = "rate-limit";
+
+  private Environment environment;
+
+  private RateLimitInterceptor rateLimitInterceptor;
+
+  // Runs the periodic check of the reload file.
+  private TaskScheduler taskScheduler;
+
+  // The file the properties are reloaded from, or null if the properties are never reloaded.
+  private final Path reloadFile;
+
+  // The time the reload file was last modified at, when it was last reloaded.
+  private FileTime lastModified;
+
+  // The interval (in milliseconds) in which the reload file is checked for changes.
+  private final long reloadIntervalMs;
+
+  // The periodic check of the reload file, or null if the properties are never reloaded.
+  private ScheduledFuture<?> watchTask;
+
+  @Autowired
+  public RateLimitPropertiesReloader(
+      RateLimitProperties rateLimitProperties,
+      Environment environment,
+      RateLimitInterceptor rateLimitInterceptor,
+      TaskScheduler taskScheduler) {
+    this.environment = environment;
+    this.rateLimitInterceptor = rateLimitInterceptor;
+    this.taskScheduler = taskScheduler;
+
+    this.reloadIntervalMs = rateLimitProperties.getReloadIntervalMs();
+
+    String reloadFile = rateLimitProperties.getReloadFile();
+    this.reloadFile = reloadFile == null || reloadFile.isEmpty() ? null : Paths.get(reloadFile);
+  }
+
+  /** Starts checking the reload file (if any) when the application starts. */
+  @PostConstruct
+  public synchronized void start() {
+    if (reloadFile == null || watchTask != null) return;
+
+    watchTask =
+        taskScheduler.scheduleWithFixedDelay(
+            this::reloadIfModified, Duration.ofMillis(reloadIntervalMs));
+  }
+
+  /**
+   * Reloads the properties if the reload file was modified since it was last reloaded.
+   *
+   * @return true if the properties were reloaded, false otherwise.
+   */
+  public synchronized boolean reloadIfModified() {
+    if (reloadFile == null || !Files.isRegularFile(reloadFile)) return false;
+
+    try {
+      FileTime modified = Files.getLastModifiedTime(reloadFile);
+
+      if (modified.equals(lastModified)) return false;
+
+      // Never retry a broken file until it changes again
+      lastModified = modified;
+
+      rateLimitInterceptor.reload(bind(reloadFile));
+      LOGGER.info("Reloaded the rate limit properties from {}", reloadFile);
+      return true;
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("Could not reload the rate limit properties from {}", reloadFile, e);
+      return false;
+    }
+  }
+
+  /** Stops checking the reload file when the application shuts down. */
+  @PreDestroy
+  public synchronized void close() {
+    if (watchTask != null) watchTask.cancel(false);
+  }
+
+  // Binds the properties of the file on top of the ones of the environment
+  private RateLimitProperties bind(Path file) throws IOException {
+    Properties properties = new Properties();
+
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    }
+
+    List<ConfigurationPropertySource> sources = new ArrayList<>();
+    sources.add(new MapConfigurationPropertySource(properties));
+    ConfigurationPropertySources.get(environment).forEach(sources::add);
+
+    return new Binder(sources)
+        .bind(PREFIX, Bindable.of(RateLimitProperties.class))
+        .orElseGet(RateLimitProperties::new);
+  }
+}
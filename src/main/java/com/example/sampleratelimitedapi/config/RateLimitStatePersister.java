@@ -0,0 +1,129 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.interceptors.RateLimitInterceptor;
+import com.example.sampleratelimitedapi.utils.RateLimiterSnapshotFile;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ScheduledFuture;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ *
+ * <h1>RateLimitStatePersister</h1>
+ *
+ * <p>Saves the state of every RateLimiter to a local file, and restores it at startup, so that a
+ * restart (e.g. a redeploy) does not give every client a fresh limit, nor unblock the blocked ones.
+ *
+ * <p>If "rate-limit.snapshot-file" is set, the snapshots of the {@link RateLimitInterceptor} are
+ * written to that file (see {@link RateLimiterSnapshotFile}) every
+ * "rate-limit.snapshot-interval-ms" milliseconds on the {@link TaskScheduler}, and once more when
+ * the application shuts down. Taking the snapshots only reads the state of the RateLimiter
+ * instances, so the requests never wait for the file. The requests made after the last snapshot are
+ * lost if the application crashes.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Component
+public class RateLimitStatePersister {
+  private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitStatePersister.class);
+
+  private RateLimitInterceptor rateLimitInterceptor;
+
+  // Runs the periodic save of the snapshots.
+  private TaskScheduler taskScheduler;
+
+  // The file the snapshots are saved to, or null if they are never saved.
+  private final RateLimiterSnapshotFile snapshotFile;
+
+  // The interval (in milliseconds) in which the snapshots are saved.
+  private final long snapshotIntervalMs;
+
+  // The periodic save of the snapshots, or null if they are never saved.
+  private ScheduledFuture<?> saveTask;
+
+  @Autowired
+  public RateLimitStatePersister(
+      RateLimitProperties rateLimitProperties,
+      RateLimitInterceptor rateLimitInterceptor,
+      TaskScheduler taskScheduler) {
+    this.rateLimitInterceptor = rateLimitInterceptor;
+    this.taskScheduler = taskScheduler;
+    this.snapshotIntervalMs = rateLimitProperties.getSnapshotIntervalMs();
+
+    String snapshotFile = rateLimitProperties.getSnapshotFile();
+    this.snapshotFile =
+        snapshotFile == null || snapshotFile.isEmpty()
+            ? null
+            : new RateLimiterSnapshotFile(Paths.get(snapshotFile));
+  }
+
+  /** Restores the saved snapshots (if any), then starts saving them periodically. */
+  @PostConstruct
+  public synchronized void start() {
+    if (snapshotFile == null || saveTask != null) return;
+
+    restore();
+
+    saveTask =
+        taskScheduler.scheduleWithFixedDelay(
+            this::save,
+            Instant.now().plusMillis(snapshotIntervalMs),
+            Duration.ofMillis(snapshotIntervalMs));
+  }
+
+  /**
+   * Restores the snapshots saved to the file. A file that can not be read is ignored: every
+   * RateLimiter starts with a fresh limit.
+   *
+   * @return true if the snapshots were restored, false otherwise.
+   */
+  public boolean restore() {
+    if (snapshotFile == null) return false;
+
+    try {
+      rateLimitInterceptor.restore(snapshotFile.read());
+      return true;
+    } catch (IOException e) {
+      LOGGER.warn("Could not restore the rate limiter snapshots", e);
+      return false;
+    }
+  }
+
+  /**
+   * Saves the snapshots of every RateLimiter to the file.
+   *
+   * @return true if the snapshots were saved, false otherwise.
+   */
+  public synchronized boolean save() {
+    if (snapshotFile == null) return false;
+
+    try {
+      snapshotFile.write(rateLimitInterceptor.snapshot());
+      return true;
+    } catch (IOException e) {
+      LOGGER.warn("Could not save the rate limiter snapshots", e);
+      return false;
+    }
+  }
+
+  /** Stops saving the snapshots periodically, and saves them one last time. */
+  @PreDestroy
+  public synchronized void close() {
+    if (saveTask == null) return;
+
+    saveTask.cancel(false);
+    saveTask = null;
+    save();
+  }
+}
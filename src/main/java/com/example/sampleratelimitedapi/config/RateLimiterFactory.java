@@ -0,0 +1,341 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.utils.AdaptiveConcurrencyLimiter;
+import com.example.sampleratelimitedapi.utils.ClientKeyResolver;
+import com.example.sampleratelimitedapi.utils.Clock;
+import com.example.sampleratelimitedapi.utils.DenyList;
+import com.example.sampleratelimitedapi.utils.LeasedQuotaStrategy;
+import com.example.sampleratelimitedapi.utils.QuotaStore;
+import com.example.sampleratelimitedapi.utils.RateLimitStrategy;
+import com.example.sampleratelimitedapi.utils.RateLimiter;
+import com.example.sampleratelimitedapi.utils.RateLimiterRegistry;
+import com.example.sampleratelimitedapi.utils.RateLimiterSnapshot;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ *
+ * <h1>RateLimiterFactory</h1>
+ *
+ * <p>The RateLimiterFactory creates the {@link RateLimiter} instances of the endpoints, applying
+ * the settings of the {@link RateLimitProperties}.
+ *
+ * <p>If an endpoint is "distributed", its limit is shared across the cluster through the {@link
+ * QuotaStore}; otherwise, it is enforced by this node alone.
+ *
+ * <p>If an endpoint is "adaptive", the requests it handles at the same time are also limited by an
+ * {@link AdaptiveConcurrencyLimiter}.
+ *
+ * <p>On top of the limits of the endpoints, the factory also creates the "global" limit shared by
+ * every request, and the "client" limit shared by every endpoint.
+ *
+ * <p>The limits of an endpoint are the ones of its RateLimited annotation, unless the properties
+ * override them. When the properties are reloaded, the existing RateLimiter instances can be
+ * reconfigured in place with the new settings, keeping the permits already taken.
+ *
+ * <p>The snapshots restored at startup (see {@link #restore}) are applied to the RateLimiter
+ * instances as they are created, matched by their snapshot key.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Component
+public class RateLimiterFactory {
+  // The snapshot key of the RateLimiter shared by every request of every client.
+  public static final String GLOBAL_SNAPSHOT_KEY = "global";
+
+  // The initial concurrency limit of the adaptive endpoints.
+  private static final int INITIAL_CONCURRENCY = 20;
+
+  // The snapshots restored at startup, applied when the RateLimiter of their key is created.
+  private final Map<String, RateLimiterSnapshot> pendingSnapshots = new ConcurrentHashMap<>();
+
+  // The current settings, replaced as a whole when the properties are reloaded.
+  private volatile RateLimitProperties rateLimitProperties;
+
+  private QuotaStore quotaStore;
+
+  private Clock clock;
+
+  // Runs the eviction of the idle RateLimiter instances of the registries, or null if they are
+  // never evicted periodically.
+  private final ScheduledExecutorService scheduler;
+
+  public RateLimiterFactory(
+      RateLimitProperties rateLimitProperties, QuotaStore quotaStore, Clock clock) {
+    this(rateLimitProperties, quotaStore, clock, null);
+  }
+
+  @Autowired
+  public RateLimiterFactory(
+      RateLimitProperties rateLimitProperties,
+      QuotaStore quotaStore,
+      Clock clock,
+      ThreadPoolTaskScheduler taskScheduler) {
+    this.rateLimitProperties = rateLimitProperties;
+    this.quotaStore = quotaStore;
+    this.clock = clock;
+    this.scheduler = taskScheduler == null ? null : taskScheduler.getScheduledExecutor();
+  }
+
+  /**
+   * Creates a RateLimiter with the specified maxRequests and timeIntervalMs values, unless the
+   * settings of the endpoint override them.
+   *
+   * @param endpoint The name of the endpoint (e.g. "city").
+   * @param clientKey The identity of the client the RateLimiter belongs to.
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) in which the number of max requests is
+   *     valid.
+   * @return a new RateLimiter.
+   */
+  public RateLimiter create(
+      String endpoint, String clientKey, long maxRequests, long timeIntervalMs) {
+    return restore(
+        endpointSnapshotKey(endpoint, clientKey),
+        new RateLimiter(
+            createStrategy(endpoint, clientKey, maxRequests, timeIntervalMs),
+            clock,
+            rateLimitProperties.getBlockedTimeMs()));
+  }
+
+  /**
+   * Creates the registry holding the RateLimiter of every client of the specified endpoint (or the
+   * single RateLimiter shared by every client), created by {@link #create(String, String, long,
+   * long)}.
+   *
+   * @param endpoint The name of the endpoint (e.g. "city").
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) in which the number of max requests is
+   *     valid.
+   * @return a new RateLimiterRegistry.
+   */
+  public RateLimiterRegistry createEndpointRateLimiters(
+      String endpoint, long maxRequests, long timeIntervalMs) {
+    return new RateLimiterRegistry(
+        clientKey -> create(endpoint, clientKey, maxRequests, timeIntervalMs), clock, scheduler);
+  }
+
+  /**
+   * Reconfigures a RateLimiter created by {@link #create(String, String, long, long)} with the
+   * current settings of the endpoint, keeping the permits already taken.
+   *
+   * @param rateLimiter The RateLimiter to reconfigure.
+   * @param endpoint The name of the endpoint (e.g. "city").
+   * @param clientKey The identity of the client the RateLimiter belongs to.
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) in which the number of max requests is
+   *     valid.
+   */
+  public void reconfigure(
+      RateLimiter rateLimiter,
+      String endpoint,
+      String clientKey,
+      long maxRequests,
+      long timeIntervalMs) {
+    rateLimiter.reconfigure(
+        createStrategy(endpoint, clientKey, maxRequests, timeIntervalMs),
+        rateLimitProperties.getBlockedTimeMs());
+  }
+
+  /**
+   * Creates the AdaptiveConcurrencyLimiter of the specified endpoint.
+   *
+   * @param endpoint The name of the endpoint (e.g. "city").
+   * @return a new AdaptiveConcurrencyLimiter, or null if the endpoint is not adaptive.
+   */
+  public AdaptiveConcurrencyLimiter createConcurrencyLimiter(String endpoint) {
+    RateLimitProperties.Endpoint settings = rateLimitProperties.getEndpoint(endpoint);
+
+    if (!settings.isAdaptive()) return null;
+
+    int maxConcurrency = settings.getMaxConcurrency();
+    return new AdaptiveConcurrencyLimiter(
+        Math.min(INITIAL_CONCURRENCY, maxConcurrency), 1, maxConcurrency);
+  }
+
+  /**
+   * Returns how long a request over the limit of the specified endpoint may wait for a slot.
+   *
+   * @param endpoint The name of the endpoint (e.g. "city").
+   * @return the maximum wait (in milliseconds), 0 if the requests over the limit are rejected.
+   */
+  public long getMaxWaitMs(String endpoint) {
+    return rateLimitProperties.getEndpoint(endpoint).getMaxWaitMs();
+  }
+
+  /**
+   * Creates the list of the blocked clients, turned away before their limits are checked.
+   *
+   * @return a new DenyList, or null if the "deny-list-capacity" is 0.
+   */
+  public DenyList createDenyList() {
+    int capacity = rateLimitProperties.getDenyListCapacity();
+
+    return capacity > 0 ? new DenyList(capacity, clock) : null;
+  }
+
+  /**
+   * Creates the RateLimiter shared by every request of every client.
+   *
+   * @return a new RateLimiter, or null if there is no global limit.
+   */
+  public RateLimiter createGlobalRateLimiter() {
+    return restore(GLOBAL_SNAPSHOT_KEY, create(rateLimitProperties.getGlobal()));
+  }
+
+  /**
+   * Reconfigures the RateLimiter shared by every request of every client with the current "global"
+   * settings, keeping the permits already taken.
+   *
+   * @param rateLimiter The current global RateLimiter, or null if there was no global limit.
+   * @return the reconfigured RateLimiter, a new one if there was no global limit, or null if there
+   *     is no global limit anymore.
+   */
+  public RateLimiter reconfigureGlobalRateLimiter(RateLimiter rateLimiter) {
+    RateLimitProperties.Limit limit = rateLimitProperties.getGlobal();
+
+    if (rateLimiter == null || !limit.isEnabled()) return createGlobalRateLimiter();
+
+    rateLimiter.reconfigure(createStrategy(limit), rateLimitProperties.getBlockedTimeMs());
+    return rateLimiter;
+  }
+
+  /**
+   * Creates the ClientKeyResolver identifying the client of every request, with the current API
+   * keys and trusted proxies.
+   *
+   * @return a new ClientKeyResolver.
+   */
+  public ClientKeyResolver createClientKeyResolver() {
+    return new ClientKeyResolver(
+        rateLimitProperties.getApiKeys(), rateLimitProperties.getTrustedProxies());
+  }
+
+  /**
+   * Creates the registry holding the RateLimiter of every client, shared by every endpoint.
+   *
+   * @return a new RateLimiterRegistry, or null if there is no per-client limit.
+   */
+  public RateLimiterRegistry createClientRateLimiters() {
+    if (!rateLimitProperties.getClient().isEnabled()) return null;
+
+    // Read the settings when the RateLimiter is created, so that it always gets the current ones
+    return new RateLimiterRegistry(
+        clientKey -> restore(clientSnapshotKey(clientKey), create(rateLimitProperties.getClient())),
+        clock,
+        scheduler);
+  }
+
+  /**
+   * Reconfigures the RateLimiter of every client with the current "client" settings, keeping the
+   * permits already taken.
+   *
+   * @param rateLimiters The current registry, or null if there was no per-client limit.
+   * @return the same registry, a new one if there was no per-client limit, or null if there is no
+   *     per-client limit anymore.
+   */
+  public RateLimiterRegistry reconfigureClientRateLimiters(RateLimiterRegistry rateLimiters) {
+    RateLimitProperties.Limit limit = rateLimitProperties.getClient();
+
+    if (rateLimiters == null || !limit.isEnabled()) return createClientRateLimiters();
+
+    long blockedTimeMs = rateLimitProperties.getBlockedTimeMs();
+    rateLimiters.forEach(
+        (clientKey, rateLimiter) -> rateLimiter.reconfigure(createStrategy(limit), blockedTimeMs));
+    return rateLimiters;
+  }
+
+  /**
+   * Replaces the settings used to create the RateLimiter instances. The existing ones keep their
+   * settings until they are reconfigured.
+   *
+   * @param rateLimitProperties The new settings.
+   */
+  public void reload(RateLimitProperties rateLimitProperties) {
+    this.rateLimitProperties = rateLimitProperties;
+  }
+
+  /**
+   * Keeps the given snapshots (e.g. read from a file at startup), so that each one is restored on
+   * the RateLimiter of its key when it is created.
+   *
+   * @param snapshots The snapshots, by snapshot key.
+   */
+  public void restore(Map<String, RateLimiterSnapshot> snapshots) {
+    pendingSnapshots.putAll(snapshots);
+  }
+
+  /**
+   * Restores the pending snapshot of the given key (if any) on a RateLimiter, e.g. one created
+   * before the snapshots were restored.
+   *
+   * @param snapshotKey The snapshot key of the RateLimiter.
+   * @param rateLimiter The RateLimiter, or null.
+   * @return the same RateLimiter.
+   */
+  public RateLimiter restore(String snapshotKey, RateLimiter rateLimiter) {
+    if (rateLimiter == null || pendingSnapshots.isEmpty()) return rateLimiter;
+
+    RateLimiterSnapshot snapshot = pendingSnapshots.remove(snapshotKey);
+    if (snapshot != null) rateLimiter.restore(snapshot);
+
+    return rateLimiter;
+  }
+
+  /**
+   * Returns the snapshot key of the RateLimiter of an endpoint.
+   *
+   * @param endpoint The name of the endpoint (e.g. "city").
+   * @param clientKey The identity of the client the RateLimiter belongs to.
+   * @return the snapshot key.
+   */
+  public static String endpointSnapshotKey(String endpoint, String clientKey) {
+    return "endpoint:" + endpoint + ":" + clientKey;
+  }
+
+  /**
+   * Returns the snapshot key of the RateLimiter of a client, shared by every endpoint.
+   *
+   * @param clientKey The identity of the client the RateLimiter belongs to.
+   * @return the snapshot key.
+   */
+  public static String clientSnapshotKey(String clientKey) {
+    return "client:" + clientKey;
+  }
+
+  private RateLimitStrategy createStrategy(
+      String endpoint, String clientKey, long maxRequests, long timeIntervalMs) {
+    RateLimitProperties.Endpoint settings = rateLimitProperties.getEndpoint(endpoint);
+    String key = endpoint + ":" + clientKey;
+
+    // The settings of the endpoint override the limits of its RateLimited annotation
+    if (settings.getMaxRequests() > 0) maxRequests = settings.getMaxRequests();
+    if (settings.getTimeIntervalMs() > 0) timeIntervalMs = settings.getTimeIntervalMs();
+
+    if (!settings.isDistributed())
+      return settings.getAlgorithm().create(maxRequests, timeIntervalMs);
+
+    if (settings.getLeaseSize() > 0)
+      return new LeasedQuotaStrategy(
+          quotaStore, key, maxRequests, timeIntervalMs, settings.getLeaseSize());
+
+    return new LeasedQuotaStrategy(quotaStore, key, maxRequests, timeIntervalMs);
+  }
+
+  private RateLimitStrategy createStrategy(RateLimitProperties.Limit limit) {
+    return limit.getAlgorithm().create(limit.getMaxRequests(), limit.getTimeIntervalMs());
+  }
+
+  private RateLimiter create(RateLimitProperties.Limit limit) {
+    if (!limit.isEnabled()) return null;
+
+    return new RateLimiter(createStrategy(limit), clock, rateLimitProperties.getBlockedTimeMs());
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.sampleratelimitedapi.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ *
+ *
+ * <h1>SchedulerConfiguration</h1>
+ *
+ * <p>Provides the scheduler running every background timer of the rate limits: the eviction of the
+ * idle RateLimiter instances, the dispatch of the parked requests, the snapshots of the {@link
+ * RateLimitStatePersister}, the flushes of the {@link UsageFlusher} and the checks of the {@link
+ * RateLimitPropertiesReloader}.
+ *
+ * <p>The scheduler is shut down with the application context, after the beans using it.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Configuration
+public class SchedulerConfiguration {
+  // The threads of the scheduler: a slow snapshot or flush never delays the parked requests.
+  private static final int POOL_SIZE = 2;
+
+  @Bean
+  public ThreadPoolTaskScheduler taskScheduler() {
+    ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+    taskScheduler.setPoolSize(POOL_SIZE);
+    taskScheduler.setThreadNamePrefix("rate-limit-scheduler-");
+    taskScheduler.setDaemon(true);
+
+    // The tasks of the closed registries are dropped at once, not when they were due
+    taskScheduler.setRemoveOnCancelPolicy(true);
+    return taskScheduler;
+  }
+}
@@ -0,0 +1,25 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.utils.UsageAccumulator;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ *
+ *
+ * <h1>UsageConfiguration</h1>
+ *
+ * <p>Provides the {@link UsageAccumulator} counting the requests of every client, filled by the
+ * RateLimitInterceptor and flushed to the database by the {@link UsageFlusher}.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Configuration
+public class UsageConfiguration {
+  @Bean
+  public UsageAccumulator usageAccumulator() {
+    return new UsageAccumulator();
+  }
+}
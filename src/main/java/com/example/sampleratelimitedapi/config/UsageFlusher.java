@@ -0,0 +1,132 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.models.Usage;
+import com.example.sampleratelimitedapi.services.UsageService;
+import com.example.sampleratelimitedapi.utils.UsageAccumulator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ *
+ * <h1>UsageFlusher</h1>
+ *
+ * <p>Writes the requests counted by the {@link UsageAccumulator} to the database, so that the usage
+ * of every client can be billed and reported, without ever writing to the database while handling a
+ * request.
+ *
+ * <p>Every "rate-limit.usage-flush-interval-ms" milliseconds a task of the {@link TaskScheduler}
+ * drains the accumulator, and saves one {@link Usage} row per client and endpoint that made any
+ * request in the meantime, in a single transaction. The rows that could not be saved (e.g. the
+ * database is down) are retried by the next flush, up to {@value #MAX_PENDING_USAGES} rows: the
+ * oldest ones are dropped beyond that. The accumulator is flushed once more when the application
+ * shuts down.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Component
+public class UsageFlusher {
+  private static final Logger LOGGER = LoggerFactory.getLogger(UsageFlusher.class);
+
+  // The most rows kept while the database can not be written.
+  private static final int MAX_PENDING_USAGES = 100 * 1000;
+
+  private UsageAccumulator usageAccumulator;
+
+  private UsageService usageService;
+
+  // Runs the periodic flush of the usage.
+  private TaskScheduler taskScheduler;
+
+  // The interval (in milliseconds) in which the usage is saved.
+  private final long flushIntervalMs;
+
+  // The start (in milliseconds since the epoch) of the period drained by the next flush.
+  private long periodStartMs = System.currentTimeMillis();
+
+  // The rows drained but not saved yet.
+  private List<Usage> pending = new ArrayList<>();
+
+  // The periodic flush of the usage, or null if it is not started.
+  private ScheduledFuture<?> flushTask;
+
+  @Autowired
+  public UsageFlusher(
+      RateLimitProperties rateLimitProperties,
+      UsageAccumulator usageAccumulator,
+      UsageService usageService,
+      TaskScheduler taskScheduler) {
+    this.usageAccumulator = usageAccumulator;
+    this.usageService = usageService;
+    this.taskScheduler = taskScheduler;
+    this.flushIntervalMs = rateLimitProperties.getUsageFlushIntervalMs();
+  }
+
+  /** Starts saving the usage periodically. */
+  @PostConstruct
+  public synchronized void start() {
+    if (flushTask != null) return;
+
+    flushTask =
+        taskScheduler.scheduleWithFixedDelay(
+            this::flush,
+            Instant.now().plusMillis(flushIntervalMs),
+            Duration.ofMillis(flushIntervalMs));
+  }
+
+  /**
+   * Saves the requests counted since the previous flush (and the rows a previous flush could not
+   * save) to the database.
+   *
+   * @return true if every row was saved, false if some of them are left for the next flush.
+   */
+  public synchronized boolean flush() {
+    long periodEndMs = System.currentTimeMillis();
+    long periodStartMs = this.periodStartMs;
+
+    usageAccumulator.drain(
+        (endpoint, clientKey, allowed, rejected) ->
+            pending.add(
+                new Usage(clientKey, endpoint, periodStartMs, periodEndMs, allowed, rejected)));
+
+    this.periodStartMs = periodEndMs;
+
+    if (pending.isEmpty()) return true;
+
+    try {
+      usageService.saveAll(pending);
+      pending = new ArrayList<>();
+      return true;
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not save the usage of {} clients", pending.size(), e);
+
+      if (pending.size() > MAX_PENDING_USAGES)
+        pending =
+            new ArrayList<>(pending.subList(pending.size() - MAX_PENDING_USAGES, pending.size()));
+
+      return false;
+    }
+  }
+
+  /** Stops saving the usage periodically, and saves it one last time. */
+  @PreDestroy
+  public synchronized void close() {
+    if (flushTask == null) return;
+
+    flushTask.cancel(false);
+    flushTask = null;
+    flush();
+  }
+}
@@ -0,0 +1,34 @@
+package com.example.sampleratelimitedapi.config;
+
+import com.example.sampleratelimitedapi.interceptors.RateLimitInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ *
+ *
+ * <h1>WebConfiguration</h1>
+ *
+ * <p>Registers the {@link RateLimitInterceptor}, so that the rate limits are checked before every
+ * controller method is called.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Configuration
+public class WebConfiguration implements WebMvcConfigurer {
+  private RateLimitInterceptor rateLimitInterceptor;
+
+  @Autowired
+  public WebConfiguration(RateLimitInterceptor rateLimitInterceptor) {
+    this.rateLimitInterceptor = rateLimitInterceptor;
+  }
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    registry.addInterceptor(rateLimitInterceptor);
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.sampleratelimitedapi.controllers;
+
+import com.example.sampleratelimitedapi.repositories.CachingHotelRepository;
+import com.example.sampleratelimitedapi.utils.TinyLfuCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+
+/**
+ *
+ *
+ * <h1>HotelCacheController</h1>
+ *
+ * <p>The HotelCacheController exposes the statistics of the {@link CachingHotelRepository} as an
+ * API endpoint.
+ *
+ * <p>The current endpoints are:
+ *
+ * <ul>
+ *   <li>GET /cache/hotels - Returns the hits, misses, evictions, rejections and size of the cache
+ *       of the Hotel lookups (404 if the cache is disabled)
+ * </ul>
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Controller
+@ConditionalOnProperty(name = "hotels.repository", havingValue = "jpa", matchIfMissing = true)
+public class HotelCacheController {
+  private CachingHotelRepository cachingHotelRepository;
+
+  @Autowired
+  public HotelCacheController(CachingHotelRepository cachingHotelRepository) {
+    this.cachingHotelRepository = cachingHotelRepository;
+  }
+
+  /**
+   * Returns the statistics of the cache of the Hotel lookups.
+   *
+   * @return the statistics of the cache, or 404 if the cache is disabled.
+   */
+  @RequestMapping(value = "/cache/hotels", method = RequestMethod.GET)
+  public ResponseEntity<TinyLfuCache.Stats> getStats() {
+    TinyLfuCache.Stats stats = cachingHotelRepository.getStats();
+
+    if (stats == null) return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+
+    return ResponseEntity.status(HttpStatus.OK).body(stats);
+  }
+}
@@ -1,10 +1,20 @@
 package com.example.sampleratelimitedapi.controllers;
 
+import com.example.sampleratelimitedapi.interceptors.RateLimitInterceptor;
+import com.example.sampleratelimitedapi.interceptors.RateLimited;
 import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelCursor;
 import com.example.sampleratelimitedapi.services.HotelService;
-import com.example.sampleratelimitedapi.utils.RateLimiter;
-import java.util.ArrayList;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -28,30 +38,47 @@ import org.springframework.web.bind.annotation.RequestParam;
  *   <li>GET /room/{room} - Returns a List of Hotel instances filtered by {room} (case-insensitive)
  * </ul>
  *
+ * <p>Every endpoint is rate limited (independently for every client) through the {@link
+ * RateLimited} annotation. A request costs one permit every 100 hotels returned, so the quotas
+ * track the actual work done by the database and the JSON serialization.
+ *
+ * <p>Every endpoint returns all the matching hotels, unless a {limit} or a {cursor} is given: then
+ * it returns a page of at most {limit} hotels sorted by price (then id), and the cursor of the next
+ * page (if any) in the {@value #NEXT_CURSOR_HEADER} header. The next page is requested by passing
+ * that cursor, with the same {sortByPrice}.
+ *
+ * <p>When the client accepts {@value #NDJSON_VALUE} (and not JSON), every endpoint streams all the
+ * matching hotels instead, one JSON object per line, written as soon as it is read from the
+ * database: the memory used by a request does not depend on the amount of hotels returned. The
+ * streamed responses share the rate limit of the endpoint, and are charged for the rows written.
+ *
  * @author Marco Giuliani
  * @version 1.0
  * @since 2020-02-23
  */
 @Controller
 public class HotelController {
-  private HotelService hotelService;
+  // The header carrying the cursor of the next page.
+  public static final String NEXT_CURSOR_HEADER = "Next-Cursor";
 
-  private RateLimiter cityRateLimiter;
+  // The media type of the streamed responses (newline-delimited JSON).
+  public static final String NDJSON_VALUE = "application/x-ndjson";
 
-  private RateLimiter roomRateLimiter;
+  // The amount of hotels in a page when only the cursor is given.
+  private static final int DEFAULT_PAGE_SIZE = 100;
 
-  @Autowired
-  public HotelController(HotelService hotelService) {
-    this.hotelService = hotelService;
-    this.cityRateLimiter = new RateLimiter(10L, 5 * 1000L);
-    this.roomRateLimiter = new RateLimiter(100L, 10 * 1000L);
-  }
+  // The largest amount of hotels in a page.
+  private static final int MAX_PAGE_SIZE = 1000;
+
+  private HotelService hotelService;
+
+  // Serializes the streamed Hotel instances, with the Jackson settings of the application.
+  private final ObjectWriter hotelWriter;
 
-  public HotelController(
-      HotelService hotelService, RateLimiter cityRateLimiter, RateLimiter roomRateLimiter) {
+  @Autowired
+  public HotelController(HotelService hotelService, ObjectMapper objectMapper) {
     this.hotelService = hotelService;
-    this.cityRateLimiter = cityRateLimiter;
-    this.roomRateLimiter = roomRateLimiter;
+    this.hotelWriter = objectMapper.writerFor(Hotel.class);
   }
 
   /**
@@ -59,17 +86,45 @@ public class HotelController {
    *
    * @param city The city used to filter the result
    * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
-   * @return a List of Hotel instances filtered by room (case-insensitive)
+   * @param limit The maximum amount of Hotel instances in a page (up to 1000).
+   * @param cursor The cursor of the page, from the "Next-Cursor" header of the previous one.
+   * @return a List of Hotel instances filtered by city (case-insensitive)
    */
+  @RateLimited(name = "city", max = 10, windowMs = 5 * 1000L, rowsPerPermit = 100)
   @RequestMapping(value = "/city/{city}", method = RequestMethod.GET)
   public ResponseEntity<List<Hotel>> findAllHotelsByCity(
       @PathVariable("city") String city,
-      @RequestParam(value = "sortByPrice", required = false) String sortByPrice) {
-    if (cityRateLimiter != null && !cityRateLimiter.isAllowed())
-      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new ArrayList<>());
+      @RequestParam(value = "sortByPrice", required = false) String sortByPrice,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+    if (limit == null && cursor == null)
+      return ResponseEntity.status(HttpStatus.OK)
+          .body(hotelService.findAllHotelsByCity(city, sortByPrice));
 
-    return ResponseEntity.status(HttpStatus.OK)
-        .body(hotelService.findAllHotelsByCity(city, sortByPrice));
+    return page(
+        limit,
+        cursor,
+        (from, size) -> hotelService.findHotelsPageByCity(city, sortByPrice, from, size));
+  }
+
+  /**
+   * Streams every Hotel instance filtered by {city} (case-insensitive), one per line
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param request The request sent by the client.
+   * @param response The response the Hotel instances are written to.
+   * @throws IOException if the response can not be written.
+   */
+  @RateLimited(name = "city", max = 10, windowMs = 5 * 1000L, rowsPerPermit = 100)
+  @RequestMapping(value = "/city/{city}", method = RequestMethod.GET, produces = NDJSON_VALUE)
+  public void streamAllHotelsByCity(
+      @PathVariable("city") String city,
+      @RequestParam(value = "sortByPrice", required = false) String sortByPrice,
+      HttpServletRequest request,
+      HttpServletResponse response)
+      throws IOException {
+    stream(request, response, action -> hotelService.forEachHotelByCity(city, sortByPrice, action));
   }
 
   /**
@@ -77,16 +132,97 @@ public class HotelController {
    *
    * @param room The room used to filter the result
    * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param limit The maximum amount of Hotel instances in a page (up to 1000).
+   * @param cursor The cursor of the page, from the "Next-Cursor" header of the previous one.
    * @return a List of Hotel instances filtered by room (case-insensitive)
    */
+  @RateLimited(name = "room", max = 100, windowMs = 10 * 1000L, rowsPerPermit = 100)
   @RequestMapping(value = "/room/{room}", method = RequestMethod.GET)
   public ResponseEntity<List<Hotel>> findAllHotelsByRoom(
       @PathVariable("room") String room,
-      @RequestParam(value = "sortByPrice", required = false) String sortByPrice) {
-    if (roomRateLimiter != null && !roomRateLimiter.isAllowed())
-      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(new ArrayList<>());
+      @RequestParam(value = "sortByPrice", required = false) String sortByPrice,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+    if (limit == null && cursor == null)
+      return ResponseEntity.status(HttpStatus.OK)
+          .body(hotelService.findAllHotelsByRoom(room, sortByPrice));
+
+    return page(
+        limit,
+        cursor,
+        (from, size) -> hotelService.findHotelsPageByRoom(room, sortByPrice, from, size));
+  }
 
+  /**
+   * Streams every Hotel instance filtered by {room} (case-insensitive), one per line
+   *
+   * @param room The room used to filter the result
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param request The request sent by the client.
+   * @param response The response the Hotel instances are written to.
+   * @throws IOException if the response can not be written.
+   */
+  @RateLimited(name = "room", max = 100, windowMs = 10 * 1000L, rowsPerPermit = 100)
+  @RequestMapping(value = "/room/{room}", method = RequestMethod.GET, produces = NDJSON_VALUE)
+  public void streamAllHotelsByRoom(
+      @PathVariable("room") String room,
+      @RequestParam(value = "sortByPrice", required = false) String sortByPrice,
+      HttpServletRequest request,
+      HttpServletResponse response)
+      throws IOException {
+    stream(request, response, action -> hotelService.forEachHotelByRoom(room, sortByPrice, action));
+  }
+
+  // Returns the page starting at the cursor, and the cursor of the next one (400 if the cursor is
+  // not valid)
+  private static ResponseEntity<List<Hotel>> page(
+      Integer limit, String cursor, BiFunction<HotelCursor, Integer, List<Hotel>> loader) {
+    int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+    HotelCursor from;
+
+    try {
+      from = cursor == null || cursor.isEmpty() ? null : HotelCursor.parse(cursor);
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    }
+
+    // Load one more hotel than the page, to know whether there is a next page
+    List<Hotel> hotels = loader.apply(from, size + 1);
+
+    if (hotels.size() <= size) return ResponseEntity.status(HttpStatus.OK).body(hotels);
+
+    List<Hotel> page = hotels.subList(0, size);
     return ResponseEntity.status(HttpStatus.OK)
-        .body(hotelService.findAllHotelsByRoom(room, sortByPrice));
+        .header(NEXT_CURSOR_HEADER, HotelCursor.after(page.get(size - 1)).encode())
+        .body(page);
+  }
+
+  // Writes every Hotel passed by the source on its own line, then settles the cost of the request
+  // against the rows written. The response buffer is flushed to the socket whenever it is full.
+  private void stream(
+      HttpServletRequest request, HttpServletResponse response, Consumer<Consumer<Hotel>> source)
+      throws IOException {
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(NDJSON_VALUE);
+
+    OutputStream out = response.getOutputStream();
+    int[] rows = {0};
+
+    try {
+      source.accept(
+          hotel -> {
+            try {
+              out.write(hotelWriter.writeValueAsBytes(hotel));
+              out.write('\n');
+              rows[0]++;
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      RateLimitInterceptor.settleRows(request, rows[0]);
+    }
   }
 }
@@ -0,0 +1,64 @@
+package com.example.sampleratelimitedapi.controllers;
+
+import com.example.sampleratelimitedapi.interceptors.RateLimited;
+import com.example.sampleratelimitedapi.models.UsageSummary;
+import com.example.sampleratelimitedapi.services.UsageService;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+
+/**
+ *
+ *
+ * <h1>UsageController</h1>
+ *
+ * <p>The UsageController expose the {@link UsageService} methods as API endpoints.
+ *
+ * <p>The current endpoints are:
+ *
+ * <ul>
+ *   <li>GET /usage - Returns the requests allowed and rejected for every client and endpoint,
+ *       optionally filtered by {client} and by period ({from} and {to}, in milliseconds since the
+ *       epoch). Max 10 requests in 10 seconds.
+ * </ul>
+ *
+ * <p>The usage is flushed to the database periodically, so the latest requests (up to
+ * "rate-limit.usage-flush-interval-ms" milliseconds) are not reported yet. The clients that sent an
+ * API key are reported by a hash of the key only.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Controller
+public class UsageController {
+  private UsageService usageService;
+
+  @Autowired
+  public UsageController(UsageService usageService) {
+    this.usageService = usageService;
+  }
+
+  /**
+   * Returns the requests allowed and rejected for every client and endpoint in the given period.
+   *
+   * @param client The identity of the client (e.g. "ip:10.0.0.1" or "key:{hash of the X-API-Key}"),
+   *     or every client if missing.
+   * @param from The start of the period (in milliseconds since the epoch, inclusive).
+   * @param to The end of the period (in milliseconds since the epoch, exclusive).
+   * @return a List of UsageSummary instances, one for every client and endpoint.
+   */
+  @RequestMapping(value = "/usage", method = RequestMethod.GET)
+  @RateLimited(name = "usage", max = 10, windowMs = 10 * 1000L)
+  public ResponseEntity<List<UsageSummary>> findUsage(
+      @RequestParam(value = "client", required = false) String client,
+      @RequestParam(value = "from", required = false, defaultValue = "0") long from,
+      @RequestParam(value = "to", required = false, defaultValue = "" + Long.MAX_VALUE) long to) {
+    return ResponseEntity.status(HttpStatus.OK).body(usageService.findUsage(client, from, to));
+  }
+}
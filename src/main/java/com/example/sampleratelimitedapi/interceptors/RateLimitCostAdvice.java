@@ -0,0 +1,59 @@
+package com.example.sampleratelimitedapi.interceptors;
+
+import java.util.Collection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ *
+ *
+ * <h1>RateLimitCostAdvice</h1>
+ *
+ * <p>Settles the cost of the requests handled by the controller methods that declare a
+ * "rowsPerPermit" in their {@link RateLimited} annotation: once the method returns, and before the
+ * body is serialized, the rows returned (the size of the List of Hotel instances) are handed to the
+ * {@link RateLimitInterceptor}, which settles the permits charged up front against them.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ControllerAdvice
+public class RateLimitCostAdvice implements ResponseBodyAdvice<Object> {
+  private RateLimitInterceptor rateLimitInterceptor;
+
+  @Autowired
+  public RateLimitCostAdvice(RateLimitInterceptor rateLimitInterceptor) {
+    this.rateLimitInterceptor = rateLimitInterceptor;
+  }
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    RateLimited rateLimited = returnType.getMethodAnnotation(RateLimited.class);
+
+    return rateLimited != null && rateLimited.rowsPerPermit() > 0;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (body instanceof Collection && request instanceof ServletServerHttpRequest)
+      rateLimitInterceptor.settle(
+          ((ServletServerHttpRequest) request).getServletRequest(), ((Collection<?>) body).size());
+
+    return body;
+  }
+}
@@ -0,0 +1,581 @@
+package com.example.sampleratelimitedapi.interceptors;
+
+import com.example.sampleratelimitedapi.config.RateLimitProperties;
+import com.example.sampleratelimitedapi.config.RateLimiterFactory;
+import com.example.sampleratelimitedapi.utils.AdaptiveConcurrencyLimiter;
+import com.example.sampleratelimitedapi.utils.ClientKeyResolver;
+import com.example.sampleratelimitedapi.utils.CompositeRateLimiter;
+import com.example.sampleratelimitedapi.utils.DenyList;
+import com.example.sampleratelimitedapi.utils.RateLimitDecision;
+import com.example.sampleratelimitedapi.utils.RateLimiter;
+import com.example.sampleratelimitedapi.utils.RateLimiterRegistry;
+import com.example.sampleratelimitedapi.utils.RateLimiterSnapshot;
+import com.example.sampleratelimitedapi.utils.UsageAccumulator;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import javax.annotation.PreDestroy;
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ *
+ *
+ * <h1>RateLimitInterceptor</h1>
+ *
+ * <p>The RateLimitInterceptor enforces the {@link RateLimited} annotation of the controller
+ * methods: if the request is not allowed, it is rejected with a 429 (Too Many Requests) status
+ * before the request parameters are resolved and the method is called.
+ *
+ * <p>The RateLimiter instances of every method are resolved the first time the method is called,
+ * and cached. If the "global" or the "client" limits are configured, the request must be allowed by
+ * those too: the levels are checked together by a {@link CompositeRateLimiter}, so a request
+ * rejected by one level does not consume the others.
+ *
+ * <p>Every response of a rate limited method carries the RateLimit-Limit, RateLimit-Remaining and
+ * RateLimit-Reset headers (in seconds), and the rejected ones also carry the Retry-After header.
+ * The body of the rejected responses is written from a precomputed array of bytes, so a rejection
+ * never goes through the controller or the JSON serialization.
+ *
+ * <p>If the endpoint is "adaptive", the requests handled at the same time are also limited by an
+ * {@link AdaptiveConcurrencyLimiter}, fed with the time it takes to handle every request (mostly
+ * spent calling the HotelService): the requests exceeding that limit are rejected with a 503
+ * (Service Unavailable) status.
+ *
+ * <p>If the endpoint has a "max-wait-ms", a request over the limit is parked until a slot opens
+ * instead of being rejected, as long as the total wait fits that budget: the request is put in
+ * asynchronous mode, so it does not hold a worker thread, and dispatched again once the slot is
+ * expected to open, by the {@link TaskScheduler} of the application. The requests that would exceed
+ * the wait budget are still rejected.
+ *
+ * <p>If the method declares a "rowsPerPermit", a request costs one permit every "rowsPerPermit"
+ * rows returned. The actual cost is only known once the method returns: the request is charged the
+ * lowest possible cost (one permit) up front, and settled against the rows returned by the {@link
+ * RateLimitCostAdvice} (or the rows written by the methods that stream the response, see {@link
+ * #settleRows}). So a client is only ever held back by the cost of its own requests, never by the
+ * ones of the other clients. A parked request waits for a single permit.
+ *
+ * <p>The methods annotated with the same name share the same limits (e.g. the JSON and the streamed
+ * variants of an endpoint).
+ *
+ * <p>Once a client exceeds its own limit (the limit of a "client" keyed method, or the "client"
+ * limit) and gets blocked, it is added to a {@link DenyList} until it is unblocked: its next
+ * requests are turned away with a 429 status (and the Retry-After header only) by a single probe of
+ * that list, before its RateLimiter instances are looked up.
+ *
+ * <p>Every request allowed or rejected is counted by the {@link UsageAccumulator}, by client and
+ * endpoint, for billing and reporting: the counts are saved to the database by a background task,
+ * never while handling the request.
+ *
+ * <p>When the properties are reloaded, every RateLimiter is reconfigured in place (see {@link
+ * #reload}): the permits already taken are kept, and the requests are never paused.
+ *
+ * <p>The state of every RateLimiter can be taken as a snapshot, and restored after a restart (see
+ * {@link #snapshot} and {@link #restore}).
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+  public static final String RATE_LIMIT_LIMIT_HEADER = "RateLimit-Limit";
+  public static final String RATE_LIMIT_REMAINING_HEADER = "RateLimit-Remaining";
+  public static final String RATE_LIMIT_RESET_HEADER = "RateLimit-Reset";
+
+  // The body of the rejected responses (an empty JSON array, as the controller would return)
+  private static final byte[] REJECTED_BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+  // The time (in milliseconds) a client should wait before retrying a request that was shed
+  private static final long SHED_RETRY_AFTER_MS = 1000L;
+
+  // How long (in milliseconds) a parked request may wait for its dispatch before timing out
+  private static final long PARKED_TIMEOUT_MARGIN_MS = 5 * 1000L;
+
+  // The request attribute holding the time (System.nanoTime()) a request was first parked at
+  private static final String PARKED_AT_NS_ATTRIBUTE =
+      RateLimitInterceptor.class.getName() + ".parkedAtNs";
+
+  // The request attribute holding the time (System.nanoTime()) an adaptive request was started at
+  private static final String STARTED_AT_NS_ATTRIBUTE =
+      RateLimitInterceptor.class.getName() + ".startedAtNs";
+
+  // The request attribute holding the charge of a request whose cost is settled once it returns
+  private static final String CHARGE_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".charge";
+
+  private RateLimiterFactory rateLimiterFactory;
+
+  // Identifies the client of every request
+  private volatile ClientKeyResolver clientKeyResolver;
+
+  // The RateLimiter instances of every controller method
+  private Map<Method, HandlerRateLimit> handlerRateLimits = new ConcurrentHashMap<>();
+
+  // The RateLimiter instances of every rate limit, by name: shared by the methods with the same
+  // name
+  private Map<String, HandlerRateLimit> namedRateLimits = new ConcurrentHashMap<>();
+
+  // The RateLimiter shared by every request of every client, or null if there is no global limit
+  private volatile RateLimiter globalRateLimiter;
+
+  // The RateLimiter of every client, or null if there is no per-client limit
+  private volatile RateLimiterRegistry clientRateLimiters;
+
+  // The clients blocked by their own limit, or null if they are never turned away up front
+  private final DenyList denyList;
+
+  // Counts the requests allowed and rejected for every client, or null if they are not counted
+  private final UsageAccumulator usageAccumulator;
+
+  // Dispatches the parked requests again once their slot is expected to open, or null if the
+  // requests are never parked
+  private final TaskScheduler taskScheduler;
+
+  public RateLimitInterceptor(RateLimiterFactory rateLimiterFactory) {
+    this(rateLimiterFactory, null, null);
+  }
+
+  @Autowired
+  public RateLimitInterceptor(
+      RateLimiterFactory rateLimiterFactory,
+      UsageAccumulator usageAccumulator,
+      TaskScheduler taskScheduler) {
+    this.rateLimiterFactory = rateLimiterFactory;
+    this.usageAccumulator = usageAccumulator;
+    this.taskScheduler = taskScheduler;
+    this.clientKeyResolver = rateLimiterFactory.createClientKeyResolver();
+    this.globalRateLimiter = rateLimiterFactory.createGlobalRateLimiter();
+    this.clientRateLimiters = rateLimiterFactory.createClientRateLimiters();
+    this.denyList = rateLimiterFactory.createDenyList();
+  }
+
+  /**
+   * Verifies that the request is allowed by the rate limit of the controller method.
+   *
+   * @param request The request sent by the client.
+   * @param response The response, written here if the request is rejected.
+   * @param handler The controller method that should handle the request.
+   * @return true if the request is allowed, false if it was rejected.
+   */
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if (!(handler instanceof HandlerMethod)) return true;
+
+    HandlerRateLimit handlerRateLimit =
+        handlerRateLimits.computeIfAbsent(
+            ((HandlerMethod) handler).getMethod(), this::createHandlerRateLimit);
+
+    if (handlerRateLimit == HandlerRateLimit.NONE) return true;
+
+    String clientKey = clientKeyResolver.resolve(request);
+    long clientFingerprint = denyList == null ? 0L : DenyList.fingerprint(clientKey);
+
+    // Turn away the clients that are still blocked, before looking up their RateLimiter instances
+    if (denyList != null) {
+      long deniedMs = getDeniedMs(handlerRateLimit, clientFingerprint);
+
+      if (deniedMs > 0) {
+        record(handlerRateLimit, clientKey, false);
+        reject(response, HttpStatus.TOO_MANY_REQUESTS, deniedMs);
+        return false;
+      }
+    }
+
+    CompositeRateLimiter rateLimiter = rateLimiterFor(handlerRateLimit, clientKey);
+
+    // Wait for a slot instead of rejecting the request, if the wait fits the budget
+    long maxWaitMs = handlerRateLimit.maxWaitMs;
+    if (maxWaitMs > 0 && park(request, rateLimiter, maxWaitMs)) return false;
+
+    AdaptiveConcurrencyLimiter concurrencyLimiter = handlerRateLimit.concurrencyLimiter;
+
+    // Shed the load the HotelService can not handle right now
+    if (concurrencyLimiter != null && !concurrencyLimiter.tryAcquire()) {
+      record(handlerRateLimit, clientKey, false);
+      reject(response, HttpStatus.SERVICE_UNAVAILABLE, SHED_RETRY_AFTER_MS);
+      return false;
+    }
+
+    RateLimitDecision decision = rateLimiter.tryAcquire();
+
+    response.setHeader(RATE_LIMIT_LIMIT_HEADER, Long.toString(decision.getLimit()));
+    response.setHeader(RATE_LIMIT_REMAINING_HEADER, Long.toString(decision.getRemaining()));
+    response.setHeader(RATE_LIMIT_RESET_HEADER, toSeconds(decision.getResetMs()));
+
+    record(handlerRateLimit, clientKey, decision.isAllowed());
+
+    if (decision.isAllowed()) {
+      if (concurrencyLimiter != null)
+        request.setAttribute(STARTED_AT_NS_ATTRIBUTE, System.nanoTime());
+
+      if (handlerRateLimit.rowsPerPermit > 0)
+        request.setAttribute(CHARGE_ATTRIBUTE, new Charge(handlerRateLimit, rateLimiter));
+
+      return true;
+    }
+
+    if (concurrencyLimiter != null) concurrencyLimiter.cancel();
+
+    if (denyList != null) deny(handlerRateLimit, clientKey, clientFingerprint);
+
+    reject(response, HttpStatus.TOO_MANY_REQUESTS, decision.getRetryAfterMs());
+    return false;
+  }
+
+  /**
+   * Completes an adaptive request, feeding its latency to the AdaptiveConcurrencyLimiter.
+   *
+   * @param request The request sent by the client.
+   * @param response The response sent to the client.
+   * @param handler The controller method that handled the request.
+   * @param ex The exception thrown by the controller method, if any.
+   */
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    Object startedAtNs = request.getAttribute(STARTED_AT_NS_ATTRIBUTE);
+
+    if (startedAtNs == null) return;
+
+    request.removeAttribute(STARTED_AT_NS_ATTRIBUTE);
+    handlerRateLimits
+        .get(((HandlerMethod) handler).getMethod())
+        .concurrencyLimiter
+        .release(System.nanoTime() - (Long) startedAtNs);
+  }
+
+  /**
+   * Settles the cost of an allowed request against the rows it returned, giving back the permits
+   * charged in excess (or taking the missing ones). Does nothing if the request has no charge to
+   * settle, or if it was already settled.
+   *
+   * @param request The request sent by the client.
+   * @param rows The amount of rows returned by the controller method.
+   */
+  void settle(HttpServletRequest request, int rows) {
+    settleRows(request, rows);
+  }
+
+  /**
+   * Settles the cost of an allowed request against the rows written by a controller method that
+   * writes the response itself (e.g. streams it), which the {@link RateLimitCostAdvice} never sees.
+   * Does nothing if the request has no charge to settle, or if it was already settled.
+   *
+   * @param request The request sent by the client.
+   * @param rows The amount of rows written by the controller method.
+   */
+  public static void settleRows(HttpServletRequest request, int rows) {
+    Object charge = request.getAttribute(CHARGE_ATTRIBUTE);
+
+    if (charge == null) return;
+
+    request.removeAttribute(CHARGE_ATTRIBUTE);
+    ((Charge) charge).settle(rows);
+  }
+
+  /**
+   * Applies the reloaded properties: the RateLimiter instances of every method, of every client and
+   * the global one are reconfigured in place, keeping the permits already taken. The "global" and
+   * "client" limits are created (or dropped) if they have been enabled (or disabled), and the
+   * clients are identified with the new API keys and trusted proxies.
+   *
+   * @param rateLimitProperties The reloaded properties.
+   */
+  public synchronized void reload(RateLimitProperties rateLimitProperties) {
+    rateLimiterFactory.reload(rateLimitProperties);
+
+    clientKeyResolver = rateLimiterFactory.createClientKeyResolver();
+
+    namedRateLimits
+        .values()
+        .forEach(handlerRateLimit -> handlerRateLimit.reload(rateLimiterFactory));
+
+    globalRateLimiter = rateLimiterFactory.reconfigureGlobalRateLimiter(globalRateLimiter);
+
+    RateLimiterRegistry previousClientRateLimiters = clientRateLimiters;
+    clientRateLimiters = rateLimiterFactory.reconfigureClientRateLimiters(clientRateLimiters);
+
+    if (previousClientRateLimiters != null && previousClientRateLimiters != clientRateLimiters)
+      previousClientRateLimiters.close();
+
+    // The blocks of the dropped RateLimiter instances are gone: the list is filled again on demand
+    if (denyList != null) denyList.clear();
+  }
+
+  /**
+   * Takes a snapshot of every RateLimiter (of every method, of every client and the global one).
+   * Only reads the state of the RateLimiter instances, so the requests are never blocked.
+   *
+   * @return the snapshots, by snapshot key (see {@link RateLimiterFactory}).
+   */
+  public Map<String, RateLimiterSnapshot> snapshot() {
+    Map<String, RateLimiterSnapshot> snapshots = new HashMap<>();
+
+    namedRateLimits
+        .values()
+        .forEach(
+            handlerRateLimit ->
+                handlerRateLimit.forEach(
+                    (snapshotKey, rateLimiter) ->
+                        snapshots.put(snapshotKey, rateLimiter.snapshot())));
+
+    RateLimiter globalRateLimiter = this.globalRateLimiter;
+    if (globalRateLimiter != null)
+      snapshots.put(RateLimiterFactory.GLOBAL_SNAPSHOT_KEY, globalRateLimiter.snapshot());
+
+    RateLimiterRegistry clientRateLimiters = this.clientRateLimiters;
+    if (clientRateLimiters != null)
+      clientRateLimiters.forEach(
+          (clientKey, rateLimiter) ->
+              snapshots.put(
+                  RateLimiterFactory.clientSnapshotKey(clientKey), rateLimiter.snapshot()));
+
+    return snapshots;
+  }
+
+  /**
+   * Restores the given snapshots: on the RateLimiter instances that already exist, and on the other
+   * ones as soon as they are created.
+   *
+   * @param snapshots The snapshots, by snapshot key (see {@link RateLimiterFactory}).
+   */
+  public void restore(Map<String, RateLimiterSnapshot> snapshots) {
+    rateLimiterFactory.restore(snapshots);
+
+    namedRateLimits
+        .values()
+        .forEach(handlerRateLimit -> handlerRateLimit.forEach(rateLimiterFactory::restore));
+
+    rateLimiterFactory.restore(RateLimiterFactory.GLOBAL_SNAPSHOT_KEY, globalRateLimiter);
+
+    RateLimiterRegistry clientRateLimiters = this.clientRateLimiters;
+    if (clientRateLimiters != null)
+      clientRateLimiters.forEach(
+          (clientKey, rateLimiter) ->
+              rateLimiterFactory.restore(
+                  RateLimiterFactory.clientSnapshotKey(clientKey), rateLimiter));
+  }
+
+  /** Stops the eviction of the idle RateLimiter instances when the application shuts down. */
+  @PreDestroy
+  public void destroy() {
+    namedRateLimits.values().forEach(HandlerRateLimit::close);
+
+    if (clientRateLimiters != null) clientRateLimiters.close();
+  }
+
+  // Counts the request in the usage of the client
+  private void record(HandlerRateLimit handlerRateLimit, String clientKey, boolean allowed) {
+    if (usageAccumulator != null)
+      usageAccumulator.record(handlerRateLimit.rateLimited.name(), clientKey, allowed);
+  }
+
+  // The time (in milliseconds) the client is still denied, by the method or by the "client" limit
+  private long getDeniedMs(HandlerRateLimit handlerRateLimit, long clientFingerprint) {
+    long deniedMs = denyList.getDeniedMs(clientFingerprint);
+
+    if (deniedMs > 0 || handlerRateLimit.key != RateLimited.Key.CLIENT) return deniedMs;
+
+    return denyList.getDeniedMs(
+        DenyList.fingerprint(clientFingerprint, handlerRateLimit.fingerprint));
+  }
+
+  // Adds the client to the DenyList for as long as it is blocked by its own RateLimiter instances
+  private void deny(HandlerRateLimit handlerRateLimit, String clientKey, long clientFingerprint) {
+    if (handlerRateLimit.key == RateLimited.Key.CLIENT)
+      denyList.deny(
+          DenyList.fingerprint(clientFingerprint, handlerRateLimit.fingerprint),
+          handlerRateLimit.get(clientKey).getBlockedUntilMs());
+
+    RateLimiterRegistry clientRateLimiters = this.clientRateLimiters;
+    if (clientRateLimiters != null)
+      denyList.deny(clientFingerprint, clientRateLimiters.get(clientKey).getBlockedUntilMs());
+  }
+
+  // Checks the limit of the endpoint, then the limit of the client, then the global limit
+  private CompositeRateLimiter rateLimiterFor(HandlerRateLimit handlerRateLimit, String clientKey) {
+    RateLimiter endpointRateLimiter = handlerRateLimit.get(clientKey);
+    RateLimiter globalRateLimiter = this.globalRateLimiter;
+    RateLimiterRegistry clientRateLimiters = this.clientRateLimiters;
+
+    if (clientRateLimiters == null && globalRateLimiter == null)
+      return new CompositeRateLimiter(endpointRateLimiter);
+
+    if (globalRateLimiter == null)
+      return new CompositeRateLimiter(endpointRateLimiter, clientRateLimiters.get(clientKey));
+
+    if (clientRateLimiters == null)
+      return new CompositeRateLimiter(endpointRateLimiter, globalRateLimiter);
+
+    return new CompositeRateLimiter(
+        endpointRateLimiter, clientRateLimiters.get(clientKey), globalRateLimiter);
+  }
+
+  // Parks the request until its slot is expected to open, if the total wait fits the budget
+  private boolean park(
+      HttpServletRequest request, CompositeRateLimiter rateLimiter, long maxWaitMs) {
+    long waitMs = rateLimiter.getWaitMs();
+
+    if (waitMs == 0 || taskScheduler == null || !request.isAsyncSupported()) return false;
+
+    long currentTimeNs = System.nanoTime();
+    Object parkedAtNs = request.getAttribute(PARKED_AT_NS_ATTRIBUTE);
+    long waitedMs = parkedAtNs == null ? 0L : (currentTimeNs - (Long) parkedAtNs) / (1000 * 1000L);
+
+    if (waitedMs + waitMs > maxWaitMs) return false;
+
+    if (parkedAtNs == null) request.setAttribute(PARKED_AT_NS_ATTRIBUTE, currentTimeNs);
+
+    AsyncContext asyncContext = request.startAsync();
+    asyncContext.setTimeout(waitMs + PARKED_TIMEOUT_MARGIN_MS);
+    taskScheduler.schedule(asyncContext::dispatch, Instant.now().plusMillis(waitMs));
+
+    return true;
+  }
+
+  private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterMs)
+      throws IOException {
+    response.setStatus(status.value());
+    response.setHeader(HttpHeaders.RETRY_AFTER, toSeconds(retryAfterMs));
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(REJECTED_BODY.length);
+    response.getOutputStream().write(REJECTED_BODY);
+  }
+
+  // The headers hold whole seconds: round up, so that the client never retries too early
+  private static String toSeconds(long ms) {
+    return Long.toString((ms + 999L) / 1000L);
+  }
+
+  private HandlerRateLimit createHandlerRateLimit(Method method) {
+    RateLimited rateLimited = method.getAnnotation(RateLimited.class);
+
+    if (rateLimited == null) return HandlerRateLimit.NONE;
+
+    // The methods with the same name (e.g. the JSON and the NDJSON variants) share one limit
+    return namedRateLimits.computeIfAbsent(
+        rateLimited.name(), name -> createNamedRateLimit(rateLimited));
+  }
+
+  private HandlerRateLimit createNamedRateLimit(RateLimited rateLimited) {
+    return new HandlerRateLimit(
+        rateLimited,
+        rateLimiterFactory.getMaxWaitMs(rateLimited.name()),
+        rateLimiterFactory.createEndpointRateLimiters(
+            rateLimited.name(), rateLimited.max(), rateLimited.windowMs()),
+        rateLimiterFactory.createConcurrencyLimiter(rateLimited.name()));
+  }
+
+  private static class HandlerRateLimit {
+    // The rate limit of the methods without the RateLimited annotation.
+    private static final HandlerRateLimit NONE = new HandlerRateLimit(null, 0L, null, null);
+
+    // The annotation of the method, or null if the method is not rate limited.
+    private final RateLimited rateLimited;
+
+    // Whether every client has its own RateLimiter.
+    private final RateLimited.Key key;
+
+    // The fingerprint of the method in the DenyList, combined with the one of the client.
+    private final long fingerprint;
+
+    // How many rows returned cost one permit, or 0 if every request costs one permit.
+    private final int rowsPerPermit;
+
+    // How long (in milliseconds) a request over the limit may wait for a slot.
+    private volatile long maxWaitMs;
+
+    // The RateLimiter instances of the method, or null if the method is not rate limited.
+    private final RateLimiterRegistry rateLimiters;
+
+    // The concurrency limit of the method, or null if the method is not adaptive.
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private HandlerRateLimit(
+        RateLimited rateLimited,
+        long maxWaitMs,
+        RateLimiterRegistry rateLimiters,
+        AdaptiveConcurrencyLimiter concurrencyLimiter) {
+      this.rateLimited = rateLimited;
+      this.key = rateLimited == null ? null : rateLimited.key();
+      this.fingerprint = rateLimited == null ? 0L : DenyList.fingerprint(rateLimited.name());
+      this.rowsPerPermit = rateLimited == null ? 0 : rateLimited.rowsPerPermit();
+      this.maxWaitMs = maxWaitMs;
+      this.rateLimiters = rateLimiters;
+      this.concurrencyLimiter = concurrencyLimiter;
+    }
+
+    private RateLimiter get(String clientKey) {
+      return rateLimiters.get(key == RateLimited.Key.GLOBAL ? "global" : clientKey);
+    }
+
+    // The cost of a request returning the given rows: one permit every {rowsPerPermit} rows
+    private long costOf(int rows) {
+      return Math.max(1L, (rows + rowsPerPermit - 1L) / rowsPerPermit);
+    }
+
+    // Calls the given action with the snapshot key and the RateLimiter of every client of the
+    // method
+    private void forEach(BiConsumer<String, RateLimiter> action) {
+      if (rateLimited == null) return;
+
+      rateLimiters.forEach(
+          (key, rateLimiter) ->
+              action.accept(
+                  RateLimiterFactory.endpointSnapshotKey(rateLimited.name(), key), rateLimiter));
+    }
+
+    // Applies the reloaded settings of the method to every RateLimiter of the method
+    private void reload(RateLimiterFactory rateLimiterFactory) {
+      if (rateLimited == null) return;
+
+      maxWaitMs = rateLimiterFactory.getMaxWaitMs(rateLimited.name());
+
+      rateLimiters.forEach(
+          (clientKey, rateLimiter) ->
+              rateLimiterFactory.reconfigure(
+                  rateLimiter,
+                  rateLimited.name(),
+                  clientKey,
+                  rateLimited.max(),
+                  rateLimited.windowMs()));
+    }
+
+    private void close() {
+      if (rateLimiters != null) rateLimiters.close();
+    }
+  }
+
+  private static class Charge {
+    // The rate limit of the method that handled the request.
+    private final HandlerRateLimit handlerRateLimit;
+
+    // The levels the permits were taken from.
+    private final CompositeRateLimiter rateLimiter;
+
+    private Charge(HandlerRateLimit handlerRateLimit, CompositeRateLimiter rateLimiter) {
+      this.handlerRateLimit = handlerRateLimit;
+      this.rateLimiter = rateLimiter;
+    }
+
+    // Takes the rest of the cost, on top of the permit taken when the request was allowed
+    private void settle(int rows) {
+      rateLimiter.settle(1L, handlerRateLimit.costOf(rows));
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.sampleratelimitedapi.interceptors;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ *
+ *
+ * <h1>RateLimited</h1>
+ *
+ * <p>Marks a controller method as rate limited (Max {max} requests in {windowMs} milliseconds).
+ *
+ * <p>The limit is enforced by the {@link RateLimitInterceptor}, before the request parameters are
+ * resolved and the method is called.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+  /**
+   * The name of the endpoint, used to look up its settings in the RateLimitProperties (e.g.
+   * "rate-limit.endpoints.{name}.algorithm").
+   */
+  String name();
+
+  /** The maximum amount of requests allowed for the given interval. */
+  long max();
+
+  /** The interval (in milliseconds) in which the number of max requests is valid. */
+  long windowMs();
+
+  /** Whether every client has its own limit, or the limit is shared by every client. */
+  Key key() default Key.CLIENT;
+
+  /**
+   * If positive, a request costs one permit every {rowsPerPermit} rows returned (at least one),
+   * instead of a single permit: see the {@link RateLimitCostAdvice}.
+   */
+  int rowsPerPermit() default 0;
+
+  /** The keys a limit can be applied to. */
+  enum Key {
+    // Every client (identified by the ClientKeyResolver) has its own limit.
+    CLIENT,
+    // A single limit is shared by every client.
+    GLOBAL
+  }
+}
@@ -1,7 +1,9 @@
 package com.example.sampleratelimitedapi.models;
 
+import java.util.Locale;
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
 
 /**
  *
@@ -11,13 +13,25 @@ import javax.validation.constraints.NotBlank;
  * <p>A simple POJO describing an Hotel entity.
  *
  * <p>This class is used to persist and retrieve Hotel information from the Database using JPA.
+ * Every change is reported by the {@link HotelChangeListener}.
+ *
+ * <p>The city and the room are also stored normalized (see {@link #key}) in the "city_key" and
+ * "room_key" columns, filled in whenever the Hotel is written, so that the case-insensitive lookups
+ * are equality lookups on an index. Both are indexed with the price: the Hotel instances of a city
+ * (or room) are read from the index already sorted by price, in either direction.
  *
  * @author Marco Giuliani
  * @version 1.0
  * @since 2020-02-23
  */
 @Entity
-@Table(name = "hotels")
+@Table(
+    name = "hotels",
+    indexes = {
+      @Index(name = "hotels_city_key_price", columnList = "city_key, price"),
+      @Index(name = "hotels_room_key_price", columnList = "room_key, price")
+    })
+@EntityListeners(HotelChangeListener.class)
 public class Hotel {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,7 +41,15 @@ public class Hotel {
 
   @NotBlank private String room;
 
-  @NotBlank private Integer price;
+  @NotNull private Integer price;
+
+  // The city, normalized for the case-insensitive lookups.
+  @Column(name = "city_key")
+  private String cityKey;
+
+  // The room, normalized for the case-insensitive lookups.
+  @Column(name = "room_key")
+  private String roomKey;
 
   public Hotel() {}
 
@@ -69,4 +91,23 @@ public class Hotel {
   public void setPrice(Integer price) {
     this.price = price;
   }
+
+  /**
+   * Returns the normalized form of a city or a room, as stored in the "city_key" and "room_key"
+   * columns: the value in lower case.
+   *
+   * @param value The city or the room.
+   * @return the normalized value, or null if the value is null.
+   */
+  public static String key(String value) {
+    return value == null ? null : value.toLowerCase(Locale.ROOT);
+  }
+
+  // Fills in the normalized columns before the Hotel is inserted or updated
+  @PrePersist
+  @PreUpdate
+  void normalize() {
+    cityKey = key(city);
+    roomKey = key(room);
+  }
 }
@@ -0,0 +1,43 @@
+package com.example.sampleratelimitedapi.models;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ *
+ *
+ * <h1>HotelChangeListener</h1>
+ *
+ * <p>The JPA entity listener of the {@link Hotel} entity: it publishes a {@link HotelChangedEvent}
+ * whenever a Hotel is inserted, updated or deleted, whatever the code that changed it.
+ *
+ * <p>It is created by Spring (through the bean container Spring Boot configures in Hibernate), so
+ * it can publish the events to the application context.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class HotelChangeListener {
+  private ApplicationEventPublisher applicationEventPublisher;
+
+  @Autowired
+  public HotelChangeListener(ApplicationEventPublisher applicationEventPublisher) {
+    this.applicationEventPublisher = applicationEventPublisher;
+  }
+
+  /**
+   * Publishes a {@link HotelChangedEvent} for the given Hotel.
+   *
+   * @param hotel The Hotel inserted, updated or deleted.
+   */
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void onChange(Hotel hotel) {
+    applicationEventPublisher.publishEvent(new HotelChangedEvent(hotel));
+  }
+}
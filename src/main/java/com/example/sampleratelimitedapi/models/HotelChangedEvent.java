@@ -0,0 +1,27 @@
+package com.example.sampleratelimitedapi.models;
+
+/**
+ *
+ *
+ * <h1>HotelChangedEvent</h1>
+ *
+ * <p>Published by the {@link HotelChangeListener} whenever a Hotel is inserted, updated or deleted,
+ * so that the repositories holding Hotel instances in memory (e.g. the CachingHotelRepository) can
+ * update them.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class HotelChangedEvent {
+  // The Hotel, as it was written to the database.
+  private final Hotel hotel;
+
+  public HotelChangedEvent(Hotel hotel) {
+    this.hotel = hotel;
+  }
+
+  public Hotel getHotel() {
+    return hotel;
+  }
+}
@@ -0,0 +1,87 @@
+package com.example.sampleratelimitedapi.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ *
+ *
+ * <h1>HotelCursor</h1>
+ *
+ * <p>The position of a page of Hotel instances sorted by price (then id): the price and id of the
+ * last Hotel of the previous page. The next page starts right after it, whatever the amount of
+ * pages before, so every page costs the same as the first one (a "keyset" pagination).
+ *
+ * <p>The cursor is handed to the clients as an opaque string (see {@link #encode} and {@link
+ * #parse}).
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class HotelCursor {
+  private final int price;
+
+  private final long id;
+
+  public HotelCursor(int price, long id) {
+    this.price = price;
+    this.id = id;
+  }
+
+  /**
+   * Returns the cursor of the page starting right after the given Hotel.
+   *
+   * @param hotel The last Hotel of a page.
+   * @return the cursor of the next page.
+   */
+  public static HotelCursor after(Hotel hotel) {
+    return new HotelCursor(hotel.getPrice(), hotel.getId());
+  }
+
+  /**
+   * Parses a cursor encoded by {@link #encode}.
+   *
+   * @param value The encoded cursor.
+   * @return the cursor.
+   * @throws IllegalArgumentException if the value is not a valid cursor.
+   */
+  public static HotelCursor parse(String value) {
+    String decoded;
+
+    try {
+      decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + value, e);
+    }
+
+    int separator = decoded.indexOf(':');
+    if (separator < 0) throw new IllegalArgumentException("Invalid cursor: " + value);
+
+    try {
+      return new HotelCursor(
+          Integer.parseInt(decoded.substring(0, separator)),
+          Long.parseLong(decoded.substring(separator + 1)));
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + value, e);
+    }
+  }
+
+  /**
+   * Returns the cursor as an opaque, URL-safe string.
+   *
+   * @return the cursor as an opaque, URL-safe string.
+   */
+  public String encode() {
+    byte[] bytes = (price + ":" + id).getBytes(StandardCharsets.UTF_8);
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+  }
+
+  public int getPrice() {
+    return price;
+  }
+
+  public long getId() {
+    return id;
+  }
+}
@@ -0,0 +1,120 @@
+package com.example.sampleratelimitedapi.models;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotBlank;
+
+/**
+ *
+ *
+ * <h1>Usage</h1>
+ *
+ * <p>A simple POJO describing the requests a client made to an endpoint in a period of time (one
+ * flush of the usage accounting): how many were allowed, and how many were rejected.
+ *
+ * <p>This class is used to persist and retrieve the usage of the clients from the Database using
+ * JPA. The ids come from a sequence (rather than an identity column), so that the rows flushed
+ * together are inserted in JDBC batches.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Entity
+@Table(
+    name = "client_usage",
+    indexes = @Index(name = "client_usage_client_key", columnList = "client_key, period_start_ms"))
+public class Usage {
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "client_usage_sequence")
+  @SequenceGenerator(name = "client_usage_sequence", allocationSize = 50)
+  private Long id;
+
+  @NotBlank
+  @Column(name = "client_key")
+  private String clientKey;
+
+  @NotBlank private String endpoint;
+
+  // The period (in milliseconds since the epoch) in which the requests were made.
+  @Column(name = "period_start_ms")
+  private Long periodStartMs;
+
+  private Long periodEndMs;
+
+  private Long allowed;
+
+  private Long rejected;
+
+  public Usage() {}
+
+  public Usage(
+      String clientKey,
+      String endpoint,
+      Long periodStartMs,
+      Long periodEndMs,
+      Long allowed,
+      Long rejected) {
+    this.clientKey = clientKey;
+    this.endpoint = endpoint;
+    this.periodStartMs = periodStartMs;
+    this.periodEndMs = periodEndMs;
+    this.allowed = allowed;
+    this.rejected = rejected;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public String getClientKey() {
+    return clientKey;
+  }
+
+  public void setClientKey(String clientKey) {
+    this.clientKey = clientKey;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public void setEndpoint(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  public Long getPeriodStartMs() {
+    return periodStartMs;
+  }
+
+  public void setPeriodStartMs(Long periodStartMs) {
+    this.periodStartMs = periodStartMs;
+  }
+
+  public Long getPeriodEndMs() {
+    return periodEndMs;
+  }
+
+  public void setPeriodEndMs(Long periodEndMs) {
+    this.periodEndMs = periodEndMs;
+  }
+
+  public Long getAllowed() {
+    return allowed;
+  }
+
+  public void setAllowed(Long allowed) {
+    this.allowed = allowed;
+  }
+
+  public Long getRejected() {
+    return rejected;
+  }
+
+  public void setRejected(Long rejected) {
+    this.rejected = rejected;
+  }
+}
@@ -0,0 +1,64 @@
+package com.example.sampleratelimitedapi.models;
+
+/**
+ *
+ *
+ * <h1>UsageSummary</h1>
+ *
+ * <p>A simple POJO describing the total requests a client made to an endpoint in a period of time:
+ * the sum of the {@link Usage} rows of that period.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class UsageSummary {
+  private String clientKey;
+
+  private String endpoint;
+
+  private Long allowed;
+
+  private Long rejected;
+
+  public UsageSummary() {}
+
+  public UsageSummary(String clientKey, String endpoint, Long allowed, Long rejected) {
+    this.clientKey = clientKey;
+    this.endpoint = endpoint;
+    this.allowed = allowed;
+    this.rejected = rejected;
+  }
+
+  public String getClientKey() {
+    return clientKey;
+  }
+
+  public void setClientKey(String clientKey) {
+    this.clientKey = clientKey;
+  }
+
+  public String getEndpoint() {
+    return endpoint;
+  }
+
+  public void setEndpoint(String endpoint) {
+    this.endpoint = endpoint;
+  }
+
+  public Long getAllowed() {
+    return allowed;
+  }
+
+  public void setAllowed(Long allowed) {
+    this.allowed = allowed;
+  }
+
+  public Long getRejected() {
+    return rejected;
+  }
+
+  public void setRejected(Long rejected) {
+    this.rejected = rejected;
+  }
+}
@@ -0,0 +1,297 @@
+package com.example.sampleratelimitedapi.repositories;
+
+import com.example.sampleratelimitedapi.config.HotelCacheProperties;
+import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelChangedEvent;
+import com.example.sampleratelimitedapi.models.HotelCursor;
+import com.example.sampleratelimitedapi.utils.Clock;
+import com.example.sampleratelimitedapi.utils.TinyLfuCache;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ *
+ *
+ * <h1>CachingHotelRepository</h1>
+ *
+ * <p>The CachingHotelRepository implements the {@link HotelRepository} interface by caching the
+ * results of the {@link HotelRepositoryImpl} in a {@link TinyLfuCache}, so that the hot lookups
+ * (e.g. "/city/Amsterdam?sortByPrice=ASC") do not query the database on every request.
+ *
+ * <p>The results are cached by normalized (lower case) city or room and sort order, for up to
+ * "hotels.cache.ttl-ms" milliseconds, and at most "hotels.cache.max-entries" of them are kept (0
+ * means no cache). The cached Lists are shared by every caller, so they are read-only. The pages
+ * are never cached: a keyset page costs the same as a cached lookup would save. Nor are the
+ * streamed results, which are never held in memory as a whole.
+ *
+ * <p>Whenever a Hotel is inserted, updated or deleted (see {@link HotelChangedEvent}), once the
+ * transaction is committed, the results it may change are invalidated: the ones of its city and
+ * room, and the ones that contain it (e.g. the ones of its city before an update). The results are
+ * looked up by key, and the city and room every cached Hotel was in are indexed by id, so a change
+ * never scans the cache. A result loaded while a change was committed is never cached (it may have
+ * been read before the change), so an invalidation can not be undone by a slow load.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "hotels.repository", havingValue = "jpa", matchIfMissing = true)
+public class CachingHotelRepository implements HotelRepository {
+  // Every sort order a result can be cached with.
+  private static final String[] SORT_ORDERS = {"", "ASC", "DESC"};
+
+  private HotelRepository hotelRepository;
+
+  // The cached results, or null if the cache is disabled.
+  private final TinyLfuCache<Key, List<Hotel>> cache;
+
+  // The city and room of every cached Hotel (by id), when it was cached.
+  private final Map<Long, Location> locations = new ConcurrentHashMap<>();
+
+  // Incremented by every change of a Hotel, before the cached results are invalidated.
+  private final AtomicLong generation = new AtomicLong(0L);
+
+  @Autowired
+  public CachingHotelRepository(
+      HotelRepositoryImpl hotelRepository, HotelCacheProperties hotelCacheProperties, Clock clock) {
+    this(
+        hotelRepository,
+        hotelCacheProperties.getMaxEntries(),
+        hotelCacheProperties.getTtlMs(),
+        clock);
+  }
+
+  /**
+   * Creates a CachingHotelRepository in front of the given HotelRepository.
+   *
+   * @param hotelRepository The HotelRepository whose results are cached.
+   * @param maxEntries The maximum amount of results held by the cache (0 means no cache).
+   * @param ttlMs The interval (in milliseconds) after which a cached result expires.
+   * @param clock The source of the current time.
+   */
+  public CachingHotelRepository(
+      HotelRepository hotelRepository, int maxEntries, long ttlMs, Clock clock) {
+    this.hotelRepository = hotelRepository;
+    this.cache = maxEntries > 0 ? new TinyLfuCache<>(maxEntries, ttlMs, clock) : null;
+  }
+
+  /**
+   * Returns a List of Hotel instances filtered by city (case-insensitive)
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @return a List of Hotel instances filtered by city (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findAllHotelsByCity(String city, String sortByPrice) {
+    return find(Field.CITY, city, sortByPrice, hotelRepository::findAllHotelsByCity);
+  }
+
+  /**
+   * Returns a List of Hotel instances filtered by room (case-insensitive)
+   *
+   * @param room The room used to filter the result.
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @return a List of Hotel instances filtered by room (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findAllHotelsByRoom(String room, String sortByPrice) {
+    return find(Field.ROOM, room, sortByPrice, hotelRepository::findAllHotelsByRoom);
+  }
+
+  /**
+   * Returns a page of Hotel instances filtered by city (case-insensitive), sorted by price (then
+   * id)
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "DESC" to sort the page by descending price (ascending
+   *     otherwise).
+   * @param cursor The position of the page, or null for the first page.
+   * @param limit The maximum amount of Hotel instances in the page.
+   * @return a page of Hotel instances filtered by city (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findHotelsPageByCity(
+      String city, String sortByPrice, HotelCursor cursor, int limit) {
+    return hotelRepository.findHotelsPageByCity(city, sortByPrice, cursor, limit);
+  }
+
+  /**
+   * Returns a page of Hotel instances filtered by room (case-insensitive), sorted by price (then
+   * id)
+   *
+   * @param room The room used to filter the result
+   * @param sortByPrice can be set as "DESC" to sort the page by descending price (ascending
+   *     otherwise).
+   * @param cursor The position of the page, or null for the first page.
+   * @param limit The maximum amount of Hotel instances in the page.
+   * @return a page of Hotel instances filtered by room (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findHotelsPageByRoom(
+      String room, String sortByPrice, HotelCursor cursor, int limit) {
+    return hotelRepository.findHotelsPageByRoom(room, sortByPrice, cursor, limit);
+  }
+
+  /**
+   * Passes every Hotel instance filtered by city (case-insensitive) to the given action, one at a
+   * time, as they are read from the database
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param action The action called with every Hotel instance.
+   */
+  @Override
+  public void forEachHotelByCity(String city, String sortByPrice, Consumer<Hotel> action) {
+    hotelRepository.forEachHotelByCity(city, sortByPrice, action);
+  }
+
+  /**
+   * Passes every Hotel instance filtered by room (case-insensitive) to the given action, one at a
+   * time, as they are read from the database
+   *
+   * @param room The room used to filter the result.
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param action The action called with every Hotel instance.
+   */
+  @Override
+  public void forEachHotelByRoom(String room, String sortByPrice, Consumer<Hotel> action) {
+    hotelRepository.forEachHotelByRoom(room, sortByPrice, action);
+  }
+
+  /**
+   * Invalidates the cached results that the given change may affect, once it is committed.
+   *
+   * @param event The Hotel inserted, updated or deleted.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onHotelChanged(HotelChangedEvent event) {
+    if (cache == null) return;
+
+    generation.incrementAndGet();
+
+    Hotel hotel = event.getHotel();
+    invalidate(hotel.getCity(), hotel.getRoom());
+
+    // The results containing the Hotel (e.g. the ones of its city before an update)
+    Location location = hotel.getId() == null ? null : locations.remove(hotel.getId());
+    if (location != null) invalidate(location.city, location.room);
+  }
+
+  /**
+   * Returns the statistics of the cache.
+   *
+   * @return the statistics of the cache, or null if the cache is disabled.
+   */
+  public TinyLfuCache.Stats getStats() {
+    return cache == null ? null : cache.getStats();
+  }
+
+  // Returns the cached result, or loads (and caches) it
+  private List<Hotel> find(
+      Field field,
+      String value,
+      String sortByPrice,
+      BiFunction<String, String, List<Hotel>> loader) {
+    if (cache == null) return loader.apply(value, sortByPrice);
+
+    Key key = new Key(field, value, sortByPrice);
+    List<Hotel> hotels = cache.get(key);
+
+    if (hotels == null) {
+      long generation = this.generation.get();
+      hotels = Collections.unmodifiableList(loader.apply(value, sortByPrice));
+
+      // Skip the result if a change was committed while it was loaded, and drop it if a change was
+      // committed while it was added (its invalidation may have run before the put)
+      if (this.generation.get() == generation) {
+        cache.put(key, hotels);
+        index(hotels);
+        if (this.generation.get() != generation) cache.invalidate(key);
+      }
+    }
+
+    return hotels;
+  }
+
+  // Records the city and room of every Hotel of a cached result
+  private void index(List<Hotel> hotels) {
+    for (Hotel hotel : hotels)
+      if (hotel.getId() != null)
+        locations.put(hotel.getId(), new Location(hotel.getCity(), hotel.getRoom()));
+  }
+
+  // Invalidates the results of the given city and room, in every sort order
+  private void invalidate(String city, String room) {
+    for (String sortByPrice : SORT_ORDERS) {
+      cache.invalidate(new Key(Field.CITY, city, sortByPrice));
+      cache.invalidate(new Key(Field.ROOM, room, sortByPrice));
+    }
+  }
+
+  private static class Location {
+    // The city of the Hotel, as it was cached.
+    private final String city;
+
+    // The room of the Hotel, as it was cached.
+    private final String room;
+
+    private Location(String city, String room) {
+      this.city = city;
+      this.room = room;
+    }
+  }
+
+  private enum Field {
+    CITY,
+    ROOM
+  }
+
+  private static class Key {
+    // Whether the lookup is by city or by room.
+    private final Field field;
+
+    // The city or room, in lower case.
+    private final String value;
+
+    // The sort order ("ASC", "DESC" or "" for none).
+    private final String sortByPrice;
+
+    private Key(Field field, String value, String sortByPrice) {
+      this.field = field;
+      this.value = value == null ? "" : value.toLowerCase(Locale.ROOT);
+
+      if ("ASC".equalsIgnoreCase(sortByPrice)) this.sortByPrice = "ASC";
+      else if ("DESC".equalsIgnoreCase(sortByPrice)) this.sortByPrice = "DESC";
+      else this.sortByPrice = "";
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key)) return false;
+
+      Key key = (Key) o;
+      return field == key.field && value.equals(key.value) && sortByPrice.equals(key.sortByPrice);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(field, value, sortByPrice);
+    }
+  }
+}
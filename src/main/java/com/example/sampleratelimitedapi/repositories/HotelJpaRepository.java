@@ -1,8 +1,18 @@
 package com.example.sampleratelimitedapi.repositories;
 
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import com.example.sampleratelimitedapi.models.Hotel;
 import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
 
 /**
  *
@@ -11,14 +21,85 @@ import org.springframework.data.repository.Repository;
  *
  * <p>The HotelJpaRepository extends the {@link Repository} class and uses <a
  * href="https://docs.spring.io/spring-data/jpa/docs/current/reference/html/#repositories.query-methods.query-creation">
- * Spring "magic"</a> to create methods that retrieve Hotel instances filtered by city or room.
+ * Spring "magic"</a> to create methods that retrieve Hotel instances filtered by city or room (or
+ * every Hotel, to build the indexes of the {@link InMemoryHotelRepository}).
+ *
+ * <p>The Hotel instances are filtered by their normalized city or room (see {@link Hotel#key}), so
+ * every query is a seek on the (key, price) index of the "hotels" table, whose rows are already in
+ * price order: sorting them by price (then id) costs nothing.
+ *
+ * <p>The pages of Hotel instances are retrieved by "keyset": the rows sorted by (price, id) right
+ * after the (price, id) of the previous page, so the database never reads (and skips) the rows of
+ * the previous pages as it would with an OFFSET. The {@link Pageable} must always be the first
+ * page: it only sets the amount of rows returned.
+ *
+ * <p>The Streams of Hotel instances are read from an open cursor, {@value #STREAM_FETCH_SIZE} rows
+ * at a time, as read-only entities (no snapshot is kept for dirty checking). They must be consumed
+ * within a transaction, and closed.
  *
  * @author Marco Giuliani
  * @version 1.0
  * @since 2020-02-23
  */
 public interface HotelJpaRepository extends Repository<Hotel, Long> {
-  List<Hotel> findByCityIgnoreCase(String city);
+  // The amount of rows fetched from the database at a time by the Streams.
+  int STREAM_FETCH_SIZE = 100;
+
+  List<Hotel> findAll();
+
+  List<Hotel> findByCityKey(String cityKey, Sort sort);
+
+  List<Hotel> findByRoomKey(String roomKey, Sort sort);
+
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+    @QueryHint(name = HINT_READONLY, value = "true")
+  })
+  Stream<Hotel> streamByCityKey(String cityKey, Sort sort);
+
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+    @QueryHint(name = HINT_READONLY, value = "true")
+  })
+  Stream<Hotel> streamByRoomKey(String roomKey, Sort sort);
+
+  @Query(
+      "SELECT h FROM Hotel h WHERE h.cityKey = :cityKey"
+          + " AND (h.price > :price OR (h.price = :price AND h.id > :id))"
+          + " ORDER BY h.price ASC, h.id ASC")
+  List<Hotel> findCityPageAsc(
+      @Param("cityKey") String cityKey,
+      @Param("price") int price,
+      @Param("id") long id,
+      Pageable pageable);
+
+  @Query(
+      "SELECT h FROM Hotel h WHERE h.cityKey = :cityKey"
+          + " AND (h.price < :price OR (h.price = :price AND h.id < :id))"
+          + " ORDER BY h.price DESC, h.id DESC")
+  List<Hotel> findCityPageDesc(
+      @Param("cityKey") String cityKey,
+      @Param("price") int price,
+      @Param("id") long id,
+      Pageable pageable);
+
+  @Query(
+      "SELECT h FROM Hotel h WHERE h.roomKey = :roomKey"
+          + " AND (h.price > :price OR (h.price = :price AND h.id > :id))"
+          + " ORDER BY h.price ASC, h.id ASC")
+  List<Hotel> findRoomPageAsc(
+      @Param("roomKey") String roomKey,
+      @Param("price") int price,
+      @Param("id") long id,
+      Pageable pageable);
 
-  List<Hotel> findByRoomIgnoreCase(String room);
+  @Query(
+      "SELECT h FROM Hotel h WHERE h.roomKey = :roomKey"
+          + " AND (h.price < :price OR (h.price = :price AND h.id < :id))"
+          + " ORDER BY h.price DESC, h.id DESC")
+  List<Hotel> findRoomPageDesc(
+      @Param("roomKey") String roomKey,
+      @Param("price") int price,
+      @Param("id") long id,
+      Pageable pageable);
 }
@@ -1,7 +1,9 @@
 package com.example.sampleratelimitedapi.repositories;
 
 import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelCursor;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  *
@@ -18,4 +20,12 @@ public interface HotelRepository {
   List<Hotel> findAllHotelsByCity(String city, String sortByPrice);
 
   List<Hotel> findAllHotelsByRoom(String room, String sortByPrice);
+
+  List<Hotel> findHotelsPageByCity(String city, String sortByPrice, HotelCursor cursor, int limit);
+
+  List<Hotel> findHotelsPageByRoom(String room, String sortByPrice, HotelCursor cursor, int limit);
+
+  void forEachHotelByCity(String city, String sortByPrice, Consumer<Hotel> action);
+
+  void forEachHotelByRoom(String room, String sortByPrice, Consumer<Hotel> action);
 }
@@ -1,10 +1,17 @@
 package com.example.sampleratelimitedapi.repositories;
 
 import com.example.sampleratelimitedapi.models.Hotel;
-import java.util.Comparator;
+import com.example.sampleratelimitedapi.models.HotelCursor;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  *
@@ -12,19 +19,45 @@ import org.springframework.stereotype.Repository;
  * <h1>HotelRepositoryImpl</h1>
  *
  * <p>The HotelRepositoryImpl implements the {@link HotelRepository} interface and calls the
- * corresponding {@link HotelJpaRepository} methods, and also applies the sorting logic.
+ * corresponding {@link HotelJpaRepository} methods with the normalized city or room (see {@link
+ * Hotel#key}), and the sort order of the result: the database returns the Hotel instances already
+ * sorted by price (then id), from the index it looks them up in.
+ *
+ * <p>This is the default implementation: it is replaced by the {@link InMemoryHotelRepository} when
+ * "hotels.repository" is "memory".
+ *
+ * <p>The forEach methods read the Hotel instances from a {@link Stream} in a read-only transaction,
+ * and detach every one of them once the action is done with it: the persistence context never holds
+ * more than a fetch of rows, however many hotels match.
  *
  * @author Marco Giuliani
  * @version 1.0
  * @since 2020-02-23
  */
 @Repository
+@ConditionalOnProperty(name = "hotels.repository", havingValue = "jpa", matchIfMissing = true)
 public class HotelRepositoryImpl implements HotelRepository {
+  // The orders of the sortByPrice values, built once.
+  private static final Sort PRICE_ASC = Sort.by(Sort.Direction.ASC, "price", "id");
+  private static final Sort PRICE_DESC = Sort.by(Sort.Direction.DESC, "price", "id");
+
+  // The cursors before the first Hotel of a page sorted by ascending and descending price.
+  private static final HotelCursor FIRST_ASC = new HotelCursor(Integer.MIN_VALUE, Long.MIN_VALUE);
+  private static final HotelCursor FIRST_DESC = new HotelCursor(Integer.MAX_VALUE, Long.MAX_VALUE);
+
   private HotelJpaRepository hotelJpaRepository;
 
-  @Autowired
+  // The persistence context the streamed Hotel instances are detached from, or null if none.
+  private EntityManager entityManager;
+
   public HotelRepositoryImpl(HotelJpaRepository hotelJpaRepository) {
+    this(hotelJpaRepository, null);
+  }
+
+  @Autowired
+  public HotelRepositoryImpl(HotelJpaRepository hotelJpaRepository, EntityManager entityManager) {
     this.hotelJpaRepository = hotelJpaRepository;
+    this.entityManager = entityManager;
   }
 
   /**
@@ -36,16 +69,7 @@ public class HotelRepositoryImpl implements HotelRepository {
    */
   @Override
   public List<Hotel> findAllHotelsByCity(String city, String sortByPrice) {
-    List<Hotel> hotels = hotelJpaRepository.findByCityIgnoreCase(city);
-
-    if (sortByPrice != null && !sortByPrice.isEmpty()) {
-      if (sortByPrice.toUpperCase().equals("ASC"))
-        hotels.sort(Comparator.comparing(Hotel::getPrice));
-      else if (sortByPrice.toUpperCase().equals("DESC"))
-        hotels.sort(Comparator.comparing(Hotel::getPrice).reversed());
-    }
-
-    return hotels;
+    return hotelJpaRepository.findByCityKey(Hotel.key(city), sortOf(sortByPrice));
   }
 
   /**
@@ -57,15 +81,105 @@ public class HotelRepositoryImpl implements HotelRepository {
    */
   @Override
   public List<Hotel> findAllHotelsByRoom(String room, String sortByPrice) {
-    List<Hotel> hotels = hotelJpaRepository.findByRoomIgnoreCase(room);
+    return hotelJpaRepository.findByRoomKey(Hotel.key(room), sortOf(sortByPrice));
+  }
+
+  /**
+   * Returns a page of Hotel instances filtered by city (case-insensitive), sorted by price (then
+   * id)
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "DESC" to sort the page by descending price (ascending
+   *     otherwise).
+   * @param cursor The position of the page, or null for the first page.
+   * @param limit The maximum amount of Hotel instances in the page.
+   * @return a page of Hotel instances filtered by city (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findHotelsPageByCity(
+      String city, String sortByPrice, HotelCursor cursor, int limit) {
+    if ("DESC".equalsIgnoreCase(sortByPrice)) {
+      HotelCursor from = cursor != null ? cursor : FIRST_DESC;
+      return hotelJpaRepository.findCityPageDesc(
+          Hotel.key(city), from.getPrice(), from.getId(), PageRequest.of(0, limit));
+    }
+
+    HotelCursor from = cursor != null ? cursor : FIRST_ASC;
+    return hotelJpaRepository.findCityPageAsc(
+        Hotel.key(city), from.getPrice(), from.getId(), PageRequest.of(0, limit));
+  }
+
+  /**
+   * Returns a page of Hotel instances filtered by room (case-insensitive), sorted by price (then
+   * id)
+   *
+   * @param room The room used to filter the result
+   * @param sortByPrice can be set as "DESC" to sort the page by descending price (ascending
+   *     otherwise).
+   * @param cursor The position of the page, or null for the first page.
+   * @param limit The maximum amount of Hotel instances in the page.
+   * @return a page of Hotel instances filtered by room (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findHotelsPageByRoom(
+      String room, String sortByPrice, HotelCursor cursor, int limit) {
+    if ("DESC".equalsIgnoreCase(sortByPrice)) {
+      HotelCursor from = cursor != null ? cursor : FIRST_DESC;
+      return hotelJpaRepository.findRoomPageDesc(
+          Hotel.key(room), from.getPrice(), from.getId(), PageRequest.of(0, limit));
+    }
 
-    if (sortByPrice != null && !sortByPrice.isEmpty()) {
-      if (sortByPrice.toUpperCase().equals("ASC"))
-        hotels.sort(Comparator.comparing(Hotel::getPrice));
-      else if (sortByPrice.toUpperCase().equals("DESC"))
-        hotels.sort(Comparator.comparing(Hotel::getPrice).reversed());
+    HotelCursor from = cursor != null ? cursor : FIRST_ASC;
+    return hotelJpaRepository.findRoomPageAsc(
+        Hotel.key(room), from.getPrice(), from.getId(), PageRequest.of(0, limit));
+  }
+
+  /**
+   * Passes every Hotel instance filtered by city (case-insensitive) to the given action, one at a
+   * time, as they are read from the database
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param action The action called with every Hotel instance.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachHotelByCity(String city, String sortByPrice, Consumer<Hotel> action) {
+    try (Stream<Hotel> hotels =
+        hotelJpaRepository.streamByCityKey(Hotel.key(city), sortOf(sortByPrice))) {
+      hotels.forEach(hotel -> consume(hotel, action));
     }
+  }
+
+  /**
+   * Passes every Hotel instance filtered by room (case-insensitive) to the given action, one at a
+   * time, as they are read from the database
+   *
+   * @param room The room used to filter the result.
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param action The action called with every Hotel instance.
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void forEachHotelByRoom(String room, String sortByPrice, Consumer<Hotel> action) {
+    try (Stream<Hotel> hotels =
+        hotelJpaRepository.streamByRoomKey(Hotel.key(room), sortOf(sortByPrice))) {
+      hotels.forEach(hotel -> consume(hotel, action));
+    }
+  }
+
+  // Passes the Hotel to the action, then drops it from the persistence context
+  private void consume(Hotel hotel, Consumer<Hotel> action) {
+    action.accept(hotel);
+
+    if (entityManager != null) entityManager.detach(hotel);
+  }
+
+  // The order of the sortByPrice value (by price then id, or none if neither "ASC" nor "DESC")
+  private static Sort sortOf(String sortByPrice) {
+    if ("ASC".equalsIgnoreCase(sortByPrice)) return PRICE_ASC;
+    if ("DESC".equalsIgnoreCase(sortByPrice)) return PRICE_DESC;
 
-    return hotels;
+    return Sort.unsorted();
   }
 }
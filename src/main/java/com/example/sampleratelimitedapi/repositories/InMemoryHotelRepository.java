@@ -0,0 +1,298 @@
+package com.example.sampleratelimitedapi.repositories;
+
+import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelChangedEvent;
+import com.example.sampleratelimitedapi.models.HotelCursor;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *
+ *
+ * <h1>InMemoryHotelRepository</h1>
+ *
+ * <p>The InMemoryHotelRepository implements the {@link HotelRepository} interface by keeping the
+ * whole catalog in memory: every Hotel is loaded once from the {@link HotelJpaRepository} at
+ * startup, and indexed in two hash maps, by normalized (lower case) city and room.
+ *
+ * <p>A lookup is a single hash map access, and returns a shared read-only List without querying the
+ * database nor hydrating any entity. Every List (a "posting list") is sorted by price once, when
+ * the indexes are built: the "ASC" results are the List itself, the "DESC" results a reversed view
+ * of it, so a request never sorts nor copies anything. The results that are not sorted by price are
+ * in price order too. A page is a view of a part of them, found by binary search.
+ *
+ * <p>The catalog is read-mostly, so the indexes are never updated in place: {@link #refresh} builds
+ * new ones from the database and swaps them in, so the lookups never wait. It is called at startup,
+ * and whenever a Hotel is inserted, updated or deleted (see {@link HotelChangedEvent}), once the
+ * transaction is committed: a transaction changing many hotels reloads the catalog only once.
+ *
+ * <p>It is used instead of the {@link HotelRepositoryImpl} when "hotels.repository" is "memory".
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Repository
+@ConditionalOnProperty(name = "hotels.repository", havingValue = "memory")
+public class InMemoryHotelRepository implements HotelRepository {
+  // The order of the posting lists: by price, then by id (the order of the pages).
+  private static final Comparator<Hotel> PRICE_ASC =
+      Comparator.comparingInt(Hotel::getPrice).thenComparingLong(Hotel::getId);
+
+  // The posting list of a city or a room without hotels.
+  private static final Postings NO_POSTINGS = new Postings(Collections.emptyList());
+
+  private HotelJpaRepository hotelJpaRepository;
+
+  // The Hotel instances by normalized city and room, replaced as a whole by refresh().
+  private volatile Index index = new Index(Collections.emptyList());
+
+  @Autowired
+  public InMemoryHotelRepository(HotelJpaRepository hotelJpaRepository) {
+    this.hotelJpaRepository = hotelJpaRepository;
+  }
+
+  /**
+   * Loads the whole catalog from the database, and replaces the indexes. The refreshes never
+   * overlap, so the indexes of an older catalog never replace the ones of a newer one.
+   */
+  @PostConstruct
+  public synchronized void refresh() {
+    index = new Index(hotelJpaRepository.findAll());
+  }
+
+  /**
+   * Reloads the catalog once the transaction of the given change is committed, so that it is
+   * visible to the lookups. The first change of a transaction schedules the reload, the next ones
+   * share it. A change made outside of a transaction reloads the catalog right away.
+   *
+   * @param event The Hotel inserted, updated or deleted.
+   */
+  @EventListener
+  public void onHotelChanged(HotelChangedEvent event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      refresh();
+      return;
+    }
+
+    // The reload of this transaction is already scheduled
+    if (TransactionSynchronizationManager.hasResource(this)) return;
+
+    TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronizationAdapter() {
+          @Override
+          public void afterCommit() {
+            refresh();
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(
+                InMemoryHotelRepository.this);
+          }
+        });
+  }
+
+  /**
+   * Returns a List of Hotel instances filtered by city (case-insensitive)
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @return a List of Hotel instances filtered by city (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findAllHotelsByCity(String city, String sortByPrice) {
+    return index.byCity.getOrDefault(normalize(city), NO_POSTINGS).get(sortByPrice);
+  }
+
+  /**
+   * Returns a List of Hotel instances filtered by room (case-insensitive)
+   *
+   * @param room The room used to filter the result.
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @return a List of Hotel instances filtered by room (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findAllHotelsByRoom(String room, String sortByPrice) {
+    return index.byRoom.getOrDefault(normalize(room), NO_POSTINGS).get(sortByPrice);
+  }
+
+  /**
+   * Returns a page of Hotel instances filtered by city (case-insensitive), sorted by price (then
+   * id)
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "DESC" to sort the page by descending price (ascending
+   *     otherwise).
+   * @param cursor The position of the page, or null for the first page.
+   * @param limit The maximum amount of Hotel instances in the page.
+   * @return a page of Hotel instances filtered by city (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findHotelsPageByCity(
+      String city, String sortByPrice, HotelCursor cursor, int limit) {
+    return index.byCity.getOrDefault(normalize(city), NO_POSTINGS).page(sortByPrice, cursor, limit);
+  }
+
+  /**
+   * Returns a page of Hotel instances filtered by room (case-insensitive), sorted by price (then
+   * id)
+   *
+   * @param room The room used to filter the result
+   * @param sortByPrice can be set as "DESC" to sort the page by descending price (ascending
+   *     otherwise).
+   * @param cursor The position of the page, or null for the first page.
+   * @param limit The maximum amount of Hotel instances in the page.
+   * @return a page of Hotel instances filtered by room (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findHotelsPageByRoom(
+      String room, String sortByPrice, HotelCursor cursor, int limit) {
+    return index.byRoom.getOrDefault(normalize(room), NO_POSTINGS).page(sortByPrice, cursor, limit);
+  }
+
+  /**
+   * Passes every Hotel instance filtered by city (case-insensitive) to the given action, one at a
+   * time
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param action The action called with every Hotel instance.
+   */
+  @Override
+  public void forEachHotelByCity(String city, String sortByPrice, Consumer<Hotel> action) {
+    findAllHotelsByCity(city, sortByPrice).forEach(action);
+  }
+
+  /**
+   * Passes every Hotel instance filtered by room (case-insensitive) to the given action, one at a
+   * time
+   *
+   * @param room The room used to filter the result.
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param action The action called with every Hotel instance.
+   */
+  @Override
+  public void forEachHotelByRoom(String room, String sortByPrice, Consumer<Hotel> action) {
+    findAllHotelsByRoom(room, sortByPrice).forEach(action);
+  }
+
+  // The key of a city or a room in the indexes
+  private static String normalize(String value) {
+    return value == null ? "" : value.toLowerCase(Locale.ROOT);
+  }
+
+  private static class Index {
+    // The Hotel instances by normalized city.
+    private final Map<String, Postings> byCity;
+
+    // The Hotel instances by normalized room.
+    private final Map<String, Postings> byRoom;
+
+    private Index(List<Hotel> hotels) {
+      this.byCity = index(hotels, Hotel::getCity);
+      this.byRoom = index(hotels, Hotel::getRoom);
+    }
+
+    // Groups the Hotel instances by normalized key, in posting lists sorted by price
+    private static Map<String, Postings> index(List<Hotel> hotels, Function<Hotel, String> key) {
+      Map<String, List<Hotel>> groups = new HashMap<>();
+
+      for (Hotel hotel : hotels)
+        groups.computeIfAbsent(normalize(key.apply(hotel)), k -> new ArrayList<>()).add(hotel);
+
+      Map<String, Postings> index = new HashMap<>();
+      groups.forEach((k, group) -> index.put(k, new Postings(group)));
+      return index;
+    }
+  }
+
+  private static class Postings {
+    // The Hotel instances by price, lowest first.
+    private final List<Hotel> ascending;
+
+    // A reversed view of {ascending}, highest price first.
+    private final List<Hotel> descending;
+
+    private Postings(List<Hotel> hotels) {
+      List<Hotel> sorted = new ArrayList<>(hotels);
+      sorted.sort(PRICE_ASC);
+
+      this.ascending = Collections.unmodifiableList(sorted);
+      this.descending = new ReversedList(this.ascending);
+    }
+
+    // The Hotel instances in the requested order
+    private List<Hotel> get(String sortByPrice) {
+      return "DESC".equalsIgnoreCase(sortByPrice) ? descending : ascending;
+    }
+
+    // A view of the Hotel instances after the cursor, in the requested order
+    private List<Hotel> page(String sortByPrice, HotelCursor cursor, int limit) {
+      int size = ascending.size();
+      int from;
+
+      if ("DESC".equalsIgnoreCase(sortByPrice))
+        from = cursor == null ? 0 : size - firstIndexOf(cursor, false);
+      else from = cursor == null ? 0 : firstIndexOf(cursor, true);
+
+      List<Hotel> hotels = get(sortByPrice);
+      return hotels.subList(from, Math.min(size, from + limit));
+    }
+
+    // The index of the first ascending Hotel after (or at, if not strictly) the cursor
+    private int firstIndexOf(HotelCursor cursor, boolean strictly) {
+      int low = 0;
+      int high = ascending.size();
+
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        Hotel hotel = ascending.get(middle);
+
+        int comparison = Integer.compare(hotel.getPrice(), cursor.getPrice());
+        if (comparison == 0) comparison = Long.compare(hotel.getId(), cursor.getId());
+
+        if (comparison < 0 || (strictly && comparison == 0)) low = middle + 1;
+        else high = middle;
+      }
+
+      return low;
+    }
+  }
+
+  private static class ReversedList extends AbstractList<Hotel> implements RandomAccess {
+    // The List seen in reverse order.
+    private final List<Hotel> list;
+
+    private ReversedList(List<Hotel> list) {
+      this.list = list;
+    }
+
+    @Override
+    public Hotel get(int index) {
+      return list.get(list.size() - 1 - index);
+    }
+
+    @Override
+    public int size() {
+      return list.size();
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.example.sampleratelimitedapi.repositories;
+
+import com.example.sampleratelimitedapi.models.Usage;
+import com.example.sampleratelimitedapi.models.UsageSummary;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+/**
+ *
+ *
+ * <h1>UsageJpaRepository</h1>
+ *
+ * <p>The UsageJpaRepository extends the {@link Repository} class to store the {@link Usage} rows
+ * flushed by the usage accounting, and to sum them by client and endpoint.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface UsageJpaRepository extends Repository<Usage, Long> {
+  <S extends Usage> Iterable<S> saveAll(Iterable<S> usages);
+
+  @Query(
+      "SELECT new com.example.sampleratelimitedapi.models.UsageSummary("
+          + "u.clientKey, u.endpoint, SUM(u.allowed), SUM(u.rejected)) FROM Usage u "
+          + "WHERE u.clientKey = :clientKey AND u.periodStartMs >= :fromMs AND u.periodStartMs < :toMs "
+          + "GROUP BY u.clientKey, u.endpoint ORDER BY u.endpoint")
+  List<UsageSummary> sumByClientKey(
+      @Param("clientKey") String clientKey, @Param("fromMs") long fromMs, @Param("toMs") long toMs);
+
+  @Query(
+      "SELECT new com.example.sampleratelimitedapi.models.UsageSummary("
+          + "u.clientKey, u.endpoint, SUM(u.allowed), SUM(u.rejected)) FROM Usage u "
+          + "WHERE u.periodStartMs >= :fromMs AND u.periodStartMs < :toMs "
+          + "GROUP BY u.clientKey, u.endpoint ORDER BY u.clientKey, u.endpoint")
+  List<UsageSummary> sumAll(@Param("fromMs") long fromMs, @Param("toMs") long toMs);
+}
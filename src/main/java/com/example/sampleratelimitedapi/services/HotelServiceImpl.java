@@ -1,8 +1,13 @@
 package com.example.sampleratelimitedapi.services;
 
 import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelCursor;
 import com.example.sampleratelimitedapi.repositories.HotelRepository;
+import com.example.sampleratelimitedapi.utils.SingleFlight;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -14,6 +19,11 @@ import org.springframework.stereotype.Service;
  * <p>The HotelServiceImpl implements the {@link HotelService} interface and calls the corresponding
  * {@link HotelRepository} methods.
  *
+ * <p>The identical lookups made at the same time (same method, case-insensitive city or room, and
+ * sort order) are collapsed by a {@link SingleFlight}: a single HotelRepository call serves all of
+ * them, e.g. when a cached result expires while it is requested by many clients. The streamed
+ * lookups are never collapsed: each one is consumed by its own caller as it is read.
+ *
  * @author Marco Giuliani
  * @version 1.0
  * @since 2020-02-23
@@ -22,6 +32,9 @@ import org.springframework.stereotype.Service;
 public class HotelServiceImpl implements HotelService {
   private HotelRepository hotelRepository;
 
+  // The lookups in flight, by method, normalized argument and sort order.
+  private final SingleFlight<List<String>, List<Hotel>> lookups = new SingleFlight<>();
+
   @Autowired
   public HotelServiceImpl(HotelRepository hotelRepository) {
     this.hotelRepository = hotelRepository;
@@ -36,7 +49,9 @@ public class HotelServiceImpl implements HotelService {
    */
   @Override
   public List<Hotel> findAllHotelsByCity(String city, String sortByPrice) {
-    return hotelRepository.findAllHotelsByCity(city, sortByPrice);
+    return lookups.execute(
+        key("city", city, sortByPrice),
+        () -> hotelRepository.findAllHotelsByCity(city, sortByPrice));
   }
 
   /**
@@ -48,6 +63,75 @@ public class HotelServiceImpl implements HotelService {
    */
   @Override
   public List<Hotel> findAllHotelsByRoom(String room, String sortByPrice) {
-    return hotelRepository.findAllHotelsByRoom(room, sortByPrice);
+    return lookups.execute(
+        key("room", room, sortByPrice),
+        () -> hotelRepository.findAllHotelsByRoom(room, sortByPrice));
+  }
+
+  /**
+   * Returns a page of Hotel instances filtered by city (case-insensitive), sorted by price (then
+   * id)
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "DESC" to sort the page by descending price (ascending
+   *     otherwise).
+   * @param cursor The position of the page, or null for the first page.
+   * @param limit The maximum amount of Hotel instances in the page.
+   * @return a page of Hotel instances filtered by city (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findHotelsPageByCity(
+      String city, String sortByPrice, HotelCursor cursor, int limit) {
+    return hotelRepository.findHotelsPageByCity(city, sortByPrice, cursor, limit);
+  }
+
+  /**
+   * Returns a page of Hotel instances filtered by room (case-insensitive), sorted by price (then
+   * id)
+   *
+   * @param room The room used to filter the result
+   * @param sortByPrice can be set as "DESC" to sort the page by descending price (ascending
+   *     otherwise).
+   * @param cursor The position of the page, or null for the first page.
+   * @param limit The maximum amount of Hotel instances in the page.
+   * @return a page of Hotel instances filtered by room (case-insensitive)
+   */
+  @Override
+  public List<Hotel> findHotelsPageByRoom(
+      String room, String sortByPrice, HotelCursor cursor, int limit) {
+    return hotelRepository.findHotelsPageByRoom(room, sortByPrice, cursor, limit);
+  }
+
+  /**
+   * Passes every Hotel instance filtered by city (case-insensitive) to the given action, one at a
+   * time, as they are read
+   *
+   * @param city The city used to filter the result
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param action The action called with every Hotel instance.
+   */
+  @Override
+  public void forEachHotelByCity(String city, String sortByPrice, Consumer<Hotel> action) {
+    hotelRepository.forEachHotelByCity(city, sortByPrice, action);
+  }
+
+  /**
+   * Passes every Hotel instance filtered by room (case-insensitive) to the given action, one at a
+   * time, as they are read
+   *
+   * @param room The room used to filter the result.
+   * @param sortByPrice can be set as "ASC" or "DESC" to sort the result by the Hotel price.
+   * @param action The action called with every Hotel instance.
+   */
+  @Override
+  public void forEachHotelByRoom(String room, String sortByPrice, Consumer<Hotel> action) {
+    hotelRepository.forEachHotelByRoom(room, sortByPrice, action);
+  }
+
+  // The key of a lookup: the lookups with the same key return the same Hotel instances
+  private static List<String> key(String method, String value, String sortByPrice) {
+    String order = sortByPrice == null ? "" : sortByPrice.toUpperCase(Locale.ROOT);
+
+    return Arrays.asList(method, value == null ? "" : value.toLowerCase(Locale.ROOT), order);
   }
 }
@@ -0,0 +1,22 @@
+package com.example.sampleratelimitedapi.services;
+
+import com.example.sampleratelimitedapi.models.Usage;
+import com.example.sampleratelimitedapi.models.UsageSummary;
+import java.util.List;
+
+/**
+ *
+ *
+ * <h1>UsageService</h1>
+ *
+ * <p>The UsageService interfaces defines the method that our Usage Service class should implement.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface UsageService {
+  void saveAll(List<Usage> usages);
+
+  List<UsageSummary> findUsage(String clientKey, long fromMs, long toMs);
+}
@@ -0,0 +1,57 @@
+package com.example.sampleratelimitedapi.services;
+
+import com.example.sampleratelimitedapi.models.Usage;
+import com.example.sampleratelimitedapi.models.UsageSummary;
+import com.example.sampleratelimitedapi.repositories.UsageJpaRepository;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ *
+ *
+ * <h1>UsageServiceImpl</h1>
+ *
+ * <p>The UsageServiceImpl implements the {@link UsageService} interface and calls the corresponding
+ * {@link UsageJpaRepository} methods.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@Service
+public class UsageServiceImpl implements UsageService {
+  private UsageJpaRepository usageJpaRepository;
+
+  @Autowired
+  public UsageServiceImpl(UsageJpaRepository usageJpaRepository) {
+    this.usageJpaRepository = usageJpaRepository;
+  }
+
+  /**
+   * Saves the given Usage instances in a single transaction (inserted in JDBC batches).
+   *
+   * @param usages The Usage instances to save.
+   */
+  @Override
+  @Transactional
+  public void saveAll(List<Usage> usages) {
+    usageJpaRepository.saveAll(usages);
+  }
+
+  /**
+   * Returns the total requests made to every endpoint in the given period, by client.
+   *
+   * @param clientKey The identity of the client, or null for every client.
+   * @param fromMs The start of the period (in milliseconds since the epoch, inclusive).
+   * @param toMs The end of the period (in milliseconds since the epoch, exclusive).
+   * @return a List of UsageSummary instances, one for every client and endpoint.
+   */
+  @Override
+  public List<UsageSummary> findUsage(String clientKey, long fromMs, long toMs) {
+    if (clientKey == null || clientKey.isEmpty()) return usageJpaRepository.sumAll(fromMs, toMs);
+
+    return usageJpaRepository.sumByClientKey(clientKey, fromMs, toMs);
+  }
+}
@@ -0,0 +1,152 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ *
+ * <h1>AdaptiveConcurrencyLimiter</h1>
+ *
+ * <p>Limits the amount of requests handled at the same time, adjusting the limit to the observed
+ * latency with an AIMD (Additive Increase, Multiplicative Decrease) algorithm:
+ *
+ * <ul>
+ *   <li>when a request takes more than {tolerance} times the baseline latency, the limit is
+ *       multiplied by {backoffRatio}, shedding load;
+ *   <li>otherwise, if at least half of the limit was in use, the limit grows by one.
+ * </ul>
+ *
+ * <p>The baseline is the lowest latency observed since the last {BASELINE_SAMPLES} requests, so it
+ * follows a lasting change of the service (e.g. a bigger database).
+ *
+ * <p>The limiter is thread-safe and lock-free: concurrent updates of the limit may overwrite each
+ * other, which only makes the adjustments slightly less precise.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class AdaptiveConcurrencyLimiter {
+  // The amount of requests after which the baseline latency is measured again.
+  public static final long BASELINE_SAMPLES = 1000L;
+
+  // The ratio applied to the limit when the latency rises.
+  public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+
+  // How many times the baseline latency a request may take before the limit is decreased.
+  public static final double DEFAULT_TOLERANCE = 2.0;
+
+  // The lowest and highest values of the limit.
+  private final int minLimit;
+  private final int maxLimit;
+
+  // The ratio applied to the limit when the latency rises.
+  private final double backoffRatio;
+
+  // How many times the baseline latency a request may take before the limit is decreased.
+  private final double tolerance;
+
+  // The maximum amount of requests handled at the same time.
+  private final AtomicInteger limit;
+
+  // The amount of requests being handled.
+  private final AtomicInteger inFlight = new AtomicInteger(0);
+
+  // The lowest latency (in nanoseconds) observed since the baseline was last measured again.
+  private final AtomicLong baselineNs = new AtomicLong(Long.MAX_VALUE);
+
+  // The amount of completed requests.
+  private final AtomicLong samples = new AtomicLong(0L);
+
+  /**
+   * Creates an AdaptiveConcurrencyLimiter with the default backoffRatio and tolerance values.
+   *
+   * @param initialLimit The initial maximum amount of requests handled at the same time.
+   * @param minLimit The lowest value of the limit.
+   * @param maxLimit The highest value of the limit.
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit) {
+    this(initialLimit, minLimit, maxLimit, DEFAULT_BACKOFF_RATIO, DEFAULT_TOLERANCE);
+  }
+
+  /**
+   * Creates an AdaptiveConcurrencyLimiter with the specified values.
+   *
+   * @param initialLimit The initial maximum amount of requests handled at the same time.
+   * @param minLimit The lowest value of the limit.
+   * @param maxLimit The highest value of the limit.
+   * @param backoffRatio The ratio applied to the limit when the latency rises.
+   * @param tolerance How many times the baseline latency a request may take before the limit is
+   *     decreased.
+   */
+  public AdaptiveConcurrencyLimiter(
+      int initialLimit, int minLimit, int maxLimit, double backoffRatio, double tolerance) {
+    if (minLimit < 1 || maxLimit < minLimit)
+      throw new IllegalArgumentException("limits must satisfy 1 <= minLimit <= maxLimit");
+    if (backoffRatio <= 0 || backoffRatio >= 1)
+      throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.backoffRatio = backoffRatio;
+    this.tolerance = tolerance;
+    this.limit = new AtomicInteger(Math.max(minLimit, Math.min(maxLimit, initialLimit)));
+  }
+
+  /**
+   * Starts handling a request, if the limit allows it: every allowed request must be followed by
+   * either {@link #release(long)} or {@link #cancel()}.
+   *
+   * @return boolean The request should be handled or not.
+   */
+  public boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+
+      if (current >= limit.get()) return false;
+
+      if (inFlight.compareAndSet(current, current + 1)) return true;
+    }
+  }
+
+  /**
+   * Completes a request, adjusting the limit to its latency.
+   *
+   * @param latencyNs The time (in nanoseconds) it took to handle the request.
+   */
+  public void release(long latencyNs) {
+    int used = inFlight.getAndDecrement();
+
+    if (samples.incrementAndGet() % BASELINE_SAMPLES == 0) baselineNs.set(latencyNs);
+    else baselineNs.accumulateAndGet(latencyNs, Math::min);
+
+    if (latencyNs > baselineNs.get() * tolerance)
+      limit.updateAndGet(current -> Math.max(minLimit, (int) (current * backoffRatio)));
+    else if (used * 2 >= limit.get())
+      limit.updateAndGet(current -> Math.min(maxLimit, current + 1));
+  }
+
+  /** Completes a request that was not handled, without adjusting the limit. */
+  public void cancel() {
+    inFlight.decrementAndGet();
+  }
+
+  /**
+   * Returns the maximum amount of requests handled at the same time.
+   *
+   * @return the maximum amount of requests handled at the same time.
+   */
+  public int getLimit() {
+    return limit.get();
+  }
+
+  /**
+   * Returns the amount of requests being handled.
+   *
+   * @return the amount of requests being handled.
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+}
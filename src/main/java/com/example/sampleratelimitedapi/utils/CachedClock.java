@@ -0,0 +1,72 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ *
+ *
+ * <h1>CachedClock</h1>
+ *
+ * <p>A coarse-grained {@link Clock} that caches the time of another clock, refreshed every
+ * {resolutionMs} by a background ticker.
+ *
+ * <p>Reading the time is a single volatile read, at the cost of lagging up to {resolutionMs} behind
+ * the source clock. If the source clock is monotonic, so is the cached one.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class CachedClock implements Clock, AutoCloseable {
+  // The ticker shared by every cached clock.
+  private static final ScheduledExecutorService TICKER =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "rate-limiter-clock-ticker");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // The clock whose time is cached.
+  private final Clock source;
+
+  // The periodic refresh of the cached time.
+  private final ScheduledFuture<?> tickTask;
+
+  // The cached time (in milliseconds).
+  private volatile long currentTimeMillis;
+
+  /**
+   * Creates a CachedClock with the specified source and resolutionMs values.
+   *
+   * @param source The clock whose time is cached.
+   * @param resolutionMs The interval (in milliseconds) in which the cached time is refreshed.
+   */
+  public CachedClock(Clock source, long resolutionMs) {
+    if (resolutionMs < 1) throw new IllegalArgumentException("resolutionMs must be positive");
+
+    this.source = source;
+    this.currentTimeMillis = source.currentTimeMillis();
+    this.tickTask =
+        TICKER.scheduleAtFixedRate(this::tick, resolutionMs, resolutionMs, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public long currentTimeMillis() {
+    return currentTimeMillis;
+  }
+
+  /** Refreshes the cached time. */
+  public void tick() {
+    currentTimeMillis = source.currentTimeMillis();
+  }
+
+  /** Stops the periodic refresh of the cached time. */
+  @Override
+  public void close() {
+    tickTask.cancel(false);
+  }
+}
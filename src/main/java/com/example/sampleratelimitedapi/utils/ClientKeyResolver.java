@@ -0,0 +1,126 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ *
+ *
+ * <h1>ClientKeyResolver</h1>
+ *
+ * <p>Resolves the identity of the client that sent a request, so that every client can be rate
+ * limited independently.
+ *
+ * <p>The identity is a hash of the {@value #API_KEY_HEADER} header, if it holds one of the known
+ * API keys, or the IP address of the client otherwise: a client sending a different unknown key on
+ * every request is still limited by its IP address. The API key itself is never part of the
+ * identity, since the identity is stored (e.g. in the usage table and in the rate limiter
+ * snapshots) and exposed by GET /usage. The identities of the known keys are hashed once, when the
+ * resolver is created, so resolving a request is a single map lookup.
+ *
+ * <p>The IP address is the remote address of the request, unless the request comes from one of the
+ * trusted proxies (e.g. a load balancer): then it is the last address of the {@value
+ * #FORWARDED_FOR_HEADER} header that is not a trusted proxy. The header is ignored when the request
+ * comes from any other address, so a client can not pick its own identity.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ClientKeyResolver {
+  // The header holding the API key of the client.
+  public static final String API_KEY_HEADER = "X-API-Key";
+
+  // The header holding the addresses a request was forwarded for, appended by every proxy.
+  public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+  // The amount of bytes of the SHA-256 digest kept in the hash of an API key.
+  private static final int HASH_BYTES = 16;
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  // The identity ("key:{hash}") of every known API key.
+  private final Map<String, String> apiKeyIdentities = new HashMap<>();
+
+  // The addresses of the proxies whose X-Forwarded-For header is trusted.
+  private final Set<String> trustedProxies;
+
+  /**
+   * Creates a ClientKeyResolver accepting the given API keys and trusting the given proxies.
+   *
+   * @param apiKeys The known API keys: any other key is ignored.
+   * @param trustedProxies The addresses of the proxies whose X-Forwarded-For header is trusted.
+   */
+  public ClientKeyResolver(Collection<String> apiKeys, Collection<String> trustedProxies) {
+    for (String apiKey : apiKeys)
+      if (!apiKey.isEmpty()) this.apiKeyIdentities.put(apiKey, "key:" + hash(apiKey));
+
+    this.trustedProxies = new HashSet<>(trustedProxies);
+  }
+
+  /**
+   * Returns the identity of the client that sent the request.
+   *
+   * @param request The request sent by the client.
+   * @return "key:{hash of the API key}" if the request has a known API key, "ip:{client address}"
+   *     otherwise.
+   */
+  public String resolve(HttpServletRequest request) {
+    String identity = apiKeyIdentities.get(request.getHeader(API_KEY_HEADER));
+
+    return identity != null ? identity : "ip:" + clientAddress(request);
+  }
+
+  /**
+   * Returns the one-way hash of an API key: the first {@value #HASH_BYTES} bytes of its SHA-256
+   * digest, in hex.
+   *
+   * @param apiKey The API key.
+   * @return the hash of the API key.
+   */
+  public static String hash(String apiKey) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256").digest(apiKey.getBytes(StandardCharsets.UTF_8));
+    } catch (NoSuchAlgorithmException e) {
+      // Every Java platform is required to support SHA-256
+      throw new IllegalStateException(e);
+    }
+
+    char[] hex = new char[HASH_BYTES * 2];
+    for (int i = 0; i < HASH_BYTES; i++) {
+      hex[i * 2] = HEX_DIGITS[(digest[i] >> 4) & 0xf];
+      hex[i * 2 + 1] = HEX_DIGITS[digest[i] & 0xf];
+    }
+
+    return new String(hex);
+  }
+
+  private String clientAddress(HttpServletRequest request) {
+    String address = request.getRemoteAddr();
+    if (!trustedProxies.contains(address)) return address;
+
+    String forwardedFor = request.getHeader(FORWARDED_FOR_HEADER);
+    if (forwardedFor == null) return address;
+
+    // Every proxy appends the address it received the request from: walk back from the last one,
+    // until an address that is not a trusted proxy (the ones before it may be forged)
+    String[] hops = forwardedFor.split(",");
+    for (int i = hops.length - 1; i >= 0; i--) {
+      String hop = hops[i].trim();
+      if (hop.isEmpty()) break;
+
+      address = hop;
+      if (!trustedProxies.contains(hop)) break;
+    }
+
+    return address;
+  }
+}
@@ -0,0 +1,24 @@
+package com.example.sampleratelimitedapi.utils;
+
+/**
+ *
+ *
+ * <h1>Clock</h1>
+ *
+ * <p>The source of the current time used by the {@link RateLimiter}.
+ *
+ * <p>Implementations must never go backwards, otherwise a request could be compared against
+ * requests made "in the future", falsely blocking or over-admitting traffic.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface Clock {
+  /**
+   * Returns the current time.
+   *
+   * @return the current time (in milliseconds).
+   */
+  long currentTimeMillis();
+}
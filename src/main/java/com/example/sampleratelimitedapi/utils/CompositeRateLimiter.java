@@ -0,0 +1,123 @@
+package com.example.sampleratelimitedapi.utils;
+
+/**
+ *
+ *
+ * <h1>CompositeRateLimiter</h1>
+ *
+ * <p>Checks a request against a chain of {@link RateLimiter} instances (e.g. per endpoint, per
+ * client and global), allowing it only if every level allows it.
+ *
+ * <p>The levels are checked in order: when a level rejects the request, the permits taken by the
+ * previous levels are refunded, so a rejected request never consumes the limit of any level. Every
+ * level is checked and refunded with its own lock-free operations, without a lock over the whole
+ * chain: a concurrent request may briefly see a permit that is about to be refunded as taken, which
+ * can only reject it, never over-admit it.
+ *
+ * <p>The levels should be ordered from the most specific to the most shared one, so that a client
+ * exceeding its own limit never touches the shared levels. A CompositeRateLimiter holds no state of
+ * its own, and is cheap enough to be created for every request.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class CompositeRateLimiter {
+  // The levels of the chain, from the most specific to the most shared one.
+  private final RateLimiter[] levels;
+
+  /**
+   * Creates a CompositeRateLimiter with the specified levels.
+   *
+   * @param levels The levels of the chain, from the most specific to the most shared one.
+   */
+  public CompositeRateLimiter(RateLimiter... levels) {
+    if (levels.length == 0) throw new IllegalArgumentException("levels must not be empty");
+
+    this.levels = levels;
+  }
+
+  /**
+   * This method is used to verify if a request is allowed by every level.
+   *
+   * @return boolean The request should be allowed or not.
+   */
+  public boolean isAllowed() {
+    for (int i = 0; i < levels.length; i++) {
+      if (!levels[i].isAllowed()) {
+        refund(i, 1L);
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * This method is used to verify if a request is allowed by every level, and to describe the state
+   * of the most restrictive level after the request.
+   *
+   * @return RateLimitDecision The decision of the level that rejected the request, or the one with
+   *     the fewest remaining requests if every level allowed it.
+   */
+  public RateLimitDecision tryAcquire() {
+    return tryAcquire(1L);
+  }
+
+  /**
+   * This method is used to verify if a request costing the given amount of permits is allowed by
+   * every level, and to describe the state of the most restrictive level after the request.
+   *
+   * @param permits The amount of permits the request costs.
+   * @return RateLimitDecision The decision of the level that rejected the request, or the one with
+   *     the fewest remaining requests if every level allowed it.
+   */
+  public RateLimitDecision tryAcquire(long permits) {
+    RateLimitDecision mostRestrictive = null;
+
+    for (int i = 0; i < levels.length; i++) {
+      RateLimitDecision decision = levels[i].tryAcquire(permits);
+
+      if (!decision.isAllowed()) {
+        refund(i, permits);
+        return decision;
+      }
+
+      if (mostRestrictive == null || decision.getRemaining() < mostRestrictive.getRemaining())
+        mostRestrictive = decision;
+    }
+
+    return mostRestrictive;
+  }
+
+  /**
+   * Returns the time (in milliseconds) left until a request would be allowed by every level,
+   * without recording a request.
+   *
+   * @return the time (in milliseconds) left until a request would be allowed, 0 if it would be
+   *     allowed now.
+   */
+  public long getWaitMs() {
+    long waitMs = 0L;
+
+    for (RateLimiter level : levels) waitMs = Math.max(waitMs, level.getWaitMs());
+
+    return waitMs;
+  }
+
+  /**
+   * Settles the cost of an allowed request on every level, once its actual cost is known (see
+   * {@link RateLimiter#settle(long, long)}).
+   *
+   * @param charged The amount of permits taken when the request was allowed.
+   * @param actual The actual cost of the request, in permits.
+   */
+  public void settle(long charged, long actual) {
+    for (RateLimiter level : levels) level.settle(charged, actual);
+  }
+
+  // Gives back the permits taken by the levels before the one that rejected the request
+  private void refund(int rejectedLevel, long permits) {
+    for (int i = 0; i < rejectedLevel; i++) levels[i].refund(permits);
+  }
+}
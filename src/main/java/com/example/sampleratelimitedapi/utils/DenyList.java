@@ -0,0 +1,174 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *
+ *
+ * <h1>DenyList</h1>
+ *
+ * <p>A compact list of the clients that are blocked (e.g. for __RateLimiter.API_BLOCKED_TIME_MS__)
+ * until a given time, so that their requests can be turned away with a single cheap probe, before
+ * looking up their RateLimiter instances.
+ *
+ * <p>The clients are identified by a 64-bit fingerprint of their key. The list is an open
+ * addressing table of fixed size: every entry is a (fingerprint, denied until) pair of longs, and a
+ * fingerprint can only be stored in {@value #MAX_PROBES} consecutive slots (a single cache line),
+ * so a lookup reads at most {@value #MAX_PROBES} pairs and never allocates nor blocks. The entries
+ * expire by time: an expired entry is simply overwritten by the next client denied.
+ *
+ * <p>The list is best effort. When the slots of a fingerprint are all taken, the entry expiring
+ * first is dropped, and concurrent writes to the same slot may lose a denial: a client missing from
+ * the list still goes through its RateLimiter, which rejects it anyway. A client is only denied by
+ * mistake if another key has the same 64-bit fingerprint.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class DenyList {
+  // The amount of consecutive slots in which a fingerprint can be stored.
+  private static final int MAX_PROBES = 4;
+
+  // The source of the current time.
+  private final Clock clock;
+
+  // The (fingerprint, denied until) pairs: a fingerprint of 0 means the slot was never used.
+  private final AtomicLongArray slots;
+
+  // The amount of slots minus one (a power of two minus one).
+  private final int mask;
+
+  /**
+   * Creates a DenyList able to hold about {capacity} clients at the same time.
+   *
+   * @param capacity The amount of clients the list should be able to hold at the same time.
+   * @param clock The source of the current time.
+   */
+  public DenyList(int capacity, Clock clock) {
+    if (capacity < 1 || capacity > (1 << 28))
+      throw new IllegalArgumentException("capacity must be between 1 and 2^28");
+
+    // Keep the table at most half full, so that the probes rarely run out of slots
+    int size = MAX_PROBES;
+    while (size < capacity * 2) size <<= 1;
+
+    this.clock = clock;
+    this.slots = new AtomicLongArray(size * 2);
+    this.mask = size - 1;
+  }
+
+  /**
+   * Returns the fingerprint of a key (e.g. the client identity).
+   *
+   * @param key The key.
+   * @return the fingerprint of the key, never 0.
+   */
+  public static long fingerprint(String key) {
+    // FNV-1a over the characters of the key
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+
+    return mix(hash);
+  }
+
+  /**
+   * Returns the fingerprint of a key within a scope (e.g. the client identity, for an endpoint),
+   * without concatenating them.
+   *
+   * @param fingerprint The fingerprint of the key.
+   * @param scope The fingerprint of the scope.
+   * @return the fingerprint of the key within the scope, never 0.
+   */
+  public static long fingerprint(long fingerprint, long scope) {
+    return mix(fingerprint * 31 + scope);
+  }
+
+  /**
+   * Denies the client with the given fingerprint until the given time. If the client is already
+   * denied, it is denied until the latest of the two times.
+   *
+   * @param fingerprint The fingerprint of the client.
+   * @param deniedUntilMs The time (in milliseconds) the client is denied until.
+   */
+  public void deny(long fingerprint, long deniedUntilMs) {
+    if (deniedUntilMs <= this.clock.currentTimeMillis()) return;
+
+    int victim = -1;
+    long victimFingerprint = 0L;
+    long victimUntilMs = Long.MAX_VALUE;
+
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      int index = indexOf(fingerprint, probe);
+      long current = this.slots.get(index);
+      long untilMs = this.slots.get(index + 1);
+
+      if (current == fingerprint) {
+        this.slots.accumulateAndGet(index + 1, deniedUntilMs, Math::max);
+        return;
+      }
+
+      // Replace the slot that expires first (the free and the expired ones first of all)
+      if (untilMs < victimUntilMs) {
+        victim = index;
+        victimFingerprint = current;
+        victimUntilMs = untilMs;
+      }
+    }
+
+    // Expire the slot before handing it over, so the new fingerprint never reads the old time
+    if (!this.slots.compareAndSet(victim + 1, victimUntilMs, 0L)) return;
+    if (!this.slots.compareAndSet(victim, victimFingerprint, fingerprint)) return;
+
+    this.slots.set(victim + 1, deniedUntilMs);
+  }
+
+  /**
+   * Returns how long the client with the given fingerprint is still denied. The time is only read
+   * if the client is in the list.
+   *
+   * @param fingerprint The fingerprint of the client.
+   * @return the time (in milliseconds) the client is still denied, 0 if it is not denied.
+   */
+  public long getDeniedMs(long fingerprint) {
+    for (int probe = 0; probe < MAX_PROBES; probe++) {
+      int index = indexOf(fingerprint, probe);
+
+      if (this.slots.get(index) != fingerprint) continue;
+
+      long untilMs = this.slots.get(index + 1);
+
+      // The slot was handed over to another client while we were reading it
+      if (this.slots.get(index) != fingerprint) return 0L;
+
+      return Math.max(0L, untilMs - this.clock.currentTimeMillis());
+    }
+
+    return 0L;
+  }
+
+  /** Removes every client from the list. */
+  public void clear() {
+    // Expire every slot: the fingerprints are overwritten by the next clients denied
+    for (int index = 1; index < this.slots.length(); index += 2) this.slots.set(index, 0L);
+  }
+
+  // The index of the fingerprint of the given probe (the denied until time is the next one)
+  private int indexOf(long fingerprint, int probe) {
+    return (int) (((fingerprint & ~(MAX_PROBES - 1)) + probe) & this.mask) * 2;
+  }
+
+  // Spreads the bits of the hash (the finalizer of MurmurHash3), never returning 0
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+
+    return hash == 0 ? 1L : hash;
+  }
+}
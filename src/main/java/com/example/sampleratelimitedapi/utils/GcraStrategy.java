@@ -0,0 +1,134 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ *
+ * <h1>GcraStrategy</h1>
+ *
+ * <p>A {@link RateLimitStrategy} based on the Generic Cell Rate Algorithm: requests are expected to
+ * arrive every M/N milliseconds (the emission interval), and a request is rejected if it arrives so
+ * early that more than N requests would fall within M milliseconds. Bursts of up to N requests are
+ * allowed.
+ *
+ * <p>The only state is the "theoretical arrival time" of the next request, a single long updated
+ * with a CAS: this strategy needs O(1) memory and never allocates.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class GcraStrategy implements RateLimitStrategy {
+  // The time between two requests (in nanoseconds), when requests are evenly spaced.
+  private final long emissionIntervalNs;
+
+  // The interval (in nanoseconds) in which the number of max requests is valid.
+  private final long timeIntervalNs;
+
+  // The maximum amount of requests allowed for the given interval.
+  private final long maxRequests;
+
+  // The theoretical arrival time (in nanoseconds, fits a long until the year 2262) of the next
+  // request.
+  private final AtomicLong theoreticalArrivalNs = new AtomicLong(0L);
+
+  /**
+   * Creates a GcraStrategy with the specified maxRequests and timeIntervalMs values.
+   *
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) in which the number of max requests is
+   *     valid.
+   */
+  public GcraStrategy(long maxRequests, long timeIntervalMs) {
+    if (maxRequests < 1) throw new IllegalArgumentException("maxRequests must be positive");
+
+    this.maxRequests = maxRequests;
+    this.timeIntervalNs = timeIntervalMs * 1000 * 1000L;
+    this.emissionIntervalNs = Math.max(1L, timeIntervalNs / maxRequests);
+  }
+
+  @Override
+  public boolean tryAcquire(long currentTimeMillis, long permits) {
+    long now = Math.max(0L, currentTimeMillis) * 1000 * 1000L;
+
+    while (true) {
+      long current = theoreticalArrivalNs.get();
+      long next = Math.max(current, now) + permits * emissionIntervalNs;
+
+      // The request would exceed the burst of {maxRequests} requests
+      if (next - now > timeIntervalNs) return false;
+
+      if (theoreticalArrivalNs.compareAndSet(current, next)) return true;
+    }
+  }
+
+  @Override
+  public long getLimit() {
+    return maxRequests;
+  }
+
+  @Override
+  public long getRemaining(long currentTimeMillis) {
+    long now = Math.max(0L, currentTimeMillis) * 1000 * 1000L;
+    long backlog = Math.max(theoreticalArrivalNs.get(), now) - now;
+
+    return Math.max(0L, Math.min(maxRequests, (timeIntervalNs - backlog) / emissionIntervalNs));
+  }
+
+  @Override
+  public long getResetMs(long currentTimeMillis) {
+    long now = Math.max(0L, currentTimeMillis) * 1000 * 1000L;
+    long backlog = Math.max(theoreticalArrivalNs.get(), now) - now;
+
+    return (backlog + 999999L) / (1000 * 1000L);
+  }
+
+  @Override
+  public long getWaitMs(long currentTimeMillis) {
+    long now = Math.max(0L, currentTimeMillis) * 1000 * 1000L;
+    long next = Math.max(theoreticalArrivalNs.get(), now) + emissionIntervalNs;
+
+    return (Math.max(0L, next - now - timeIntervalNs) + 999999L) / (1000 * 1000L);
+  }
+
+  @Override
+  public void consume(long currentTimeMillis, long permits) {
+    long now = Math.max(0L, currentTimeMillis) * 1000 * 1000L;
+
+    while (true) {
+      long current = theoreticalArrivalNs.get();
+
+      // The debt never exceeds one whole interval
+      long next =
+          Math.min(now + 2 * timeIntervalNs, Math.max(current, now) + permits * emissionIntervalNs);
+
+      if (theoreticalArrivalNs.compareAndSet(current, next)) return;
+    }
+  }
+
+  @Override
+  public void refund(long currentTimeMillis, long permits) {
+    long now = Math.max(0L, currentTimeMillis) * 1000 * 1000L;
+
+    while (true) {
+      long current = theoreticalArrivalNs.get();
+
+      // Nothing to give back: the next request would be allowed anyway
+      if (current <= now) return;
+
+      if (theoreticalArrivalNs.compareAndSet(
+          current, Math.max(now, current - permits * emissionIntervalNs))) return;
+    }
+  }
+
+  @Override
+  public void reset() {
+    theoreticalArrivalNs.set(0L);
+  }
+
+  @Override
+  public RateLimitStrategy newInstance() {
+    return new GcraStrategy(maxRequests, timeIntervalNs / (1000 * 1000L));
+  }
+}
@@ -0,0 +1,81 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ *
+ * <h1>InMemoryQuotaStore</h1>
+ *
+ * <p>An embedded, in-process implementation of the {@link QuotaStore} interface.
+ *
+ * <p>Every node sharing the same instance behaves as a cluster sharing a remote store, so the
+ * leasing logic can be run (and tested) on a single machine.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class InMemoryQuotaStore implements QuotaStore {
+  // The amount of keys above which the expired windows are evicted.
+  private static final int EVICTION_THRESHOLD = 10 * 1000;
+
+  // The current fixed window of every key.
+  private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+  @Override
+  public long lease(
+      String key, long permits, long maxRequests, long timeIntervalMs, long currentTimeMillis) {
+    long index = currentTimeMillis / timeIntervalMs;
+
+    if (windows.size() > EVICTION_THRESHOLD) evictExpired(currentTimeMillis);
+
+    Window window =
+        windows.compute(
+            key,
+            (windowKey, current) ->
+                current == null || current.index < index
+                    ? new Window(index, (index + 1) * timeIntervalMs)
+                    : current);
+
+    while (true) {
+      long used = window.used.get();
+      long granted = Math.min(permits, maxRequests - used);
+
+      if (granted <= 0) return 0L;
+
+      if (window.used.compareAndSet(used, used + granted)) return granted;
+    }
+  }
+
+  /**
+   * Returns the amount of keys currently held by the store.
+   *
+   * @return the amount of keys currently held by the store.
+   */
+  public int size() {
+    return windows.size();
+  }
+
+  private void evictExpired(long currentTimeMillis) {
+    windows.values().removeIf(window -> window.endMs <= currentTimeMillis);
+  }
+
+  private static class Window {
+    // The index of the fixed window (the start time divided by timeIntervalMs).
+    private final long index;
+
+    // The time (in milliseconds) at which this fixed window ends.
+    private final long endMs;
+
+    // The amount of permits leased in this fixed window.
+    private final AtomicLong used = new AtomicLong(0L);
+
+    private Window(long index, long endMs) {
+      this.index = index;
+      this.endMs = endMs;
+    }
+  }
+}
@@ -0,0 +1,216 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ *
+ * <h1>LeasedQuotaStrategy</h1>
+ *
+ * <p>A {@link RateLimitStrategy} enforcing a limit across a whole cluster: max N requests per fixed
+ * window of M milliseconds, shared by every node through a {@link QuotaStore}.
+ *
+ * <p>Instead of calling the store for every request, the node leases a batch of {leaseSize} permits
+ * and spends them locally with a CAS. When the local permits run out, a single thread leases the
+ * next batch while the others wait for it. Leftover permits are discarded when the window ends.
+ *
+ * <p>Since the store never grants more than N permits per window, the cluster never allows more
+ * than N requests per window. Permits leased but not spent by a node are lost, so the cluster may
+ * allow up to (nodes - 1) * leaseSize requests less than N: smaller leases converge more tightly on
+ * the global limit, at the cost of more calls to the store.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class LeasedQuotaStrategy implements RateLimitStrategy {
+  // The store shared by every node of the cluster.
+  private final QuotaStore quotaStore;
+
+  // The key (e.g. the endpoint and the client identity) the permits belong to.
+  private final String key;
+
+  // The maximum amount of requests allowed for the given interval, across the cluster.
+  private final long maxRequests;
+
+  // The interval (in milliseconds) of the fixed windows.
+  private final long timeIntervalMs;
+
+  // The amount of permits leased from the store at once.
+  private final long leaseSize;
+
+  // The permits leased from the store, not spent yet.
+  private final AtomicLong permits = new AtomicLong(0L);
+
+  // The index of the fixed window the permits belong to.
+  private volatile long leaseIndex = -1L;
+
+  // The index of the last fixed window for which the store had no permits left.
+  private volatile long exhaustedIndex = -1L;
+
+  /**
+   * Creates a LeasedQuotaStrategy leasing a tenth of maxRequests at once.
+   *
+   * @param quotaStore The store shared by every node of the cluster.
+   * @param key The key (e.g. the endpoint and the client identity) the permits belong to.
+   * @param maxRequests The maximum amount of requests allowed for the given interval, across the
+   *     cluster.
+   * @param timeIntervalMs The interval (in milliseconds) of the fixed windows.
+   */
+  public LeasedQuotaStrategy(
+      QuotaStore quotaStore, String key, long maxRequests, long timeIntervalMs) {
+    this(quotaStore, key, maxRequests, timeIntervalMs, Math.max(1L, maxRequests / 10));
+  }
+
+  /**
+   * Creates a LeasedQuotaStrategy with the specified leaseSize.
+   *
+   * @param quotaStore The store shared by every node of the cluster.
+   * @param key The key (e.g. the endpoint and the client identity) the permits belong to.
+   * @param maxRequests The maximum amount of requests allowed for the given interval, across the
+   *     cluster.
+   * @param timeIntervalMs The interval (in milliseconds) of the fixed windows.
+   * @param leaseSize The amount of permits leased from the store at once.
+   */
+  public LeasedQuotaStrategy(
+      QuotaStore quotaStore, String key, long maxRequests, long timeIntervalMs, long leaseSize) {
+    if (leaseSize < 1) throw new IllegalArgumentException("leaseSize must be positive");
+
+    this.quotaStore = quotaStore;
+    this.key = key;
+    this.maxRequests = maxRequests;
+    this.timeIntervalMs = timeIntervalMs;
+    this.leaseSize = Math.min(leaseSize, maxRequests);
+  }
+
+  @Override
+  public boolean tryAcquire(long currentTimeMillis, long permits) {
+    // Requests arriving late (or from a clock that went backwards) count in the current window
+    long index = Math.max(currentTimeMillis / timeIntervalMs, leaseIndex);
+
+    while (true) {
+      // Another thread may have leased the permits of a later window in the meantime
+      index = Math.max(index, leaseIndex);
+
+      if (leaseIndex == index) {
+        long available = this.permits.get();
+
+        if (available >= permits) {
+          if (this.permits.compareAndSet(available, available - permits)) return true;
+          continue;
+        }
+      }
+
+      // The store has no permits left for this window: do not ask again
+      if (exhaustedIndex == index) return false;
+
+      if (!lease(index, currentTimeMillis, permits)) return false;
+    }
+  }
+
+  /**
+   * Takes the given amount of permits from the local ones, which may become negative: the debt is
+   * paid back by the next leases of the same window, and forgotten when the window ends.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @param permits The amount of permits to take.
+   */
+  @Override
+  public void consume(long currentTimeMillis, long permits) {
+    // The permits were leased for a window that has already ended
+    if (leaseIndex < currentTimeMillis / timeIntervalMs) return;
+
+    this.permits.addAndGet(-Math.min(permits, maxRequests));
+  }
+
+  @Override
+  public long getLimit() {
+    return maxRequests;
+  }
+
+  /**
+   * Returns the permits leased by this node and not spent yet: the rest of the cluster may still
+   * have more.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return the permits leased by this node and not spent yet.
+   */
+  @Override
+  public long getRemaining(long currentTimeMillis) {
+    return leaseIndex == currentTimeMillis / timeIntervalMs ? Math.max(0L, permits.get()) : 0L;
+  }
+
+  /**
+   * The permits taken from the store are already counted by the store, which is shared by any
+   * strategy with the same key: there is nothing to carry over.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return 0.
+   */
+  @Override
+  public long getUsed(long currentTimeMillis) {
+    return 0L;
+  }
+
+  @Override
+  public long getResetMs(long currentTimeMillis) {
+    long index = Math.max(currentTimeMillis / timeIntervalMs, leaseIndex);
+    return Math.max(0L, (index + 1) * timeIntervalMs - currentTimeMillis);
+  }
+
+  @Override
+  public long getWaitMs(long currentTimeMillis) {
+    long index = Math.max(currentTimeMillis / timeIntervalMs, leaseIndex);
+
+    // The store has no permits left: wait for the next window
+    if (exhaustedIndex == index && !(leaseIndex == index && permits.get() > 0))
+      return Math.max(0L, (index + 1) * timeIntervalMs - currentTimeMillis);
+
+    return 0L;
+  }
+
+  @Override
+  public void refund(long currentTimeMillis, long permits) {
+    // The permits were leased for a window that has already ended
+    if (leaseIndex < currentTimeMillis / timeIntervalMs) return;
+
+    this.permits.addAndGet(permits);
+  }
+
+  @Override
+  public void reset() {
+    permits.set(0L);
+  }
+
+  @Override
+  public RateLimitStrategy newInstance() {
+    return new LeasedQuotaStrategy(quotaStore, key, maxRequests, timeIntervalMs, leaseSize);
+  }
+
+  private synchronized boolean lease(long index, long currentTimeMillis, long needed) {
+    // Another thread leased new permits while we were waiting
+    if (leaseIndex == index && permits.get() >= needed) return true;
+
+    // Another thread moved on to a later window while we were waiting: never go back to ours
+    if (leaseIndex > index) return true;
+
+    // Discard the permits of the previous windows
+    if (leaseIndex != index) {
+      permits.set(0L);
+      leaseIndex = index;
+    }
+
+    long missing = needed - permits.get();
+    long granted =
+        quotaStore.lease(
+            key, Math.max(leaseSize, missing), maxRequests, timeIntervalMs, currentTimeMillis);
+
+    if (granted == 0) {
+      exhaustedIndex = index;
+      return false;
+    }
+
+    permits.addAndGet(granted);
+    return true;
+  }
+}
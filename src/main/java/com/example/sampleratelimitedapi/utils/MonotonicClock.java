@@ -0,0 +1,34 @@
+package com.example.sampleratelimitedapi.utils;
+
+/**
+ *
+ *
+ * <h1>MonotonicClock</h1>
+ *
+ * <p>A {@link Clock} based on {@link System#nanoTime()}, which is not affected by the adjustments
+ * of the system clock (e.g. NTP).
+ *
+ * <p>The time is anchored to the system clock when the class is loaded, and then only moves forward
+ * at the rate of System.nanoTime(): after an adjustment, it may drift away from the system clock.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public final class MonotonicClock implements Clock {
+  // The clock shared by every RateLimiter.
+  public static final MonotonicClock INSTANCE = new MonotonicClock();
+
+  // The system time (in milliseconds) when the clock was created.
+  private final long originMs = System.currentTimeMillis();
+
+  // The value of System.nanoTime() when the clock was created.
+  private final long originNs = System.nanoTime();
+
+  private MonotonicClock() {}
+
+  @Override
+  public long currentTimeMillis() {
+    return originMs + (System.nanoTime() - originNs) / (1000 * 1000L);
+  }
+}
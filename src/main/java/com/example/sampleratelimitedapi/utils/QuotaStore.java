@@ -0,0 +1,33 @@
+package com.example.sampleratelimitedapi.utils;
+
+/**
+ *
+ *
+ * <h1>QuotaStore</h1>
+ *
+ * <p>The QuotaStore interface defines a store shared by every node of a cluster, holding how many
+ * requests each key has been allowed in the current fixed window (of M milliseconds) across the
+ * whole cluster.
+ *
+ * <p>Nodes do not call the store for every request: they lease a batch of permits (see {@link
+ * LeasedQuotaStrategy}) and spend them locally.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface QuotaStore {
+  /**
+   * Leases up to {permits} permits for the given key, from the fixed window containing
+   * currentTimeMillis. The store never grants more than {maxRequests} permits per key and window.
+   *
+   * @param key The key (e.g. the endpoint and the client identity) the permits belong to.
+   * @param permits The amount of permits requested.
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) of the fixed windows.
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return the amount of permits granted, between 0 and {permits}.
+   */
+  long lease(
+      String key, long permits, long maxRequests, long timeIntervalMs, long currentTimeMillis);
+}
@@ -0,0 +1,68 @@
+package com.example.sampleratelimitedapi.utils;
+
+/**
+ *
+ *
+ * <h1>RateLimitAlgorithm</h1>
+ *
+ * <p>The algorithms available to a {@link RateLimiter}, each one creating the corresponding {@link
+ * RateLimitStrategy}.
+ *
+ * <ul>
+ *   <li>SLIDING_LOG - Exact, keeps the time of the last N requests ({@link SlidingLogStrategy})
+ *   <li>TOKEN_BUCKET - O(1) memory, refills N tokens every M milliseconds ({@link
+ *       TokenBucketStrategy})
+ *   <li>GCRA - O(1) memory, spaces requests M/N milliseconds apart, allowing bursts of N ({@link
+ *       GcraStrategy})
+ *   <li>SLIDING_WINDOW_COUNTER - O(1) memory, approximates the sliding log with two counters
+ *       ({@link SlidingWindowCounterStrategy})
+ *   <li>STRIPED_TOKEN_BUCKET - A token bucket spread across one stripe per core, for the limits
+ *       shared by every request ({@link StripedTokenBucketStrategy})
+ * </ul>
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public enum RateLimitAlgorithm {
+  SLIDING_LOG {
+    @Override
+    public RateLimitStrategy create(long maxRequests, long timeIntervalMs) {
+      return new SlidingLogStrategy(maxRequests, timeIntervalMs);
+    }
+  },
+  TOKEN_BUCKET {
+    @Override
+    public RateLimitStrategy create(long maxRequests, long timeIntervalMs) {
+      return new TokenBucketStrategy(maxRequests, timeIntervalMs);
+    }
+  },
+  GCRA {
+    @Override
+    public RateLimitStrategy create(long maxRequests, long timeIntervalMs) {
+      return new GcraStrategy(maxRequests, timeIntervalMs);
+    }
+  },
+  SLIDING_WINDOW_COUNTER {
+    @Override
+    public RateLimitStrategy create(long maxRequests, long timeIntervalMs) {
+      return new SlidingWindowCounterStrategy(maxRequests, timeIntervalMs);
+    }
+  },
+  STRIPED_TOKEN_BUCKET {
+    @Override
+    public RateLimitStrategy create(long maxRequests, long timeIntervalMs) {
+      return new StripedTokenBucketStrategy(maxRequests, timeIntervalMs);
+    }
+  };
+
+  /**
+   * Creates a RateLimitStrategy allowing max N requests in M milliseconds.
+   *
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) in which the number of max requests is
+   *     valid.
+   * @return a new RateLimitStrategy implementing this algorithm.
+   */
+  public abstract RateLimitStrategy create(long maxRequests, long timeIntervalMs);
+}
@@ -0,0 +1,60 @@
+package com.example.sampleratelimitedapi.utils;
+
+/**
+ *
+ *
+ * <h1>RateLimitDecision</h1>
+ *
+ * <p>The outcome of {@link RateLimiter#tryAcquire()}: whether the request is allowed, and the state
+ * of the limit that the client should be told about.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RateLimitDecision {
+  // The request should be allowed or not.
+  private final boolean allowed;
+
+  // The maximum amount of requests allowed for the given interval.
+  private final long limit;
+
+  // How many more requests would be allowed right now.
+  private final long remaining;
+
+  // The time (in milliseconds) left until the whole limit is available again.
+  private final long resetMs;
+
+  // The time (in milliseconds) the client should wait before retrying (0 if the request is
+  // allowed).
+  private final long retryAfterMs;
+
+  public RateLimitDecision(
+      boolean allowed, long limit, long remaining, long resetMs, long retryAfterMs) {
+    this.allowed = allowed;
+    this.limit = limit;
+    this.remaining = remaining;
+    this.resetMs = resetMs;
+    this.retryAfterMs = retryAfterMs;
+  }
+
+  public boolean isAllowed() {
+    return allowed;
+  }
+
+  public long getLimit() {
+    return limit;
+  }
+
+  public long getRemaining() {
+    return remaining;
+  }
+
+  public long getResetMs() {
+    return resetMs;
+  }
+
+  public long getRetryAfterMs() {
+    return retryAfterMs;
+  }
+}
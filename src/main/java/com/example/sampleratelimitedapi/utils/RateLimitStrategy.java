@@ -0,0 +1,120 @@
+package com.example.sampleratelimitedapi.utils;
+
+/**
+ *
+ *
+ * <h1>RateLimitStrategy</h1>
+ *
+ * <p>The RateLimitStrategy interface defines the algorithm that a {@link RateLimiter} uses to
+ * decide if a request is allowed.
+ *
+ * <p>Implementations must be thread-safe, since the same instance is called concurrently by every
+ * request of a client.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public interface RateLimitStrategy {
+  /**
+   * Records a request made at the given time, if the request is allowed.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return boolean The request should be allowed or not.
+   */
+  default boolean tryAcquire(long currentTimeMillis) {
+    return tryAcquire(currentTimeMillis, 1L);
+  }
+
+  /**
+   * Records a request costing the given amount of permits, if every permit is available.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @param permits The amount of permits the request costs.
+   * @return boolean The request should be allowed or not.
+   */
+  boolean tryAcquire(long currentTimeMillis, long permits);
+
+  /**
+   * Takes the given amount of permits even if they are not available, when a request turns out to
+   * cost more than it was charged. The missing permits become a debt paid back by the next
+   * requests, up to one whole limit.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @param permits The amount of permits to take.
+   */
+  void consume(long currentTimeMillis, long permits);
+
+  /**
+   * Returns the maximum amount of requests allowed for the given interval.
+   *
+   * @return the maximum amount of requests allowed for the given interval.
+   */
+  long getLimit();
+
+  /**
+   * Returns how many more requests would be allowed at the given time.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return the amount of requests that would still be allowed.
+   */
+  long getRemaining(long currentTimeMillis);
+
+  /**
+   * Returns how many permits are taken at the given time, so that they can be carried over to
+   * another strategy when the limit is reconfigured (see {@link RateLimiter#reconfigure}).
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return the amount of permits taken.
+   */
+  default long getUsed(long currentTimeMillis) {
+    return Math.max(0L, getLimit() - getRemaining(currentTimeMillis));
+  }
+
+  /**
+   * Returns the time (in milliseconds) left until the whole limit is available again.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return the time (in milliseconds) left until the whole limit is available again.
+   */
+  long getResetMs(long currentTimeMillis);
+
+  /**
+   * Returns the time (in milliseconds) left until a request would be allowed, without recording a
+   * request. The time may be an estimate: a request should still call {@link #tryAcquire(long)}.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return the time (in milliseconds) left until a request would be allowed, 0 if it would be
+   *     allowed now.
+   */
+  long getWaitMs(long currentTimeMillis);
+
+  /**
+   * Gives back a permit taken by {@link #tryAcquire(long)}, when the request is rejected by another
+   * limit after all. A refund may be lost (e.g. if the permit belongs to a window that has already
+   * ended), which only makes the limit stricter.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the refund.
+   */
+  default void refund(long currentTimeMillis) {
+    refund(currentTimeMillis, 1L);
+  }
+
+  /**
+   * Gives back the given amount of permits (see {@link #refund(long)}).
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the refund.
+   * @param permits The amount of permits to give back.
+   */
+  void refund(long currentTimeMillis, long permits);
+
+  /** Forgets every previous request, as if the strategy had just been created. */
+  void reset();
+
+  /**
+   * Creates a strategy with the same settings, that has not recorded any request yet.
+   *
+   * @return a new RateLimitStrategy.
+   */
+  RateLimitStrategy newInstance();
+}
@@ -1,7 +1,7 @@
 package com.example.sampleratelimitedapi.utils;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  *
@@ -10,35 +10,42 @@ import java.util.Queue;
  *
  * <p>A simple implementation of a Rate Limiter (Max N requests in M milliseconds).
  *
- * <p>This class keeps reference of the timing of the last N requests using a Queue: when we reach
- * the Nth request, if the time difference between the 0th and the Nth requests is less than M, then
- * the request gets blocked. Also, that endpoint becomes unavailable for
- * __RateLimiter.API_BLOCKED_TIME_MS__.
+ * <p>This class delegates the decision to a {@link RateLimitStrategy} (by default a {@link
+ * SlidingLogStrategy}, which keeps reference of the timing of the last N requests): when the
+ * strategy rejects a request, the endpoint becomes unavailable for the blocking time
+ * (__RateLimiter.API_BLOCKED_TIME_MS__ by default), and the strategy starts over.
+ *
+ * <p>The strategy and the blocking time can be replaced at runtime with {@link #reconfigure}: the
+ * permits taken are carried over to the new strategy, and the requests are never paused.
+ *
+ * <p>The time is read from a {@link Clock}: by default a {@link MonotonicClock}, so the adjustments
+ * of the system clock never falsely block nor over-admit traffic.
+ *
+ * <p>The RateLimiter is thread-safe and lock-free.
  *
  * @author Marco Giuliani
  * @version 1.0
  * @since 2020-02-23
  */
 public class RateLimiter {
-  // The interval (in millisecond) in which the endpoint will be unavailable.
+  // The default interval (in millisecond) in which the endpoint will be unavailable.
   public static final Long API_BLOCKED_TIME_MS = 5 * 1000L;
 
-  // The maximum amount of requests allowed for the given interval.
-  private Long maxRequests;
+  // The algorithm deciding if a request is allowed.
+  private final AtomicReference<RateLimitStrategy> strategy;
 
-  // If the endpoint gets "blocked", this is time when the endpoint should be "unblocked"
-  private Long nextRequestAtMs = 0L;
+  // The interval (in millisecond) in which the endpoint will be unavailable.
+  private volatile long blockedTimeMs;
 
-  // The interval (in milliseconds) in which the number of max requests is valid.
-  private Long timeIntervalMs;
+  // The source of the current time.
+  private final Clock clock;
 
-  // The Queue that holds the time of the last {maxRequest} requests
-  private Queue<Long> queue = new LinkedList<>();
+  // If the endpoint gets "blocked", this is time when the endpoint should be "unblocked"
+  private final AtomicLong nextRequestAtMs = new AtomicLong(0L);
 
   /** Creates a RateLimiter with the default maxRequests (50) and timeIntervalMs (10000) values. */
   public RateLimiter() {
-    this.maxRequests = 50L;
-    this.timeIntervalMs = 10 * 1000L;
+    this(50L, 10 * 1000L);
   }
 
   /**
@@ -49,8 +56,53 @@ public class RateLimiter {
    *     valid.
    */
   public RateLimiter(Long maxRequests, Long timeIntervalMs) {
-    this.maxRequests = maxRequests;
-    this.timeIntervalMs = timeIntervalMs;
+    this(maxRequests, timeIntervalMs, RateLimitAlgorithm.SLIDING_LOG);
+  }
+
+  /**
+   * Creates a RateLimiter with the specified maxRequests and timeIntervalMs values, using the
+   * specified algorithm.
+   *
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) in which the number of max requests is
+   *     valid.
+   * @param algorithm The algorithm deciding if a request is allowed.
+   */
+  public RateLimiter(Long maxRequests, Long timeIntervalMs, RateLimitAlgorithm algorithm) {
+    this(algorithm.create(maxRequests, timeIntervalMs));
+  }
+
+  /**
+   * Creates a RateLimiter using the specified strategy.
+   *
+   * @param strategy The algorithm deciding if a request is allowed.
+   */
+  public RateLimiter(RateLimitStrategy strategy) {
+    this(strategy, MonotonicClock.INSTANCE);
+  }
+
+  /**
+   * Creates a RateLimiter using the specified strategy and clock.
+   *
+   * @param strategy The algorithm deciding if a request is allowed.
+   * @param clock The source of the current time.
+   */
+  public RateLimiter(RateLimitStrategy strategy, Clock clock) {
+    this(strategy, clock, API_BLOCKED_TIME_MS);
+  }
+
+  /**
+   * Creates a RateLimiter using the specified strategy, clock and blocking time.
+   *
+   * @param strategy The algorithm deciding if a request is allowed.
+   * @param clock The source of the current time.
+   * @param blockedTimeMs The interval (in milliseconds) in which the endpoint will be unavailable
+   *     once the limit is exceeded.
+   */
+  public RateLimiter(RateLimitStrategy strategy, Clock clock, long blockedTimeMs) {
+    this.strategy = new AtomicReference<>(strategy);
+    this.clock = clock;
+    this.blockedTimeMs = blockedTimeMs;
   }
 
   /**
@@ -60,35 +112,170 @@ public class RateLimiter {
    * @return boolean The request should be allowed or not.
    */
   public boolean isAllowed() {
-    Long currentTimeMillis = System.currentTimeMillis();
+    return acquire(this.strategy.get(), this.clock.currentTimeMillis(), 1L);
+  }
+
+  /**
+   * This method is used to verify if a request is allowed based on the limit of requests per ms
+   * that we applied, and to describe the state of the limit after the request.
+   *
+   * @return RateLimitDecision The request should be allowed or not, and the state of the limit.
+   */
+  public RateLimitDecision tryAcquire() {
+    return tryAcquire(1L);
+  }
+
+  /**
+   * This method is used to verify if a request costing the given amount of permits is allowed based
+   * on the limit of requests per ms that we applied, and to describe the state of the limit after
+   * the request.
+   *
+   * @param permits The amount of permits the request costs.
+   * @return RateLimitDecision The request should be allowed or not, and the state of the limit.
+   */
+  public RateLimitDecision tryAcquire(long permits) {
+    long currentTimeMillis = this.clock.currentTimeMillis();
+    RateLimitStrategy strategy = this.strategy.get();
+    long limit = strategy.getLimit();
+
+    if (acquire(strategy, currentTimeMillis, permits))
+      return new RateLimitDecision(
+          true,
+          limit,
+          strategy.getRemaining(currentTimeMillis),
+          strategy.getResetMs(currentTimeMillis),
+          0L);
+
+    // The whole limit is available again once the endpoint is "unblocked"
+    long blockedMs = Math.max(0L, this.nextRequestAtMs.get() - currentTimeMillis);
+    return new RateLimitDecision(false, limit, 0L, blockedMs, blockedMs);
+  }
+
+  /**
+   * Returns the time (in milliseconds) left until a request would be allowed, without recording a
+   * request.
+   *
+   * @return the time (in milliseconds) left until a request would be allowed, 0 if it would be
+   *     allowed now.
+   */
+  public long getWaitMs() {
+    long currentTimeMillis = this.clock.currentTimeMillis();
+    long blockedMs = this.nextRequestAtMs.get() - currentTimeMillis;
+
+    if (blockedMs > 0) return blockedMs;
+
+    return this.strategy.get().getWaitMs(currentTimeMillis);
+  }
+
+  /**
+   * Returns the time the endpoint is blocked until, once its limit has been exceeded.
+   *
+   * @return the time (in milliseconds) the endpoint is blocked until, in the past if it is not
+   *     blocked.
+   */
+  public long getBlockedUntilMs() {
+    return this.nextRequestAtMs.get();
+  }
+
+  /**
+   * Gives back the permit taken by an allowed request, when the request is rejected by another
+   * limit after all (see {@link CompositeRateLimiter}).
+   */
+  public void refund() {
+    refund(1L);
+  }
+
+  /**
+   * Gives back the permits taken by an allowed request, when the request is rejected by another
+   * limit after all (see {@link CompositeRateLimiter}).
+   *
+   * @param permits The amount of permits to give back.
+   */
+  public void refund(long permits) {
+    this.strategy.get().refund(this.clock.currentTimeMillis(), permits);
+  }
+
+  /**
+   * Settles the cost of an allowed request once its actual cost is known: the missing permits are
+   * taken even if the limit is exceeded (the request has already been served), the extra ones are
+   * given back.
+   *
+   * @param charged The amount of permits taken when the request was allowed.
+   * @param actual The actual cost of the request, in permits.
+   */
+  public void settle(long charged, long actual) {
+    long currentTimeMillis = this.clock.currentTimeMillis();
+
+    if (actual > charged) this.strategy.get().consume(currentTimeMillis, actual - charged);
+    else if (actual < charged) this.strategy.get().refund(currentTimeMillis, charged - actual);
+  }
 
+  /**
+   * Replaces the strategy and the blocking time, e.g. when the limits are reloaded. The permits
+   * taken from the previous strategy are carried over to the new one (as a debt, if they exceed the
+   * new limit), and a blocked endpoint stays blocked: the limit is never reset by a reload.
+   *
+   * <p>The requests are never paused: a request racing with the swap may still be recorded by the
+   * previous strategy only, so at most the requests in flight during the swap are not carried over.
+   *
+   * @param strategy The new algorithm deciding if a request is allowed.
+   * @param blockedTimeMs The new interval (in milliseconds) in which the endpoint will be
+   *     unavailable once the limit is exceeded.
+   */
+  public void reconfigure(RateLimitStrategy strategy, long blockedTimeMs) {
+    long currentTimeMillis = this.clock.currentTimeMillis();
+    long used = this.strategy.get().getUsed(currentTimeMillis);
+
+    if (used > 0) strategy.consume(currentTimeMillis, used);
+
+    this.blockedTimeMs = blockedTimeMs;
+    this.strategy.set(strategy);
+  }
+
+  /**
+   * Describes the current state of the RateLimiter, so that it can be restored later (e.g. after a
+   * restart). Only reads the state: the requests are never blocked.
+   *
+   * @return the permits taken, and the time the endpoint is blocked until.
+   */
+  public RateLimiterSnapshot snapshot() {
+    long currentTimeMillis = this.clock.currentTimeMillis();
+
+    return new RateLimiterSnapshot(
+        this.strategy.get().getUsed(currentTimeMillis),
+        currentTimeMillis,
+        this.nextRequestAtMs.get());
+  }
+
+  /**
+   * Restores the state described by a snapshot: the permits are taken at the time of the snapshot,
+   * so they expire as they would have, and the endpoint stays blocked until the same time.
+   *
+   * @param snapshot The state to restore.
+   */
+  public void restore(RateLimiterSnapshot snapshot) {
+    if (snapshot.getUsed() > 0)
+      this.strategy.get().consume(snapshot.getTakenAtMs(), snapshot.getUsed());
+
+    this.nextRequestAtMs.accumulateAndGet(snapshot.getBlockedUntilMs(), Math::max);
+  }
+
+  private boolean acquire(RateLimitStrategy strategy, long currentTimeMillis, long permits) {
     // If currentTimeMillis is less than nextRequestAtMs
     // then the API is "blocked" and the request should
     // not be allowed
-    if (currentTimeMillis < this.nextRequestAtMs) return false;
-
-    // We should only persist the latest {maxRequests} requests
-    if (this.queue.size() >= this.maxRequests) {
-      Long timeDifference = currentTimeMillis - this.queue.remove();
-      this.queue.add(currentTimeMillis);
-
-      // If the time difference between the first request in the queue
-      // and the latest one is less than {timeIntervalMs}, then the request
-      // should be blocked
-      if (timeDifference < this.timeIntervalMs) {
-        // Clear queue
-        this.queue.clear();
-
-        // block endpoint for API_BLOCKED_TIME_MS
-        this.nextRequestAtMs = currentTimeMillis + API_BLOCKED_TIME_MS;
-
-        // Request should not be allowed
-        return false;
-      }
-    } else {
-      queue.add(currentTimeMillis);
-    }
-
-    return true;
+    long blockedUntil = this.nextRequestAtMs.get();
+    if (currentTimeMillis < blockedUntil) return false;
+
+    if (strategy.tryAcquire(currentTimeMillis, permits)) return true;
+
+    // block endpoint for {blockedTimeMs}, and forget the previous requests: the strategy is
+    // replaced rather than reset, so a request that checked the block before it was set
+    // still sees the previous (full) strategy, and is rejected
+    if (this.nextRequestAtMs.compareAndSet(blockedUntil, currentTimeMillis + this.blockedTimeMs))
+      this.strategy.compareAndSet(strategy, strategy.newInstance());
+
+    // Request should not be allowed
+    return false;
   }
 }
@@ -0,0 +1,247 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ *
+ *
+ * <h1>RateLimiterRegistry</h1>
+ *
+ * <p>A bounded registry that holds one {@link RateLimiter} per key (e.g. per client).
+ *
+ * <p>The keys are spread across a fixed number of stripes, each one guarded by its own lock, so
+ * concurrent requests for different clients rarely contend. Every stripe is an access-ordered map
+ * with a fixed capacity: when a stripe is full, its least recently used RateLimiter is dropped. On
+ * top of that, RateLimiter instances that have not been used for {idleTimeoutMs} are evicted
+ * periodically on the given scheduler (or by calling {@link #evictIdle()} if there is none), so
+ * memory stays flat no matter how many distinct clients call the API. The time of the last use is
+ * read from the same {@link Clock} as the RateLimiter instances.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RateLimiterRegistry implements AutoCloseable {
+  // The default maximum amount of RateLimiter instances held by the registry.
+  public static final int DEFAULT_MAX_ENTRIES = 10 * 1000;
+
+  // The default interval (in milliseconds) after which an unused RateLimiter is evicted.
+  public static final long DEFAULT_IDLE_TIMEOUT_MS = 10 * 60 * 1000L;
+
+  // Creates the RateLimiter for a key that is not in the registry yet.
+  private final Function<String, RateLimiter> factory;
+
+  // The interval (in milliseconds) after which an unused RateLimiter is evicted.
+  private final long idleTimeoutMs;
+
+  // The source of the time of the last use of every RateLimiter.
+  private final Clock clock;
+
+  // The stripes holding the RateLimiter instances, selected by the hash of the key.
+  private final Stripe[] stripes;
+
+  // The periodic eviction of idle RateLimiter instances, or null if there is no scheduler.
+  private final ScheduledFuture<?> evictionTask;
+
+  /**
+   * Creates a RateLimiterRegistry with the default maxEntries and idleTimeoutMs values.
+   *
+   * @param factory Creates the RateLimiter for a key that is not in the registry yet.
+   */
+  public RateLimiterRegistry(Function<String, RateLimiter> factory) {
+    this(factory, MonotonicClock.INSTANCE, null);
+  }
+
+  /**
+   * Creates a RateLimiterRegistry with the default maxEntries and idleTimeoutMs values, using the
+   * specified clock and scheduler.
+   *
+   * @param factory Creates the RateLimiter for a key that is not in the registry yet.
+   * @param clock The source of the time of the last use of every RateLimiter.
+   * @param scheduler Runs the periodic eviction of idle RateLimiter instances (null means none).
+   */
+  public RateLimiterRegistry(
+      Function<String, RateLimiter> factory, Clock clock, ScheduledExecutorService scheduler) {
+    this(factory, DEFAULT_MAX_ENTRIES, DEFAULT_IDLE_TIMEOUT_MS, clock, scheduler);
+  }
+
+  /**
+   * Creates a RateLimiterRegistry with the specified maxEntries and idleTimeoutMs values.
+   *
+   * @param factory Creates the RateLimiter for a key that is not in the registry yet.
+   * @param maxEntries The maximum amount of RateLimiter instances held by the registry.
+   * @param idleTimeoutMs The interval (in milliseconds) after which an unused RateLimiter is
+   *     evicted.
+   */
+  public RateLimiterRegistry(
+      Function<String, RateLimiter> factory, int maxEntries, long idleTimeoutMs) {
+    this(factory, maxEntries, idleTimeoutMs, MonotonicClock.INSTANCE);
+  }
+
+  /**
+   * Creates a RateLimiterRegistry with the specified maxEntries and idleTimeoutMs values, using the
+   * specified clock.
+   *
+   * @param factory Creates the RateLimiter for a key that is not in the registry yet.
+   * @param maxEntries The maximum amount of RateLimiter instances held by the registry.
+   * @param idleTimeoutMs The interval (in milliseconds) after which an unused RateLimiter is
+   *     evicted.
+   * @param clock The source of the time of the last use of every RateLimiter.
+   */
+  public RateLimiterRegistry(
+      Function<String, RateLimiter> factory, int maxEntries, long idleTimeoutMs, Clock clock) {
+    this(factory, maxEntries, idleTimeoutMs, clock, null);
+  }
+
+  /**
+   * Creates a RateLimiterRegistry with the specified maxEntries and idleTimeoutMs values, using the
+   * specified clock and scheduler.
+   *
+   * @param factory Creates the RateLimiter for a key that is not in the registry yet.
+   * @param maxEntries The maximum amount of RateLimiter instances held by the registry.
+   * @param idleTimeoutMs The interval (in milliseconds) after which an unused RateLimiter is
+   *     evicted.
+   * @param clock The source of the time of the last use of every RateLimiter.
+   * @param scheduler Runs the periodic eviction of idle RateLimiter instances (null means none).
+   */
+  public RateLimiterRegistry(
+      Function<String, RateLimiter> factory,
+      int maxEntries,
+      long idleTimeoutMs,
+      Clock clock,
+      ScheduledExecutorService scheduler) {
+    if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be positive");
+
+    this.factory = factory;
+    this.idleTimeoutMs = idleTimeoutMs;
+    this.clock = clock;
+
+    // Use a power of two stripes, but never more stripes than entries
+    int stripeCount = 1;
+    int maxStripes = Math.min(maxEntries, 4 * Runtime.getRuntime().availableProcessors());
+    while (stripeCount * 2 <= maxStripes) stripeCount *= 2;
+
+    this.stripes = new Stripe[stripeCount];
+    for (int i = 0; i < stripeCount; i++) this.stripes[i] = new Stripe(maxEntries / stripeCount);
+
+    long period = Math.max(1L, idleTimeoutMs / 2);
+    this.evictionTask =
+        scheduler == null
+            ? null
+            : scheduler.scheduleWithFixedDelay(
+                this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Returns the RateLimiter for the given key, creating it if needed.
+   *
+   * @param key The key (e.g. the client identity) the RateLimiter belongs to.
+   * @return the RateLimiter for the given key.
+   */
+  public RateLimiter get(String key) {
+    long currentTimeMillis = clock.currentTimeMillis();
+    Stripe stripe = stripeFor(key);
+
+    synchronized (stripe) {
+      Entry entry = stripe.entries.get(key);
+
+      if (entry == null) {
+        entry = new Entry(factory.apply(key));
+        stripe.entries.put(key, entry);
+
+        // The stripe is full: drop its least recently used RateLimiter
+        if (stripe.entries.size() > stripe.capacity) {
+          Iterator<Entry> eldest = stripe.entries.values().iterator();
+          eldest.next();
+          eldest.remove();
+        }
+      }
+
+      entry.lastAccessMs = currentTimeMillis;
+      return entry.rateLimiter;
+    }
+  }
+
+  /**
+   * Returns the amount of RateLimiter instances currently held by the registry.
+   *
+   * @return the amount of RateLimiter instances currently held by the registry.
+   */
+  public int size() {
+    int size = 0;
+
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.entries.size();
+      }
+    }
+
+    return size;
+  }
+
+  /**
+   * Calls the given action for every RateLimiter currently held by the registry (e.g. to
+   * reconfigure it). The stripes are visited one at a time, so the other stripes are never blocked.
+   *
+   * @param action The action called with the key and the RateLimiter of every entry.
+   */
+  public void forEach(BiConsumer<String, RateLimiter> action) {
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        stripe.entries.forEach((key, entry) -> action.accept(key, entry.rateLimiter));
+      }
+    }
+  }
+
+  /** Evicts every RateLimiter that has not been used for {idleTimeoutMs}. */
+  public void evictIdle() {
+    long oldestAllowedMs = clock.currentTimeMillis() - idleTimeoutMs;
+
+    for (Stripe stripe : stripes) {
+      synchronized (stripe) {
+        // The stripe is access-ordered: stop at the first recently used entry
+        Iterator<Entry> iterator = stripe.entries.values().iterator();
+        while (iterator.hasNext() && iterator.next().lastAccessMs < oldestAllowedMs)
+          iterator.remove();
+      }
+    }
+  }
+
+  /** Stops the periodic eviction of idle RateLimiter instances. */
+  @Override
+  public void close() {
+    if (evictionTask != null) evictionTask.cancel(false);
+  }
+
+  private Stripe stripeFor(String key) {
+    int hash = key.hashCode();
+    return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+  }
+
+  private static class Entry {
+    private final RateLimiter rateLimiter;
+
+    private long lastAccessMs;
+
+    private Entry(RateLimiter rateLimiter) {
+      this.rateLimiter = rateLimiter;
+    }
+  }
+
+  private static class Stripe {
+    // The entries of the stripe, from the least to the most recently used.
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final int capacity;
+
+    private Stripe(int capacity) {
+      this.capacity = capacity;
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.sampleratelimitedapi.utils;
+
+/**
+ *
+ *
+ * <h1>RateLimiterSnapshot</h1>
+ *
+ * <p>The state of a {@link RateLimiter} at a given time: the permits taken, and the time the
+ * endpoint is blocked until. A snapshot can be restored on another RateLimiter (e.g. after a
+ * restart, see {@link RateLimiterSnapshotFile}), so that a client does not get a fresh limit.
+ *
+ * <p>The times are the ones of the {@link Clock} of the RateLimiter: the {@link MonotonicClock} is
+ * anchored to the system clock when it starts, so its times can be compared across restarts.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RateLimiterSnapshot {
+  // The amount of permits taken when the snapshot was taken.
+  private final long used;
+
+  // The time (in milliseconds) the snapshot was taken at.
+  private final long takenAtMs;
+
+  // The time (in milliseconds) the endpoint is blocked until (in the past if it is not blocked).
+  private final long blockedUntilMs;
+
+  public RateLimiterSnapshot(long used, long takenAtMs, long blockedUntilMs) {
+    this.used = used;
+    this.takenAtMs = takenAtMs;
+    this.blockedUntilMs = blockedUntilMs;
+  }
+
+  public long getUsed() {
+    return used;
+  }
+
+  public long getTakenAtMs() {
+    return takenAtMs;
+  }
+
+  public long getBlockedUntilMs() {
+    return blockedUntilMs;
+  }
+
+  /**
+   * Whether the snapshot holds anything worth restoring: permits taken, or a blocked endpoint.
+   *
+   * @return true if the snapshot should be restored, false if it describes a fresh RateLimiter.
+   */
+  public boolean isEmpty() {
+    return used == 0 && blockedUntilMs <= takenAtMs;
+  }
+}
@@ -0,0 +1,123 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *
+ *
+ * <h1>RateLimiterSnapshotFile</h1>
+ *
+ * <p>A local file holding the {@link RateLimiterSnapshot} of many RateLimiter instances, by key
+ * (e.g. the endpoint and the client identity).
+ *
+ * <p>The file is binary and compact: a header (magic number, version and amount of entries),
+ * followed by every entry (key, permits taken, time of the snapshot and time the endpoint is
+ * blocked until). The empty snapshots are never written. The file is written to a temporary file
+ * first, then moved in place, so a crash while writing never leaves a truncated file behind.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RateLimiterSnapshotFile {
+  // The first bytes of the file ("RLSN"), to recognize it.
+  private static final int MAGIC = 0x524c534e;
+
+  // The version of the file format.
+  private static final int VERSION = 1;
+
+  // The path of the file.
+  private final Path path;
+
+  /**
+   * Creates a RateLimiterSnapshotFile with the specified path.
+   *
+   * @param path The path of the file.
+   */
+  public RateLimiterSnapshotFile(Path path) {
+    this.path = path;
+  }
+
+  /**
+   * Reads the snapshots held by the file.
+   *
+   * @return the snapshots by key, empty if the file does not exist.
+   * @throws IOException if the file can not be read, or it is not a snapshot file.
+   */
+  public Map<String, RateLimiterSnapshot> read() throws IOException {
+    Map<String, RateLimiterSnapshot> snapshots = new HashMap<>();
+
+    if (!Files.exists(path)) return snapshots;
+
+    try (DataInputStream input =
+        new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (input.readInt() != MAGIC || input.readInt() != VERSION)
+        throw new IOException("Not a rate limiter snapshot file: " + path);
+
+      int entries = input.readInt();
+      for (int i = 0; i < entries; i++) {
+        String key = input.readUTF();
+        snapshots.put(
+            key, new RateLimiterSnapshot(input.readLong(), input.readLong(), input.readLong()));
+      }
+    }
+
+    return snapshots;
+  }
+
+  /**
+   * Replaces the content of the file with the given snapshots (the empty ones are skipped).
+   *
+   * @param snapshots The snapshots by key.
+   * @throws IOException if the file can not be written.
+   */
+  public void write(Map<String, RateLimiterSnapshot> snapshots) throws IOException {
+    Path directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+
+    Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+    try {
+      try (DataOutputStream output =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt((int) snapshots.values().stream().filter(s -> !s.isEmpty()).count());
+
+        for (Map.Entry<String, RateLimiterSnapshot> entry : snapshots.entrySet()) {
+          RateLimiterSnapshot snapshot = entry.getValue();
+
+          if (snapshot.isEmpty()) continue;
+
+          output.writeUTF(entry.getKey());
+          output.writeLong(snapshot.getUsed());
+          output.writeLong(snapshot.getTakenAtMs());
+          output.writeLong(snapshot.getBlockedUntilMs());
+        }
+      }
+
+      move(temporary);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private void move(Path temporary) throws IOException {
+    try {
+      Files.move(
+          temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ *
+ *
+ * <h1>SingleFlight</h1>
+ *
+ * <p>Collapses the identical calls made at the same time into a single one: the first caller of a
+ * key runs the loader, and every caller of the same key that arrives while it is running waits for
+ * its result (or its exception) instead of running the loader again.
+ *
+ * <p>The key is forgotten as soon as the loader returns or throws, so nothing is cached (a call
+ * that arrives afterwards runs the loader again) and nothing is kept for the keys that are not in
+ * flight. A loader that calls the same key again on its own thread runs it directly, instead of
+ * waiting for itself.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SingleFlight<K, V> {
+  // The calls in flight, by key.
+  private final Map<K, Call<V>> calls = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the result of the loader, shared with every caller of the same key in the meantime.
+   *
+   * @param key The key identifying identical calls.
+   * @param loader Loads the result, only called if no call of the same key is in flight.
+   * @return the result of the loader.
+   */
+  public V execute(K key, Supplier<V> loader) {
+    Call<V> call = new Call<>();
+    Call<V> inFlight = calls.putIfAbsent(key, call);
+
+    if (inFlight != null) {
+      // The loader of the call in flight is calling the same key again
+      if (inFlight.owner == Thread.currentThread()) return loader.get();
+
+      return inFlight.await();
+    }
+
+    try {
+      V result = loader.get();
+      call.result.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      call.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      calls.remove(key, call);
+    }
+  }
+
+  /**
+   * Returns the amount of calls in flight.
+   *
+   * @return the amount of calls in flight.
+   */
+  public int size() {
+    return calls.size();
+  }
+
+  private static class Call<V> {
+    // The thread running the loader.
+    private final Thread owner = Thread.currentThread();
+
+    // The result of the loader, shared with the waiting callers.
+    private final CompletableFuture<V> result = new CompletableFuture<>();
+
+    // Waits for the result, throwing the exception of the loader as it was thrown
+    private V await() {
+      try {
+        return result.join();
+      } catch (CompletionException e) {
+        Throwable cause = e.getCause();
+
+        if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+        if (cause instanceof Error) throw (Error) cause;
+        throw e;
+      }
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *
+ *
+ * <h1>SlidingLogStrategy</h1>
+ *
+ * <p>A {@link RateLimitStrategy} that keeps reference of the timing of the last N requests using a
+ * ring buffer: when we reach the Nth request, if the time difference between the 0th and the Nth
+ * requests is less than M, then the request is rejected.
+ *
+ * <p>This strategy is exact, but it needs O(N) memory. Every request claims the next slot of the
+ * ring with a CAS on the head sequence, so the hot path never allocates and never blocks. A request
+ * never waits for another one to publish its time either: a slot that is claimed but not published
+ * yet belongs to a request that has just been made, so it counts against the limit. Only the debt
+ * recorded by {@link #consume} lets those requests publish first (yielding the thread), since it
+ * can not overwrite their slots.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SlidingLogStrategy implements RateLimitStrategy {
+  // The maximum amount of requests allowed for the given interval.
+  private final int maxRequests;
+
+  // The interval (in milliseconds) in which the number of max requests is valid.
+  private final long timeIntervalMs;
+
+  // The ring that holds the time of the last {maxRequest} requests
+  private final AtomicLongArray timestamps;
+
+  // The sequence number of the request stored in each slot of the ring
+  private final AtomicLongArray sequences;
+
+  // The sequence number that the next allowed request will claim
+  private final AtomicLong head = new AtomicLong(0L);
+
+  // The sequence number at which the ring was last cleared: older slots are ignored
+  private volatile long tail = 0L;
+
+  /**
+   * Creates a SlidingLogStrategy with the specified maxRequests and timeIntervalMs values.
+   *
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) in which the number of max requests is
+   *     valid.
+   */
+  public SlidingLogStrategy(long maxRequests, long timeIntervalMs) {
+    if (maxRequests < 1 || maxRequests > Integer.MAX_VALUE)
+      throw new IllegalArgumentException("maxRequests must be between 1 and Integer.MAX_VALUE");
+
+    this.maxRequests = (int) maxRequests;
+    this.timeIntervalMs = timeIntervalMs;
+    this.timestamps = new AtomicLongArray(this.maxRequests);
+    this.sequences = new AtomicLongArray(this.maxRequests);
+
+    // Mark every slot as "never written"
+    for (int i = 0; i < this.maxRequests; i++) this.sequences.set(i, -1L);
+  }
+
+  @Override
+  public boolean tryAcquire(long currentTimeMillis, long permits) {
+    // Every permit takes a slot: a request can never cost more than the whole ring
+    if (permits > this.maxRequests) return false;
+
+    return claim(currentTimeMillis, (int) permits, true);
+  }
+
+  /**
+   * Records the given amount of requests even if they are not allowed, overwriting the oldest ones:
+   * the debt never exceeds the whole ring.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @param permits The amount of permits to take.
+   */
+  @Override
+  public void consume(long currentTimeMillis, long permits) {
+    claim(currentTimeMillis, (int) Math.min(permits, this.maxRequests), false);
+  }
+
+  @Override
+  public long getLimit() {
+    return this.maxRequests;
+  }
+
+  @Override
+  public long getRemaining(long currentTimeMillis) {
+    long head = this.head.get();
+
+    // The ring is ordered by time: look for the oldest request still within {timeIntervalMs}
+    long low = Math.max(this.tail, head - this.maxRequests);
+    long high = head;
+
+    while (low < high) {
+      long middle = (low + high) >>> 1;
+
+      if (currentTimeMillis - timestampOf(middle, currentTimeMillis) < this.timeIntervalMs)
+        high = middle;
+      else low = middle + 1;
+    }
+
+    return this.maxRequests - (head - low);
+  }
+
+  @Override
+  public long getResetMs(long currentTimeMillis) {
+    long head = this.head.get();
+    if (head <= this.tail) return 0L;
+
+    // The whole limit is available once the latest request is older than {timeIntervalMs}
+    long latest = timestampOf(head - 1, currentTimeMillis);
+    return Math.max(0L, latest + this.timeIntervalMs - currentTimeMillis);
+  }
+
+  @Override
+  public long getWaitMs(long currentTimeMillis) {
+    long sequence = this.head.get() - this.maxRequests;
+    if (sequence < this.tail) return 0L;
+
+    // A request is allowed once the first request in the ring is older than {timeIntervalMs}
+    long oldest = timestampOf(sequence, currentTimeMillis);
+    return Math.max(0L, oldest + this.timeIntervalMs - currentTimeMillis);
+  }
+
+  /**
+   * Gives back the permits by marking the oldest requests still within {timeIntervalMs} as expired,
+   * so that they no longer count against the limit. The ring stays ordered by time.
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the refund.
+   * @param permits The amount of permits to give back.
+   */
+  @Override
+  public void refund(long currentTimeMillis, long permits) {
+    long head = this.head.get();
+    long expired = currentTimeMillis - this.timeIntervalMs;
+    long refunded = 0L;
+
+    for (long sequence = Math.max(this.tail, head - this.maxRequests);
+        sequence < head && refunded < permits;
+        sequence++) {
+      int slot = (int) (sequence % this.maxRequests);
+      long timestamp = this.timestamps.get(slot);
+
+      // Skip the requests that did not publish their time yet
+      if (this.sequences.get(slot) != sequence) continue;
+
+      // Skip the requests that are already outside of the sliding window
+      if (timestamp <= expired) continue;
+
+      if (this.timestamps.compareAndSet(slot, timestamp, expired)) refunded++;
+    }
+  }
+
+  @Override
+  public void reset() {
+    this.tail = this.head.get();
+  }
+
+  @Override
+  public RateLimitStrategy newInstance() {
+    return new SlidingLogStrategy(this.maxRequests, this.timeIntervalMs);
+  }
+
+  // Claims the next {permits} slots of the ring, if the limit allows it (or if it is not checked)
+  private boolean claim(long currentTimeMillis, int permits, boolean checkLimit) {
+    while (true) {
+      long sequence = this.head.get();
+      long last = sequence + permits - 1;
+
+      // The slots still belong to requests that claimed them but did not publish their time yet:
+      // those requests have just been made, so the limit is reached
+      if (!isPublished(sequence, last)) {
+        if (checkLimit) return false;
+
+        // The debt can not overwrite their slots: let them publish their time first
+        Thread.yield();
+        continue;
+      }
+
+      // If the time difference between the request {maxRequests} before the last one
+      // and the latest one is less than {timeIntervalMs}, then the request
+      // should be rejected (the ring is ordered by time, so older ones are older still)
+      if (checkLimit
+          && last - this.tail >= this.maxRequests
+          && currentTimeMillis - this.timestamps.get((int) (last % this.maxRequests))
+              < this.timeIntervalMs) return false;
+
+      // Claim the slots, then publish the request time
+      if (this.head.compareAndSet(sequence, last + 1)) {
+        for (long claimed = sequence; claimed <= last; claimed++) {
+          int slot = (int) (claimed % this.maxRequests);
+
+          this.timestamps.set(slot, currentTimeMillis);
+          this.sequences.set(slot, claimed);
+        }
+
+        return true;
+      }
+    }
+  }
+
+  // Whether the previous requests of the given slots (if they count) have published their time
+  private boolean isPublished(long first, long last) {
+    for (long sequence = first; sequence <= last; sequence++) {
+      // We should only compare against the latest {maxRequests} requests
+      if (sequence - this.tail < this.maxRequests) continue;
+
+      if (this.sequences.get((int) (sequence % this.maxRequests)) != sequence - this.maxRequests)
+        return false;
+    }
+
+    return true;
+  }
+
+  private long timestampOf(long sequence, long currentTimeMillis) {
+    int slot = (int) (sequence % this.maxRequests);
+    long timestamp = this.timestamps.get(slot);
+
+    // A request that did not publish its time yet has just been made
+    return this.sequences.get(slot) == sequence ? timestamp : currentTimeMillis;
+  }
+}
@@ -0,0 +1,237 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ *
+ *
+ * <h1>SlidingWindowCounterStrategy</h1>
+ *
+ * <p>A {@link RateLimitStrategy} that approximates a sliding window of M milliseconds using only
+ * two counters: the amount of requests in the current fixed window, and the amount of requests in
+ * the previous one. The requests of the previous window are weighted by how much of it still
+ * overlaps the sliding window, assuming they were evenly spread:
+ *
+ * <pre>
+ *   estimate = previousCount * (M - elapsed) / M + currentCount
+ * </pre>
+ *
+ * <p>A request is rejected when the estimate reaches N. Since the counters are O(1) memory, this
+ * strategy fits limits of thousands of requests per window, where a {@link SlidingLogStrategy}
+ * would be too heavy.
+ *
+ * <p>Error bound: no more than N requests are ever allowed within a single fixed window, and no
+ * more than 2N requests within any M milliseconds (the worst case, reached only if every request of
+ * the previous window arrived at its very end). When the traffic is evenly spread, the estimate
+ * matches the exact sliding log.
+ *
+ * <p>When a new window starts, the count of the previous one is sealed before it is copied, so a
+ * request racing with the switch is never lost: it sees the sealed count, and is counted in the new
+ * window instead.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SlidingWindowCounterStrategy implements RateLimitStrategy {
+  // The bit set on the count of a window once it is replaced: no request is counted in it anymore.
+  private static final long SEALED = Long.MIN_VALUE;
+
+  // The maximum amount of requests allowed for the given interval.
+  private final long maxRequests;
+
+  // The interval (in milliseconds) in which the number of max requests is valid.
+  private final long timeIntervalMs;
+
+  // The current fixed window, replaced (with a CAS) when a new window starts.
+  private final AtomicReference<Window> window = new AtomicReference<>(new Window(-1L, 0L));
+
+  /**
+   * Creates a SlidingWindowCounterStrategy with the specified maxRequests and timeIntervalMs
+   * values.
+   *
+   * @param maxRequests The maximum amount of requests allowed for the given interval.
+   * @param timeIntervalMs The interval (in milliseconds) in which the number of max requests is
+   *     valid.
+   */
+  public SlidingWindowCounterStrategy(long maxRequests, long timeIntervalMs) {
+    if (maxRequests < 1) throw new IllegalArgumentException("maxRequests must be positive");
+
+    this.maxRequests = maxRequests;
+    this.timeIntervalMs = timeIntervalMs;
+  }
+
+  @Override
+  public boolean tryAcquire(long currentTimeMillis, long permits) {
+    while (true) {
+      Window current = currentWindow(currentTimeMillis / timeIntervalMs);
+      long previousWeighted =
+          current.previousCount * overlapMs(current.index, currentTimeMillis) / timeIntervalMs;
+      long count = current.count.get();
+
+      // The window has just been replaced: count the request in the next one
+      if ((count & SEALED) != 0) continue;
+
+      if (previousWeighted + count + permits > maxRequests) return false;
+
+      if (current.count.compareAndSet(count, count + permits)) return true;
+    }
+  }
+
+  @Override
+  public void consume(long currentTimeMillis, long permits) {
+    while (true) {
+      Window current = currentWindow(currentTimeMillis / timeIntervalMs);
+      long count = current.count.get();
+
+      // The window has just been replaced: count the permits in the next one
+      if ((count & SEALED) != 0) continue;
+
+      // The debt never exceeds one whole limit
+      long next = Math.min(2 * maxRequests, count + permits);
+
+      if (current.count.compareAndSet(count, next)) return;
+    }
+  }
+
+  @Override
+  public long getLimit() {
+    return maxRequests;
+  }
+
+  @Override
+  public long getRemaining(long currentTimeMillis) {
+    long index = currentTimeMillis / timeIntervalMs;
+    Window current = window.get();
+
+    long count = current.index == index ? current.count() : 0L;
+    long previousCount =
+        current.index == index
+            ? current.previousCount
+            : current.index == index - 1 ? current.count() : 0L;
+
+    long overlapMs = overlapMs(index, currentTimeMillis);
+    return Math.max(0L, maxRequests - previousCount * overlapMs / timeIntervalMs - count);
+  }
+
+  @Override
+  public long getResetMs(long currentTimeMillis) {
+    long index = currentTimeMillis / timeIntervalMs;
+    Window current = window.get();
+
+    // The requests count until the end of the window after the one they were made in
+    long lastIndex = current.count() > 0 ? current.index + 1 : current.index;
+    if (current.index == index && current.count() == 0 && current.previousCount == 0) return 0L;
+
+    return Math.max(0L, (lastIndex + 1) * timeIntervalMs - currentTimeMillis);
+  }
+
+  /**
+   * Returns the time left until the weighted count of the previous window has decreased enough to
+   * allow a request (looking at the next window, if the current one is full).
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @return the time (in milliseconds) left until a request would be allowed.
+   */
+  @Override
+  public long getWaitMs(long currentTimeMillis) {
+    if (getRemaining(currentTimeMillis) > 0) return 0L;
+
+    long index = currentTimeMillis / timeIntervalMs;
+    long windowEndMs = (index + 1) * timeIntervalMs;
+    Window current = window.get();
+
+    long count = current.index == index ? current.count() : 0L;
+    long previousCount =
+        current.index == index
+            ? current.previousCount
+            : current.index == index - 1 ? current.count() : 0L;
+
+    // The current window is full: its requests will be the previous ones of the next window
+    if (count >= maxRequests) {
+      previousCount = count;
+      count = 0L;
+      windowEndMs += timeIntervalMs;
+    }
+
+    // The overlap at which previousCount * overlap / timeIntervalMs + count < maxRequests
+    long allowedOverlapMs = ((maxRequests - count) * timeIntervalMs - 1) / previousCount;
+    return Math.max(0L, windowEndMs - allowedOverlapMs - currentTimeMillis);
+  }
+
+  @Override
+  public void refund(long currentTimeMillis, long permits) {
+    Window current = window.get();
+
+    // The permits were taken in a window that has already ended
+    if (current.index < currentTimeMillis / timeIntervalMs) return;
+
+    while (true) {
+      long count = current.count.get();
+
+      // Nothing to give back, or the window has already ended
+      if (count == 0 || (count & SEALED) != 0) return;
+
+      if (current.count.compareAndSet(count, Math.max(0L, count - permits))) return;
+    }
+  }
+
+  @Override
+  public void reset() {
+    window.set(new Window(-1L, 0L));
+  }
+
+  @Override
+  public RateLimitStrategy newInstance() {
+    return new SlidingWindowCounterStrategy(maxRequests, timeIntervalMs);
+  }
+
+  private Window currentWindow(long index) {
+    while (true) {
+      Window current = window.get();
+      boolean sealed = (current.count.get() & SEALED) != 0;
+
+      // Requests arriving late (or from a clock that went backwards) count in the current window
+      if (current.index >= index && !sealed) return current;
+
+      // A sealed window is being replaced: help, by starting at least the window after it
+      long nextIndex = Math.max(index, current.index + 1);
+
+      // Seal the window before copying its count, so that no request is counted in it afterwards
+      long count = current.count.getAndUpdate(value -> value | SEALED) & ~SEALED;
+      long previousCount = current.index == nextIndex - 1 ? count : 0L;
+      Window next = new Window(nextIndex, previousCount);
+
+      if (window.compareAndSet(current, next)) return next;
+    }
+  }
+
+  // The part (in milliseconds) of the window before the given one still inside the sliding window
+  private long overlapMs(long index, long currentTimeMillis) {
+    long elapsedMs = currentTimeMillis - index * timeIntervalMs;
+
+    return Math.max(0L, Math.min(timeIntervalMs, timeIntervalMs - elapsedMs));
+  }
+
+  private static class Window {
+    // The index of the fixed window (the start time divided by timeIntervalMs).
+    private final long index;
+
+    // The amount of requests allowed in the previous fixed window.
+    private final long previousCount;
+
+    // The amount of requests allowed in this fixed window.
+    private final AtomicLong count = new AtomicLong(0L);
+
+    private Window(long index, long previousCount) {
+      this.index = index;
+      this.previousCount = previousCount;
+    }
+
+    // The amount of requests allowed in this fixed window, sealed or not
+    private long count() {
+      return count.get() & ~SEALED;
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ *
+ *
+ * <h1>StripedTokenBucketStrategy</h1>
+ *
+ * <p>A {@link TokenBucketStrategy} whose tokens are spread across a few stripes (one per core, in
+ * the style of a LongAdder), so that a limit shared by every request (e.g. the global limit) does
+ * not make every core fight over the same cache line.
+ *
+ * <p>Every thread takes its tokens from its own stripe with a CAS that no other core touches. When
+ * its stripe runs dry, the thread reconciles with the central bucket under a short lock: the tokens
+ * earned since the last reconciliation are added to the bucket, and a batch of them (a share of the
+ * bucket, at most {maxRequests / (stripes * 8)}) is moved to its stripe. If the bucket is dry too,
+ * the tokens left in the other stripes are gathered back first, so a request is only rejected when
+ * the bucket and every stripe are dry.
+ *
+ * <p>The bucket never refills above its capacity minus the tokens held by the stripes, so the
+ * tokens available never exceed the limit: the strategy admits the same requests as a {@link
+ * TokenBucketStrategy}. The only over-admission comes from the refunds, which go back to the stripe
+ * of the thread without reconciling: it is bounded by the tokens the stripes can hold, {stripes *
+ * batch} (about 1/8 of the limit). The throughput scales with the cores as long as the bucket has
+ * tokens to spare; once it runs dry every request takes the lock, until the RateLimiter blocks.
+ *
+ * <p>The remaining tokens reported (e.g. in the RateLimit-Remaining header) count the bucket and
+ * every stripe, read without the lock: they may be off by the tokens moving between them at that
+ * very moment, never by the tokens the stripes hold.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class StripedTokenBucketStrategy implements RateLimitStrategy {
+  // The largest amount of stripes, whatever the amount of cores.
+  private static final int MAX_STRIPES = 64;
+
+  // The longs between two stripes, so that every stripe has its own cache line (64 bytes).
+  private static final int PADDING = 8;
+
+  // The share of the limit a single stripe may hold is 1 / (stripes * BATCH_DIVISOR).
+  private static final long BATCH_DIVISOR = 8L;
+
+  // The amount of tokens in a full bucket, refilled every {timeIntervalMs}.
+  private final long capacity;
+
+  // The interval (in milliseconds) in which the whole bucket is refilled.
+  private final long timeIntervalMs;
+
+  // The amount of stripes (a power of two).
+  private final int stripes;
+
+  // The most tokens moved to a stripe at once.
+  private final long batch;
+
+  // The tokens held by every stripe, PADDING longs apart.
+  private final AtomicLongArray cells;
+
+  // Guards the central bucket: only taken when a stripe runs dry.
+  private final Object lock = new Object();
+
+  // The tokens in the central bucket (negative when the bucket owes tokens), guarded by {lock}.
+  private volatile long tokens;
+
+  // The time of the last refill of the central bucket, guarded by {lock}.
+  private volatile long lastRefillMs = 0L;
+
+  /**
+   * Creates a StripedTokenBucketStrategy with the specified maxRequests and timeIntervalMs values,
+   * and one stripe per core.
+   *
+   * @param maxRequests The amount of tokens in a full bucket.
+   * @param timeIntervalMs The interval (in milliseconds) in which the whole bucket is refilled.
+   */
+  public StripedTokenBucketStrategy(long maxRequests, long timeIntervalMs) {
+    this(maxRequests, timeIntervalMs, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Creates a StripedTokenBucketStrategy with the specified maxRequests and timeIntervalMs values,
+   * and about the specified amount of stripes.
+   *
+   * @param maxRequests The amount of tokens in a full bucket.
+   * @param timeIntervalMs The interval (in milliseconds) in which the whole bucket is refilled.
+   * @param stripes The amount of stripes, rounded up to a power of two (max 64).
+   */
+  public StripedTokenBucketStrategy(long maxRequests, long timeIntervalMs, int stripes) {
+    if (maxRequests < 1) throw new IllegalArgumentException("maxRequests must be positive");
+    if (stripes < 1) throw new IllegalArgumentException("stripes must be positive");
+
+    int size = 1;
+    while (size < Math.min(stripes, MAX_STRIPES)) size <<= 1;
+
+    this.capacity = maxRequests;
+    this.timeIntervalMs = timeIntervalMs;
+    this.stripes = size;
+    this.batch = Math.max(1L, maxRequests / (size * BATCH_DIVISOR));
+    this.cells = new AtomicLongArray(size * PADDING);
+    this.tokens = maxRequests;
+  }
+
+  @Override
+  public boolean tryAcquire(long currentTimeMillis, long permits) {
+    int cell = cellOfCurrentThread();
+
+    if (take(cell, permits)) return true;
+
+    long now = Math.max(0L, currentTimeMillis);
+
+    synchronized (lock) {
+      // Another thread may have refunded tokens to this stripe in the meantime
+      if (take(cell, permits)) return true;
+
+      refill(now);
+
+      // The bucket is dry: gather back the tokens left in the other stripes
+      if (tokens < permits) tokens += drain();
+
+      if (tokens < permits) return false;
+
+      long moved = Math.max(permits, Math.min(batch, tokens / stripes));
+      if (moved > tokens) moved = permits;
+
+      tokens -= moved;
+      cells.addAndGet(cell, moved - permits);
+
+      return true;
+    }
+  }
+
+  /**
+   * Takes the given amount of tokens: from the stripe of the thread if it holds enough of them,
+   * from the central bucket otherwise, where the missing ones become a debt paid by the next
+   * refills (up to one whole interval).
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @param permits The amount of tokens to take.
+   */
+  @Override
+  public void consume(long currentTimeMillis, long permits) {
+    if (take(cellOfCurrentThread(), permits)) return;
+
+    long now = Math.max(0L, currentTimeMillis);
+
+    synchronized (lock) {
+      refill(now);
+
+      tokens = Math.max(-capacity, tokens - permits);
+    }
+  }
+
+  @Override
+  public long getLimit() {
+    return capacity;
+  }
+
+  @Override
+  public long getRemaining(long currentTimeMillis) {
+    long now = Math.max(0L, currentTimeMillis);
+    long remaining = Math.max(0L, refilled(now)) + held();
+
+    return Math.min(capacity, remaining);
+  }
+
+  @Override
+  public long getResetMs(long currentTimeMillis) {
+    long missing = capacity - getRemaining(currentTimeMillis);
+
+    return (missing * timeIntervalMs + capacity - 1) / capacity;
+  }
+
+  @Override
+  public long getWaitMs(long currentTimeMillis) {
+    long now = Math.max(0L, currentTimeMillis);
+
+    if (getRemaining(now) > 0) return 0L;
+
+    // A token is earned every {timeIntervalMs / capacity} milliseconds, once the debt is paid
+    long missing = 1L - refilled(now);
+    return (missing * timeIntervalMs + capacity - 1) / capacity;
+  }
+
+  @Override
+  public void refund(long currentTimeMillis, long permits) {
+    // Give the tokens back to the stripe, without reconciling: a stripe never holds more than a
+    // batch, which bounds the over-admission
+    int cell = cellOfCurrentThread();
+    cells.getAndUpdate(cell, held -> Math.max(held, Math.min(batch, held + permits)));
+  }
+
+  @Override
+  public void reset() {
+    synchronized (lock) {
+      drain();
+
+      // A full bucket: the time of the last refill is updated by the next reconciliation
+      tokens = capacity;
+      lastRefillMs = 0L;
+    }
+  }
+
+  @Override
+  public RateLimitStrategy newInstance() {
+    return new StripedTokenBucketStrategy(capacity, timeIntervalMs, stripes);
+  }
+
+  // Takes the tokens from the given stripe, if it holds enough of them
+  private boolean take(int cell, long permits) {
+    while (true) {
+      long held = cells.get(cell);
+
+      if (held < permits) return false;
+
+      if (cells.compareAndSet(cell, held, held - permits)) return true;
+    }
+  }
+
+  // Empties every stripe, returning the tokens they held
+  private long drain() {
+    long drained = 0L;
+
+    for (int i = 0; i < stripes; i++) drained += cells.getAndSet(i * PADDING, 0L);
+
+    return drained;
+  }
+
+  // The tokens held by every stripe
+  private long held() {
+    long held = 0L;
+
+    for (int i = 0; i < stripes; i++) held += cells.get(i * PADDING);
+
+    return held;
+  }
+
+  // Adds the tokens earned since the last refill, never above the capacity minus the tokens held
+  // by the stripes (guarded by {lock})
+  private void refill(long now) {
+    long elapsed = now - lastRefillMs;
+
+    if (elapsed <= 0) return;
+
+    long available = capacity - held();
+
+    if (elapsed >= timeIntervalMs) {
+      tokens = Math.max(tokens, available);
+      lastRefillMs = now;
+      return;
+    }
+
+    long earned = elapsed * capacity / timeIntervalMs;
+
+    if (earned == 0) return;
+
+    if (tokens + earned >= available) {
+      tokens = Math.max(tokens, available);
+      lastRefillMs = now;
+    } else {
+      tokens += earned;
+      // Keep the time not "spent" on a whole token for the next refill
+      lastRefillMs += earned * timeIntervalMs / capacity;
+    }
+  }
+
+  // The tokens the central bucket would hold after a refill, without refilling it
+  private long refilled(long now) {
+    long tokens = this.tokens;
+    long elapsed = now - lastRefillMs;
+
+    if (elapsed <= 0) return tokens;
+    if (elapsed >= timeIntervalMs) return capacity;
+
+    return Math.min(capacity, tokens + elapsed * capacity / timeIntervalMs);
+  }
+
+  // The index of the stripe of the current thread
+  private int cellOfCurrentThread() {
+    long hash = Thread.currentThread().getId() * 0x9e3779b97f4a7c15L;
+
+    return ((int) (hash >>> 32) & (stripes - 1)) * PADDING;
+  }
+}
@@ -0,0 +1,383 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ *
+ * <h1>TinyLfuCache</h1>
+ *
+ * <p>A bounded cache whose entries expire {ttlMs} milliseconds after they are added, and which only
+ * keeps an entry if it is requested more often than the one it would evict (W-TinyLFU).
+ *
+ * <p>As in the {@link RateLimiterRegistry}, the keys are spread across a fixed number of stripes,
+ * each one guarded by its own lock. A stripe holds two access-ordered maps: a small window (1% of
+ * the stripe) where every new entry is added, and the main segment holding the rest. When the
+ * window is full, its least recently used entry leaves it, and is compared with the least recently
+ * used entry of the main segment: the frequency of both keys is estimated by a count-min sketch of
+ * 4-bit counters (halved every {10 * maxEntries} requests, so that the old popularity fades), and
+ * only the key requested more often is kept. A burst of keys requested once (e.g. a scan of every
+ * city) can not flush the hot keys, while the window still gives a new key the time to be requested
+ * again before it is judged. A stripe too small for a window admits the new entries straight into
+ * the main segment.
+ *
+ * <p>The counters of the sketch are only written until they saturate, so the hot keys never write
+ * to a shared cache line once they are hot.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class TinyLfuCache<K, V> {
+  // The seeds of the hash functions of the rows of the sketch.
+  private static final long[] SEEDS = {
+    0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+  };
+
+  // The largest value of a 4-bit counter.
+  private static final long MAX_COUNT = 15L;
+
+  // The source of the current time.
+  private final Clock clock;
+
+  // The interval (in milliseconds) after which an entry expires.
+  private final long ttlMs;
+
+  // The stripes holding the entries, selected by the hash of the key.
+  private final Stripe<K, V>[] stripes;
+
+  // The frequencies of the keys: 16 counters of 4 bits in every long.
+  private final AtomicLongArray sketch;
+
+  // The amount of counter increments after which every counter is halved.
+  private final int sampleSize;
+
+  // The counter increments since the counters were last halved.
+  private final AtomicInteger additions = new AtomicInteger();
+
+  // The statistics of the cache.
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder rejections = new LongAdder();
+
+  /**
+   * Creates a TinyLfuCache with the specified maxEntries and ttlMs values.
+   *
+   * @param maxEntries The maximum amount of entries held by the cache.
+   * @param ttlMs The interval (in milliseconds) after which an entry expires.
+   * @param clock The source of the current time.
+   */
+  public TinyLfuCache(int maxEntries, long ttlMs, Clock clock) {
+    this(maxEntries, ttlMs, 4 * Runtime.getRuntime().availableProcessors(), clock);
+  }
+
+  /**
+   * Creates a TinyLfuCache with the specified maxEntries, ttlMs and stripes values.
+   *
+   * @param maxEntries The maximum amount of entries held by the cache.
+   * @param ttlMs The interval (in milliseconds) after which an entry expires.
+   * @param stripes The maximum amount of stripes the entries are spread across.
+   * @param clock The source of the current time.
+   */
+  public TinyLfuCache(int maxEntries, long ttlMs, int stripes, Clock clock) {
+    if (maxEntries < 1) throw new IllegalArgumentException("maxEntries must be positive");
+    if (stripes < 1) throw new IllegalArgumentException("stripes must be positive");
+
+    this.clock = clock;
+    this.ttlMs = ttlMs;
+
+    // Use a power of two stripes, but never more stripes than entries
+    int stripeCount = 1;
+    int maxStripes = Math.min(maxEntries, stripes);
+    while (stripeCount * 2 <= maxStripes) stripeCount *= 2;
+
+    this.stripes = newStripes(stripeCount);
+    for (int i = 0; i < stripeCount; i++) this.stripes[i] = new Stripe<>(maxEntries / stripeCount);
+
+    // One long (16 counters) per entry, rounded up to a power of two
+    int sketchSize = 1;
+    while (sketchSize < maxEntries) sketchSize <<= 1;
+
+    this.sketch = new AtomicLongArray(sketchSize);
+    this.sampleSize = 10 * maxEntries;
+  }
+
+  /**
+   * Returns the value cached for the given key, counting the request in the frequency of the key.
+   *
+   * @param key The key of the value.
+   * @return the value cached for the given key, or null if it is missing or expired.
+   */
+  public V get(K key) {
+    int hash = spread(key.hashCode());
+    increment(hash);
+
+    long now = clock.currentTimeMillis();
+    Stripe<K, V> stripe = stripeFor(hash);
+
+    synchronized (stripe) {
+      Entry<V> entry = stripe.window.get(key);
+      if (entry == null) entry = stripe.main.get(key);
+
+      if (entry != null && entry.expiresAtMs > now) {
+        hits.increment();
+        return entry.value;
+      }
+
+      if (entry != null) stripe.remove(key);
+    }
+
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Adds the given value to the window of the cache. The least recently used entry of a full window
+   * is moved to the main segment, unless it is full and the key is requested less often than the
+   * least recently used key it would evict.
+   *
+   * @param key The key of the value.
+   * @param value The value.
+   */
+  public void put(K key, V value) {
+    long now = clock.currentTimeMillis();
+    Stripe<K, V> stripe = stripeFor(spread(key.hashCode()));
+    Entry<V> entry = new Entry<>(value, now + ttlMs);
+
+    synchronized (stripe) {
+      // An entry of the main segment is replaced in place
+      if (stripe.main.containsKey(key)) {
+        stripe.main.put(key, entry);
+        return;
+      }
+
+      if (stripe.windowCapacity == 0) {
+        admit(stripe, key, entry, now);
+        return;
+      }
+
+      stripe.window.put(key, entry);
+      if (stripe.window.size() <= stripe.windowCapacity) return;
+
+      Map.Entry<K, Entry<V>> candidate = stripe.window.entrySet().iterator().next();
+      stripe.window.remove(candidate.getKey());
+
+      if (candidate.getValue().expiresAtMs > now)
+        admit(stripe, candidate.getKey(), candidate.getValue(), now);
+    }
+  }
+
+  /**
+   * Removes the entry of the given key, if any.
+   *
+   * @param key The key of the value.
+   */
+  public void invalidate(K key) {
+    Stripe<K, V> stripe = stripeFor(spread(key.hashCode()));
+
+    synchronized (stripe) {
+      stripe.remove(key);
+    }
+  }
+
+  /**
+   * Returns the statistics of the cache since it was created.
+   *
+   * @return the statistics of the cache since it was created.
+   */
+  public Stats getStats() {
+    int size = 0;
+
+    for (Stripe<K, V> stripe : stripes) {
+      synchronized (stripe) {
+        size += stripe.window.size() + stripe.main.size();
+      }
+    }
+
+    return new Stats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(), size);
+  }
+
+  // A generic array can not be created, but every element of this one is a Stripe<K, V>
+  @SuppressWarnings("unchecked")
+  private static <K, V> Stripe<K, V>[] newStripes(int stripeCount) {
+    return (Stripe<K, V>[]) new Stripe<?, ?>[stripeCount];
+  }
+
+  private Stripe<K, V> stripeFor(int hash) {
+    return stripes[hash & (stripes.length - 1)];
+  }
+
+  // Adds the entry to the main segment, if it has room or the key is more popular than the least
+  // recently used one. Called holding the lock of the stripe.
+  private void admit(Stripe<K, V> stripe, K key, Entry<V> entry, long now) {
+    if (stripe.main.size() >= stripe.mainCapacity) {
+      Map.Entry<K, Entry<V>> eldest = stripe.main.entrySet().iterator().next();
+
+      if (eldest.getValue().expiresAtMs > now) {
+        // Keep the least recently used entry if it is at least as popular as the new one
+        if (frequency(spread(key.hashCode())) <= frequency(spread(eldest.getKey().hashCode()))) {
+          rejections.increment();
+          return;
+        }
+
+        evictions.increment();
+      }
+
+      stripe.main.remove(eldest.getKey());
+    }
+
+    stripe.main.put(key, entry);
+  }
+
+  // Counts a request of the key in every row of the sketch, halving every counter once in a while
+  private void increment(int hash) {
+    boolean added = false;
+
+    for (int i = 0; i < SEEDS.length; i++) {
+      long slot = slotOf(hash, i);
+      int index = (int) (slot >>> 32);
+      int shift = (int) slot;
+
+      while (true) {
+        long word = sketch.get(index);
+
+        // A saturated counter is never written again
+        if (((word >>> shift) & MAX_COUNT) == MAX_COUNT) break;
+
+        if (sketch.compareAndSet(index, word, word + (1L << shift))) {
+          added = true;
+          break;
+        }
+      }
+    }
+
+    if (added && additions.incrementAndGet() == sampleSize) age();
+  }
+
+  // The estimated amount of requests of the key: the lowest of its counters
+  private long frequency(int hash) {
+    long frequency = MAX_COUNT;
+
+    for (int i = 0; i < SEEDS.length; i++) {
+      long slot = slotOf(hash, i);
+      long count = (sketch.get((int) (slot >>> 32)) >>> (int) slot) & MAX_COUNT;
+      frequency = Math.min(frequency, count);
+    }
+
+    return frequency;
+  }
+
+  // Halves every counter, so that the old popularity fades
+  private void age() {
+    additions.set(0);
+
+    for (int i = 0; i < sketch.length(); i++)
+      sketch.getAndUpdate(i, word -> (word >>> 1) & 0x7777777777777777L);
+  }
+
+  // The index of the long (high 32 bits) and the shift of the counter (low 32 bits) of the key in
+  // the given row of the sketch
+  private long slotOf(int hash, int row) {
+    long h = (hash + SEEDS[row]) * SEEDS[row];
+    h ^= h >>> 32;
+
+    long index = (h >>> 4) & (sketch.length() - 1);
+    long shift = (h & 15L) << 2;
+
+    return (index << 32) | shift;
+  }
+
+  private static int spread(int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  /** The statistics of a {@link TinyLfuCache}. */
+  public static class Stats {
+    // The requests of a value that was cached.
+    private final long hits;
+
+    // The requests of a value that was missing or expired.
+    private final long misses;
+
+    // The entries evicted by a more popular one.
+    private final long evictions;
+
+    // The entries not added because they were less popular than the ones they would evict.
+    private final long rejections;
+
+    // The entries currently held.
+    private final int size;
+
+    public Stats(long hits, long misses, long evictions, long rejections, int size) {
+      this.hits = hits;
+      this.misses = misses;
+      this.evictions = evictions;
+      this.rejections = rejections;
+      this.size = size;
+    }
+
+    public long getHits() {
+      return hits;
+    }
+
+    public long getMisses() {
+      return misses;
+    }
+
+    public long getEvictions() {
+      return evictions;
+    }
+
+    public long getRejections() {
+      return rejections;
+    }
+
+    public int getSize() {
+      return size;
+    }
+
+    public double getHitRate() {
+      long requests = hits + misses;
+      return requests == 0 ? 0.0 : (double) hits / requests;
+    }
+  }
+
+  private static class Entry<V> {
+    private final V value;
+
+    // The time (in milliseconds) after which the entry is expired.
+    private final long expiresAtMs;
+
+    private Entry(V value, long expiresAtMs) {
+      this.value = value;
+      this.expiresAtMs = expiresAtMs;
+    }
+  }
+
+  private static class Stripe<K, V> {
+    // The entries not yet admitted, from the least to the most recently used.
+    private final LinkedHashMap<K, Entry<V>> window = new LinkedHashMap<>(16, 0.75f, true);
+
+    // The admitted entries, from the least to the most recently used.
+    private final LinkedHashMap<K, Entry<V>> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    // The amount of entries of the window: 1% of the stripe, and none in a stripe of one entry.
+    private final int windowCapacity;
+
+    private final int mainCapacity;
+
+    private Stripe(int capacity) {
+      this.windowCapacity = capacity > 1 ? Math.max(1, capacity / 100) : 0;
+      this.mainCapacity = Math.max(1, capacity) - windowCapacity;
+    }
+
+    private void remove(K key) {
+      if (window.remove(key) == null) main.remove(key);
+    }
+  }
+}
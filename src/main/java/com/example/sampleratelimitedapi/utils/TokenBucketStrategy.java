@@ -0,0 +1,194 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ *
+ * <h1>TokenBucketStrategy</h1>
+ *
+ * <p>A {@link RateLimitStrategy} based on a bucket of N tokens, refilled at a rate of N tokens
+ * every M milliseconds: every request takes a token, and it is rejected if the bucket is empty.
+ *
+ * <p>The whole state (the time of the last refill and the amount of tokens) is packed into a single
+ * long, updated with a CAS: this strategy needs O(1) memory and never allocates. The time of the
+ * last refill takes the remaining 42 bits, enough for any time until the year 2109.
+ *
+ * <p>The tokens are counted from the time the bucket was last full (the "anchor"): the tokens
+ * earned are always computed over the whole time since then, and the anchor only ever moves by
+ * whole intervals (exactly N tokens), so the fractions of a token are never rounded away, even when
+ * M is not a multiple of N. The state keeps the tokens in the bucket minus the ones earned since
+ * the anchor (the "level"), which may be negative.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class TokenBucketStrategy implements RateLimitStrategy {
+  // The amount of bits (of the state) holding the level of the bucket.
+  private static final int TOKEN_BITS = 22;
+
+  // The largest bucket that fits in the state (the level ranges from -2 to 1 times the capacity).
+  public static final long MAX_CAPACITY = (1L << (TOKEN_BITS - 2)) - 1;
+
+  // The amount of tokens in a full bucket, refilled every {timeIntervalMs}.
+  private final long capacity;
+
+  // The interval (in milliseconds) in which the whole bucket is refilled.
+  private final long timeIntervalMs;
+
+  // The time of the anchor and the level of the bucket (offset by twice the capacity).
+  private final AtomicLong state;
+
+  /**
+   * Creates a TokenBucketStrategy with the specified maxRequests and timeIntervalMs values.
+   *
+   * @param maxRequests The amount of tokens in a full bucket.
+   * @param timeIntervalMs The interval (in milliseconds) in which the whole bucket is refilled.
+   */
+  public TokenBucketStrategy(long maxRequests, long timeIntervalMs) {
+    if (maxRequests < 1 || maxRequests > MAX_CAPACITY)
+      throw new IllegalArgumentException("maxRequests must be between 1 and " + MAX_CAPACITY);
+
+    this.capacity = maxRequests;
+    this.timeIntervalMs = timeIntervalMs;
+    this.state = new AtomicLong(full(0L));
+  }
+
+  @Override
+  public boolean tryAcquire(long currentTimeMillis, long permits) {
+    long now = Math.max(0L, currentTimeMillis);
+
+    while (true) {
+      long current = state.get();
+      long refilled = refill(current, now);
+
+      if (tokens(refilled, now) < permits) return false;
+
+      if (state.compareAndSet(current, refilled - permits)) return true;
+    }
+  }
+
+  /**
+   * Takes the given amount of tokens: the missing ones become a debt, paid back by the next refills
+   * (up to one whole interval).
+   *
+   * @param currentTimeMillis The time (in milliseconds) of the request.
+   * @param permits The amount of tokens to take.
+   */
+  @Override
+  public void consume(long currentTimeMillis, long permits) {
+    long now = Math.max(0L, currentTimeMillis);
+
+    while (true) {
+      long current = state.get();
+      long refilled = refill(current, now);
+      long taken = Math.min(permits, tokens(refilled, now) + capacity);
+
+      if (state.compareAndSet(current, refilled - taken)) return;
+    }
+  }
+
+  @Override
+  public long getLimit() {
+    return capacity;
+  }
+
+  @Override
+  public long getRemaining(long currentTimeMillis) {
+    long now = Math.max(0L, currentTimeMillis);
+    return Math.max(0L, tokens(refill(state.get(), now), now));
+  }
+
+  @Override
+  public long getResetMs(long currentTimeMillis) {
+    long now = Math.max(0L, currentTimeMillis);
+    long refilled = refill(state.get(), now);
+
+    if (tokens(refilled, now) >= capacity) return 0L;
+
+    return Math.max(0L, earnedAt(refilled, capacity) - now);
+  }
+
+  @Override
+  public long getWaitMs(long currentTimeMillis) {
+    long now = Math.max(0L, currentTimeMillis);
+    long refilled = refill(state.get(), now);
+
+    if (tokens(refilled, now) > 0) return 0L;
+
+    return Math.max(0L, earnedAt(refilled, 1L) - now);
+  }
+
+  @Override
+  public void refund(long currentTimeMillis, long permits) {
+    long now = Math.max(0L, currentTimeMillis);
+
+    while (true) {
+      long current = state.get();
+      long refilled = refill(current, now);
+
+      // Pay back the debt first, then give back the tokens
+      long given = Math.min(permits, capacity - tokens(refilled, now));
+      long next = refill(refilled + given, now);
+
+      if (given == 0 || state.compareAndSet(current, next)) return;
+    }
+  }
+
+  @Override
+  public void reset() {
+    // A full bucket: the anchor is moved by the next request
+    state.set(full(0L));
+  }
+
+  @Override
+  public RateLimitStrategy newInstance() {
+    return new TokenBucketStrategy(capacity, timeIntervalMs);
+  }
+
+  // Returns the state with the anchor moved by the whole intervals elapsed, or the state of a full
+  // bucket if the bucket is full
+  private long refill(long current, long now) {
+    long anchor = current >>> TOKEN_BITS;
+    long elapsed = now - anchor;
+
+    if (elapsed <= 0) return current;
+
+    // Even the deepest debt is paid after 3 intervals
+    if (elapsed >= 3 * timeIntervalMs || tokens(current, now) >= capacity) return full(now);
+
+    long intervals = elapsed / timeIntervalMs;
+    if (intervals == 0) return current;
+
+    return pack(anchor + intervals * timeIntervalMs, level(current) + intervals * capacity);
+  }
+
+  // The tokens in the bucket at the given time, never above the capacity (negative if in debt)
+  private long tokens(long current, long now) {
+    long elapsed = Math.max(0L, now - (current >>> TOKEN_BITS));
+
+    if (elapsed >= 3 * timeIntervalMs) return capacity;
+
+    return Math.min(capacity, level(current) + elapsed * capacity / timeIntervalMs);
+  }
+
+  // The time at which the bucket holds the given amount of tokens (rounded up to the millisecond)
+  private long earnedAt(long current, long tokens) {
+    long missing = tokens - level(current);
+
+    return (current >>> TOKEN_BITS) + (missing * timeIntervalMs + capacity - 1) / capacity;
+  }
+
+  private long level(long current) {
+    return (current & ((1L << TOKEN_BITS) - 1)) - 2 * capacity;
+  }
+
+  private long full(long now) {
+    return pack(now, capacity);
+  }
+
+  private long pack(long anchor, long level) {
+    return (anchor << TOKEN_BITS) | (level + 2 * capacity);
+  }
+}
@@ -0,0 +1,177 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ *
+ *
+ * <h1>UsageAccumulator</h1>
+ *
+ * <p>Counts the requests allowed and rejected for every client on every endpoint, in memory, so
+ * that they can be flushed to the database in batches by a background task (see {@link #drain}).
+ *
+ * <p>Recording a request never locks nor allocates, once the client has been seen: it is a lookup
+ * in a ConcurrentHashMap and the increment of a {@link LongAdder}. The counters are never reset:
+ * every drain reports the difference from the counts reported by the previous drain, so no request
+ * recorded while draining is ever lost.
+ *
+ * <p>The clients that made no request since the previous drain are dropped, to keep the memory
+ * bounded by the clients active in a single flush interval. A dropped client is drained once more
+ * by the next drain, once the requests that raced with its removal are done recording: a request
+ * never records into dropped counters, it looks the client up again instead.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class UsageAccumulator {
+  // The counters of every client, by endpoint and client identity.
+  private final Map<String, Map<String, Counters>> endpoints = new ConcurrentHashMap<>();
+
+  // The counters dropped by the previous drain, drained once more by the next one.
+  private List<Counters> retired = new ArrayList<>();
+
+  /**
+   * Records a request of the given client to the given endpoint.
+   *
+   * @param endpoint The name of the endpoint (e.g. "city").
+   * @param clientKey The identity of the client (see {@link ClientKeyResolver}).
+   * @param allowed Whether the request was allowed.
+   */
+  public void record(String endpoint, String clientKey, boolean allowed) {
+    Map<String, Counters> clients = endpoints.get(endpoint);
+    if (clients == null)
+      clients = endpoints.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>());
+
+    while (true) {
+      Counters counters = clients.get(clientKey);
+      if (counters == null)
+        counters = clients.computeIfAbsent(clientKey, key -> new Counters(endpoint, key));
+
+      // The counters may have been dropped by a drain in the meantime: look them up again
+      if (!counters.enter()) continue;
+
+      if (allowed) counters.allowed.increment();
+      else counters.rejected.increment();
+
+      counters.exit();
+      return;
+    }
+  }
+
+  /**
+   * Reports the requests recorded since the previous drain, for every client that made any. Must
+   * not be called by more than one thread at the same time.
+   *
+   * @param sink Receives the amount of requests allowed and rejected for every client and endpoint.
+   */
+  public void drain(Sink sink) {
+    List<Counters> retiring = new ArrayList<>();
+
+    for (Map<String, Counters> clients : endpoints.values()) {
+      Iterator<Counters> iterator = clients.values().iterator();
+
+      while (iterator.hasNext()) {
+        Counters counters = iterator.next();
+
+        if (!counters.drain(sink)) {
+          iterator.remove();
+          counters.retire();
+          retiring.add(counters);
+        }
+      }
+    }
+
+    for (Counters counters : retired) {
+      counters.awaitWriters();
+      counters.drain(sink);
+    }
+
+    retired = retiring;
+  }
+
+  /** Receives the requests recorded for a client on an endpoint. */
+  @FunctionalInterface
+  public interface Sink {
+    /**
+     * Receives the requests recorded for a client on an endpoint since the previous drain.
+     *
+     * @param endpoint The name of the endpoint.
+     * @param clientKey The identity of the client.
+     * @param allowed The amount of requests allowed.
+     * @param rejected The amount of requests rejected.
+     */
+    void accept(String endpoint, String clientKey, long allowed, long rejected);
+  }
+
+  private static class Counters {
+    // The name of the endpoint.
+    private final String endpoint;
+
+    // The identity of the client.
+    private final String clientKey;
+
+    // The requests allowed and rejected since the client was first seen.
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // The requests recording into the counters right now.
+    private final LongAdder writers = new LongAdder();
+
+    // Whether the counters were dropped: no request records into them anymore.
+    private volatile boolean retired = false;
+
+    // The counts already reported, only read and written by the draining thread.
+    private long drainedAllowed = 0L;
+    private long drainedRejected = 0L;
+
+    private Counters(String endpoint, String clientKey) {
+      this.endpoint = endpoint;
+      this.clientKey = clientKey;
+    }
+
+    // Starts recording a request, returning false if the counters were dropped
+    private boolean enter() {
+      writers.increment();
+
+      if (!retired) return true;
+
+      writers.decrement();
+      return false;
+    }
+
+    // Ends recording a request
+    private void exit() {
+      writers.decrement();
+    }
+
+    // Stops the requests from recording into the counters
+    private void retire() {
+      retired = true;
+    }
+
+    // Waits for the requests that entered before the counters were dropped
+    private void awaitWriters() {
+      while (writers.sum() != 0L) Thread.yield();
+    }
+
+    // Reports the requests recorded since the previous drain, returning false if there were none
+    private boolean drain(Sink sink) {
+      long allowed = this.allowed.sum();
+      long rejected = this.rejected.sum();
+
+      if (allowed == drainedAllowed && rejected == drainedRejected) return false;
+
+      sink.accept(endpoint, clientKey, allowed - drainedAllowed, rejected - drainedRejected);
+
+      drainedAllowed = allowed;
+      drainedRejected = rejected;
+      return true;
+    }
+  }
+}
@@ -23,4 +23,7 @@ INSERT INTO hotels (city, room, price) VALUES ('Ashburn','Sweet Suite', 14000)
 INSERT INTO hotels (city, room, price) VALUES ('Amsterdam','Deluxe', 5000)
 INSERT INTO hotels (city, room, price) VALUES ('Ashburn','Superior', 1400)
 INSERT INTO hotels (city, room, price) VALUES ('Ashburn','Deluxe', 1900)
-INSERT INTO hotels (city, room, price) VALUES ('Amsterdam','Deluxe', 2300)
\ No newline at end of file
+INSERT INTO hotels (city, room, price) VALUES ('Amsterdam','Deluxe', 2300)
+
+-- Fill in the normalized columns (see Hotel.key), as the rows are not inserted through JPA
+UPDATE hotels SET city_key = LOWER(city), room_key = LOWER(room)
\ No newline at end of file
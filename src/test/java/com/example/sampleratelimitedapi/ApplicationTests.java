@@ -1,10 +1,15 @@
 package com.example.sampleratelimitedapi;
 
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.example.sampleratelimitedapi.config.UsageFlusher;
+import com.example.sampleratelimitedapi.controllers.HotelController;
 import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.utils.ClientKeyResolver;
 import com.example.sampleratelimitedapi.utils.RateLimiter;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.Arrays;
@@ -30,7 +35,8 @@ import org.springframework.test.web.servlet.MockMvc;
  * @version 1.0
  * @since 2020-02-23
  */
-@SpringBootTest
+@SpringBootTest(
+    properties = "rate-limit.api-keys=first-client,second-client,streaming-client,usage-secret-key")
 @AutoConfigureMockMvc
 public class ApplicationTests {
   private static final String CITY = "Bangkok";
@@ -45,6 +51,9 @@ public class ApplicationTests {
   @Autowired
   private ObjectMapper objectMapper;
 
+  @Autowired
+  private UsageFlusher usageFlusher;
+
   private static List<Hotel> sameCityHotels;
   private static List<Hotel> sameRoomHotels;
 
@@ -139,4 +148,98 @@ public class ApplicationTests {
         .andExpect(status().isOk())
         .andExpect(content().json(objectMapper.writeValueAsString(this.sameRoomHotels)));
   }
+
+  // GET /city/{city} (Rate Limiter per client)
+
+  /**
+   * If a client exceeds the rate limit of the GET /city/{CITY} method, we expect the API to keep
+   * serving the requests of the other clients.
+   */
+  @Test
+  public void testGetHotelsByCityWithRateLimiterPerClient() throws Exception {
+    for (int i = 0; i < 10; i++) {
+      // Perform HTTP request
+      this.mockMvc
+          .perform(get("/city/" + CITY).header(ClientKeyResolver.API_KEY_HEADER, "first-client"))
+          .andExpect(status().isOk());
+    }
+
+    // This request should fail
+    this.mockMvc
+        .perform(get("/city/" + CITY).header(ClientKeyResolver.API_KEY_HEADER, "first-client"))
+        .andExpect(status().isTooManyRequests());
+
+    // This request (from a different client) should pass
+    this.mockMvc
+        .perform(get("/city/" + CITY).header(ClientKeyResolver.API_KEY_HEADER, "second-client"))
+        .andExpect(status().isOk());
+  }
+
+  // GET /city/{city} (NDJSON)
+
+  /**
+   * If we call the GET /city/{CITY} method accepting NDJSON, we expect the API to stream the Hotel
+   * in {CITY} ordered by price ASC, one JSON object per line. We also test that the streamed
+   * requests share the rate limit (max 10 requests in 5 seconds) of the JSON ones.
+   */
+  @Test
+  public void testStreamHotelsByCityWithRateLimiter() throws Exception {
+    // Order sameCityHotels by price ASC
+    this.sameCityHotels.sort(Comparator.comparing(Hotel::getPrice));
+
+    StringBuilder lines = new StringBuilder();
+    for (Hotel hotel : this.sameCityHotels)
+      lines.append(objectMapper.writeValueAsString(hotel)).append('\n');
+
+    for (int i = 0; i < 9; i++) {
+      // Perform HTTP request
+      this.mockMvc
+          .perform(
+              get("/city/" + CITY + "?sortByPrice=ASC")
+                  .header(ClientKeyResolver.API_KEY_HEADER, "streaming-client"))
+          .andExpect(status().isOk());
+    }
+
+    // Perform HTTP request (NDJSON)
+    this.mockMvc
+        .perform(
+            get("/city/" + CITY + "?sortByPrice=ASC")
+                .accept(HotelController.NDJSON_VALUE)
+                .header(ClientKeyResolver.API_KEY_HEADER, "streaming-client"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(HotelController.NDJSON_VALUE))
+        .andExpect(content().string(lines.toString()));
+
+    // This request should fail
+    this.mockMvc
+        .perform(
+            get("/city/" + CITY + "?sortByPrice=ASC")
+                .accept(HotelController.NDJSON_VALUE)
+                .header(ClientKeyResolver.API_KEY_HEADER, "streaming-client"))
+        .andExpect(status().isTooManyRequests());
+  }
+
+  // GET /usage
+
+  /**
+   * If a client sends an API key, we expect the GET /usage method to report the client by a hash
+   * of the key, and never to return the key itself.
+   */
+  @Test
+  public void testUsageNeverExposesApiKey() throws Exception {
+    String apiKey = "usage-secret-key";
+
+    // Perform HTTP request
+    this.mockMvc
+        .perform(get("/room/" + ROOM).header(ClientKeyResolver.API_KEY_HEADER, apiKey))
+        .andExpect(status().isOk());
+
+    this.usageFlusher.flush();
+
+    this.mockMvc
+        .perform(get("/usage"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(containsString("key:" + ClientKeyResolver.hash(apiKey))))
+        .andExpect(content().string(not(containsString(apiKey))));
+  }
 }
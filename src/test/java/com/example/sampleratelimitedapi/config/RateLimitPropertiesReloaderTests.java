@@ -0,0 +1,119 @@
+package com.example.sampleratelimitedapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import com.example.sampleratelimitedapi.interceptors.RateLimitInterceptor;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ *
+ *
+ * <h1>RateLimitPropertiesReloaderTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the RateLimitPropertiesReloader class
+ *
+ * <p>We use Mockito to generate a mocked instance of the RateLimitInterceptor, and a
+ * MockEnvironment in place of the application.properties file.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class RateLimitPropertiesReloaderTests {
+  @Mock private RateLimitInterceptor rateLimitInterceptor;
+
+  @Mock private TaskScheduler taskScheduler;
+
+  @TempDir Path directory;
+
+  // The reloader is never started, so the test drives every check of the file
+  private RateLimitPropertiesReloader reloader(Path file, MockEnvironment environment) {
+    RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    rateLimitProperties.setReloadFile(file.toString());
+
+    return new RateLimitPropertiesReloader(
+        rateLimitProperties, environment, rateLimitInterceptor, taskScheduler);
+  }
+
+  private static void write(Path file, String content, long modifiedMs) throws Exception {
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMs));
+  }
+
+  /**
+   * Given a reload file overriding the limit of the "city" endpoint. When the file is reloaded.
+   * Then the properties of the file should be applied, on top of the ones of the environment.
+   */
+  @Test
+  public void testReload() throws Exception {
+    Path file = directory.resolve("rate-limit.properties");
+    write(file, "rate-limit.endpoints.city.max-requests=3\n", 1000L);
+
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("rate-limit.endpoints.city.max-requests", "10")
+            .withProperty("rate-limit.endpoints.city.algorithm", "GCRA")
+            .withProperty("rate-limit.blocked-time-ms", "1000");
+
+    RateLimitPropertiesReloader reloader = reloader(file, environment);
+
+    assertThat(reloader.reloadIfModified()).isEqualTo(true);
+
+    ArgumentCaptor<RateLimitProperties> reloaded =
+        ArgumentCaptor.forClass(RateLimitProperties.class);
+    verify(rateLimitInterceptor).reload(reloaded.capture());
+
+    assertThat(reloaded.getValue().getEndpoint("city").getMaxRequests()).isEqualTo(3L);
+    assertThat(reloaded.getValue().getEndpoint("city").getAlgorithm().name()).isEqualTo("GCRA");
+    assertThat(reloaded.getValue().getBlockedTimeMs()).isEqualTo(1000L);
+  }
+
+  /**
+   * Given a reload file already reloaded. When the file is checked again. Then it should only be
+   * reloaded again once it is modified.
+   */
+  @Test
+  public void testReloadIfModified() throws Exception {
+    Path file = directory.resolve("rate-limit.properties");
+    write(file, "rate-limit.blocked-time-ms=1000\n", 1000L);
+
+    RateLimitPropertiesReloader reloader = reloader(file, new MockEnvironment());
+
+    assertThat(reloader.reloadIfModified()).isEqualTo(true);
+    assertThat(reloader.reloadIfModified()).isEqualTo(false);
+
+    write(file, "rate-limit.blocked-time-ms=2000\n", 2000L);
+
+    assertThat(reloader.reloadIfModified()).isEqualTo(true);
+  }
+
+  /**
+   * Given a reload file with an invalid value. When the file is checked. Then the current settings
+   * should be kept.
+   */
+  @Test
+  public void testInvalidFile() throws Exception {
+    Path file = directory.resolve("rate-limit.properties");
+    write(file, "rate-limit.blocked-time-ms=soon\n", 1000L);
+
+    RateLimitPropertiesReloader reloader = reloader(file, new MockEnvironment());
+
+    assertThat(reloader.reloadIfModified()).isEqualTo(false);
+    verify(rateLimitInterceptor, never()).reload(any());
+  }
+}
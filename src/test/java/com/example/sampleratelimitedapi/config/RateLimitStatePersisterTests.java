@@ -0,0 +1,79 @@
+package com.example.sampleratelimitedapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.sampleratelimitedapi.interceptors.RateLimitInterceptor;
+import com.example.sampleratelimitedapi.utils.RateLimiterSnapshot;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ *
+ *
+ * <h1>RateLimitStatePersisterTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the RateLimitStatePersister class
+ *
+ * <p>We use Mockito to generate a mocked instance of the RateLimitInterceptor
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class RateLimitStatePersisterTests {
+  @Mock private RateLimitInterceptor rateLimitInterceptor;
+
+  @Mock private TaskScheduler taskScheduler;
+
+  @TempDir Path directory;
+
+  // The persister is never started, so the test drives every save and restore
+  private RateLimitStatePersister persister(Path file) {
+    RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    rateLimitProperties.setSnapshotFile(file.toString());
+
+    return new RateLimitStatePersister(rateLimitProperties, rateLimitInterceptor, taskScheduler);
+  }
+
+  /**
+   * Given the snapshots of the RateLimiter instances. When they are saved, and restored by another
+   * persister (e.g. after a restart). Then the same snapshots should be restored.
+   */
+  @Test
+  public void testSaveAndRestore() {
+    Path file = directory.resolve("snapshots");
+    Map<String, RateLimiterSnapshot> snapshots =
+        Collections.singletonMap("global", new RateLimiterSnapshot(7L, 1000L, 0L));
+    when(rateLimitInterceptor.snapshot()).thenReturn(snapshots);
+
+    assertThat(persister(file).save()).isEqualTo(true);
+    assertThat(persister(file).restore()).isEqualTo(true);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Map<String, RateLimiterSnapshot>> restored = ArgumentCaptor.forClass(Map.class);
+    verify(rateLimitInterceptor).restore(restored.capture());
+
+    assertThat(restored.getValue().get("global").getUsed()).isEqualTo(7L);
+  }
+
+  /** A persister without a snapshot file should never save nor restore anything. */
+  @Test
+  public void testDisabled() {
+    RateLimitStatePersister persister =
+        new RateLimitStatePersister(new RateLimitProperties(), rateLimitInterceptor, taskScheduler);
+
+    assertThat(persister.save()).isEqualTo(false);
+    assertThat(persister.restore()).isEqualTo(false);
+  }
+}
@@ -0,0 +1,143 @@
+package com.example.sampleratelimitedapi.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.example.sampleratelimitedapi.models.Usage;
+import com.example.sampleratelimitedapi.services.UsageService;
+import com.example.sampleratelimitedapi.utils.UsageAccumulator;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ *
+ *
+ * <h1>UsageFlusherTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the UsageFlusher class
+ *
+ * <p>We use Mockito to generate a mocked instance based on the UsageService interface
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class UsageFlusherTests {
+  private static final String CLIENT = "ip:10.0.0.1";
+
+  @Mock private UsageService usageService;
+
+  @Mock private TaskScheduler taskScheduler;
+
+  /**
+   * Given a client that made three requests, one of them rejected. When the usage is flushed. Then
+   * a single Usage row should be saved, with the requests allowed and rejected.
+   */
+  @Test
+  public void testFlush() {
+    UsageAccumulator accumulator = new UsageAccumulator();
+    accumulator.record("city", CLIENT, true);
+    accumulator.record("city", CLIENT, true);
+    accumulator.record("city", CLIENT, false);
+
+    // The flusher is never started, so the test drives every flush
+    UsageFlusher flusher =
+        new UsageFlusher(new RateLimitProperties(), accumulator, usageService, taskScheduler);
+    assertThat(flusher.flush()).isEqualTo(true);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Usage>> saved = ArgumentCaptor.forClass(List.class);
+    verify(usageService).saveAll(saved.capture());
+
+    assertThat(saved.getValue().size()).isEqualTo(1);
+    Usage usage = saved.getValue().get(0);
+    assertThat(usage.getClientKey()).isEqualTo(CLIENT);
+    assertThat(usage.getEndpoint()).isEqualTo("city");
+    assertThat(usage.getAllowed()).isEqualTo(2L);
+    assertThat(usage.getRejected()).isEqualTo(1L);
+    assertThat(usage.getPeriodStartMs()).isLessThanOrEqualTo(usage.getPeriodEndMs());
+  }
+
+  /** A flush without any request should not write to the database. */
+  @Test
+  public void testFlushNothing() {
+    UsageFlusher flusher =
+        new UsageFlusher(
+            new RateLimitProperties(), new UsageAccumulator(), usageService, taskScheduler);
+
+    assertThat(flusher.flush()).isEqualTo(true);
+    verify(usageService, never()).saveAll(anyList());
+  }
+
+  /**
+   * Given a database that can not be written. When the usage is flushed. Then the rows should be
+   * kept, and saved again by the next flush.
+   */
+  @Test
+  public void testFlushRetries() {
+    UsageAccumulator accumulator = new UsageAccumulator();
+    accumulator.record("city", CLIENT, true);
+
+    UsageFlusher flusher =
+        new UsageFlusher(new RateLimitProperties(), accumulator, usageService, taskScheduler);
+
+    doThrow(new DataAccessResourceFailureException("down")).when(usageService).saveAll(anyList());
+    assertThat(flusher.flush()).isEqualTo(false);
+
+    doNothing().when(usageService).saveAll(anyList());
+    assertThat(flusher.flush()).isEqualTo(true);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<Usage>> saved = ArgumentCaptor.forClass(List.class);
+    verify(usageService, times(2)).saveAll(saved.capture());
+
+    assertThat(saved.getValue().size()).isEqualTo(1);
+    assertThat(saved.getValue().get(0).getAllowed()).isEqualTo(1L);
+  }
+
+  /**
+   * Given a flusher. When it is started, then closed. Then the flush should be scheduled on the
+   * TaskScheduler every "rate-limit.usage-flush-interval-ms" milliseconds, and cancelled once the
+   * flusher is closed.
+   */
+  @Test
+  public void testStartAndClose() {
+    ScheduledFuture<?> flushTask = mock(ScheduledFuture.class);
+    doReturn(flushTask)
+        .when(taskScheduler)
+        .scheduleWithFixedDelay(any(Runnable.class), any(Instant.class), any(Duration.class));
+
+    RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    UsageFlusher flusher =
+        new UsageFlusher(rateLimitProperties, new UsageAccumulator(), usageService, taskScheduler);
+
+    flusher.start();
+    verify(taskScheduler)
+        .scheduleWithFixedDelay(
+            any(Runnable.class),
+            any(Instant.class),
+            eq(Duration.ofMillis(rateLimitProperties.getUsageFlushIntervalMs())));
+
+    flusher.close();
+    verify(flushTask).cancel(false);
+  }
+}
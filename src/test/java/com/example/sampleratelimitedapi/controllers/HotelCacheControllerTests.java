@@ -0,0 +1,58 @@
+package com.example.sampleratelimitedapi.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.example.sampleratelimitedapi.repositories.CachingHotelRepository;
+import com.example.sampleratelimitedapi.utils.TinyLfuCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ *
+ *
+ * <h1>HotelCacheControllerTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the HotelCacheController class
+ *
+ * <p>We use Mockito to generate a mocked instance based on the CachingHotelRepository class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class HotelCacheControllerTests {
+  @Mock private CachingHotelRepository cachingHotelRepository;
+
+  /** Calls the "getStats" method that should return the statistics of the cache. */
+  @Test
+  public void getStats() {
+    // Mockito configuration
+    when(cachingHotelRepository.getStats()).thenReturn(new TinyLfuCache.Stats(3L, 1L, 0L, 0L, 1));
+
+    // Test
+    HotelCacheController hotelCacheController = new HotelCacheController(cachingHotelRepository);
+    ResponseEntity<TinyLfuCache.Stats> response = hotelCacheController.getStats();
+
+    assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+    assertThat(response.getBody()).isNotNull();
+    assertThat(response.getBody().getHitRate()).isEqualTo(0.75);
+  }
+
+  /** Calls the "getStats" method with the cache disabled, that should return 404. */
+  @Test
+  public void getStatsDisabled() {
+    // Mockito configuration
+    when(cachingHotelRepository.getStats()).thenReturn(null);
+
+    // Test
+    HotelCacheController hotelCacheController = new HotelCacheController(cachingHotelRepository);
+
+    assertThat(hotelCacheController.getStats().getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+  }
+}
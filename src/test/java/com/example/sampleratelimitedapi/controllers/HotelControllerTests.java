@@ -1,20 +1,30 @@
 package com.example.sampleratelimitedapi.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelCursor;
 import com.example.sampleratelimitedapi.services.HotelService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 /**
  *
@@ -39,6 +49,9 @@ public class HotelControllerTests {
   private static final String DIFFERENT_ROOM = "Superior";
   private static final String NOT_AVAILABLE_ROOM = "GigaDeluxe";
 
+  // The ObjectMapper of the application, with the default settings.
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   @Mock private HotelService hotelService;
 
   private static List<Hotel> sameCityHotels;
@@ -71,8 +84,9 @@ public class HotelControllerTests {
     when(hotelService.findAllHotelsByCity(CITY, "ASC")).thenReturn(sameCityHotels);
 
     // Test (without Rate Limiter)
-    HotelController hotelController = new HotelController(this.hotelService, null, null);
-    ResponseEntity<List<Hotel>> hotels = hotelController.findAllHotelsByCity(CITY, "ASC");
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
+    ResponseEntity<List<Hotel>> hotels =
+        hotelController.findAllHotelsByCity(CITY, "ASC", null, null);
 
     assertThat(hotels.getBody()).isNotNull();
     assertThat(hotels.getBody().size()).isEqualTo(2);
@@ -101,8 +115,9 @@ public class HotelControllerTests {
     when(hotelService.findAllHotelsByCity(CITY, "DESC")).thenReturn(sameCityHotels);
 
     // Test (without Rate Limiter)
-    HotelController hotelController = new HotelController(this.hotelService, null, null);
-    ResponseEntity<List<Hotel>> hotels = hotelController.findAllHotelsByCity(CITY, "DESC");
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
+    ResponseEntity<List<Hotel>> hotels =
+        hotelController.findAllHotelsByCity(CITY, "DESC", null, null);
 
     assertThat(hotels.getBody()).isNotNull();
     assertThat(hotels.getBody().size()).isEqualTo(2);
@@ -131,9 +146,9 @@ public class HotelControllerTests {
     when(hotelService.findAllHotelsByCity(NOT_AVAILABLE_CITY, "ASC")).thenReturn(new ArrayList<>());
 
     // Test (without Rate Limiter)
-    HotelController hotelController = new HotelController(this.hotelService, null, null);
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
     ResponseEntity<List<Hotel>> hotels =
-        hotelController.findAllHotelsByCity(NOT_AVAILABLE_CITY, "ASC");
+        hotelController.findAllHotelsByCity(NOT_AVAILABLE_CITY, "ASC", null, null);
 
     assertThat(hotels.getBody()).isNotNull();
     assertThat(hotels.getBody().size()).isEqualTo(0);
@@ -152,8 +167,9 @@ public class HotelControllerTests {
     when(hotelService.findAllHotelsByRoom(ROOM, "ASC")).thenReturn(sameRoomHotels);
 
     // Test (without Rate Limiter)
-    HotelController hotelController = new HotelController(this.hotelService, null, null);
-    ResponseEntity<List<Hotel>> hotels = hotelController.findAllHotelsByRoom(ROOM, "ASC");
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
+    ResponseEntity<List<Hotel>> hotels =
+        hotelController.findAllHotelsByRoom(ROOM, "ASC", null, null);
 
     assertThat(hotels.getBody()).isNotNull();
     assertThat(hotels.getBody().size()).isEqualTo(2);
@@ -182,8 +198,9 @@ public class HotelControllerTests {
     when(hotelService.findAllHotelsByRoom(ROOM, "DESC")).thenReturn(sameRoomHotels);
 
     // Test (without Rate Limiter)
-    HotelController hotelController = new HotelController(this.hotelService, null, null);
-    ResponseEntity<List<Hotel>> hotels = hotelController.findAllHotelsByRoom(ROOM, "DESC");
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
+    ResponseEntity<List<Hotel>> hotels =
+        hotelController.findAllHotelsByRoom(ROOM, "DESC", null, null);
 
     assertThat(hotels.getBody()).isNotNull();
     assertThat(hotels.getBody().size()).isEqualTo(2);
@@ -212,11 +229,145 @@ public class HotelControllerTests {
     when(hotelService.findAllHotelsByRoom(NOT_AVAILABLE_ROOM, "ASC")).thenReturn(new ArrayList<>());
 
     // Test (without Rate Limiter)
-    HotelController hotelController = new HotelController(this.hotelService, null, null);
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
     ResponseEntity<List<Hotel>> hotels =
-        hotelController.findAllHotelsByRoom(NOT_AVAILABLE_ROOM, "ASC");
+        hotelController.findAllHotelsByRoom(NOT_AVAILABLE_ROOM, "ASC", null, null);
 
     assertThat(hotels.getBody()).isNotNull();
     assertThat(hotels.getBody().size()).isEqualTo(0);
   }
+
+  // Pages
+
+  /**
+   * Calls the "findAllHotelsByCity" method with a limit of 1, that should return the first Hotel in
+   * {CITY} and the cursor of the next page, which should return the last Hotel without a cursor.
+   */
+  @Test
+  public void findPagesByCity() {
+    // Mockito configuration
+    Hotel cheapest = new Hotel(1L, CITY, DIFFERENT_ROOM, 1400);
+    Hotel priciest = new Hotel(3L, CITY, ROOM, 1900);
+    when(hotelService.findHotelsPageByCity(CITY, "ASC", null, 2))
+        .thenReturn(new ArrayList<>(Arrays.asList(cheapest, priciest)));
+    when(hotelService.findHotelsPageByCity(eq(CITY), eq("ASC"), any(HotelCursor.class), eq(2)))
+        .thenReturn(new ArrayList<>(Arrays.asList(priciest)));
+
+    // Test (without Rate Limiter)
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
+    ResponseEntity<List<Hotel>> first = hotelController.findAllHotelsByCity(CITY, "ASC", 1, null);
+
+    assertThat(first.getBody()).isNotNull();
+    assertThat(first.getBody().size()).isEqualTo(1);
+    assertThat(first.getBody().get(0).getId()).isEqualTo(1L);
+
+    String cursor = first.getHeaders().getFirst(HotelController.NEXT_CURSOR_HEADER);
+    assertThat(cursor).isNotNull();
+    assertThat(HotelCursor.parse(cursor).getPrice()).isEqualTo(1400);
+    assertThat(HotelCursor.parse(cursor).getId()).isEqualTo(1L);
+
+    ResponseEntity<List<Hotel>> last = hotelController.findAllHotelsByCity(CITY, "ASC", 1, cursor);
+
+    assertThat(last.getBody()).isNotNull();
+    assertThat(last.getBody().get(0).getId()).isEqualTo(3L);
+    assertThat(last.getHeaders().containsKey(HotelController.NEXT_CURSOR_HEADER)).isEqualTo(false);
+  }
+
+  /**
+   * Calls the "findAllHotelsByRoom" method with a cursor that is not valid, that should return 400.
+   */
+  @Test
+  public void findPageByRoomInvalidCursor() {
+    // Test (without Rate Limiter)
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
+    ResponseEntity<List<Hotel>> hotels =
+        hotelController.findAllHotelsByRoom(ROOM, "ASC", 10, "not a cursor");
+
+    assertThat(hotels.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+  }
+
+  // Streams
+
+  /**
+   * Calls the "streamAllHotelsByCity" method that should write the Hotel instances in {CITY}, one
+   * JSON object per line, in the order they are passed by the service.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void streamByExistingCity() throws Exception {
+    // Mockito configuration
+    doAnswer(
+            invocation -> {
+              Consumer<Hotel> action = invocation.getArgument(2);
+              sameCityHotels.forEach(action);
+              return null;
+            })
+        .when(hotelService)
+        .forEachHotelByCity(eq(CITY), eq("DESC"), any(Consumer.class));
+
+    // Test (without Rate Limiter)
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    hotelController.streamAllHotelsByCity(CITY, "DESC", new MockHttpServletRequest(), response);
+
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    assertThat(response.getContentType()).isEqualTo(HotelController.NDJSON_VALUE);
+
+    String[] lines = response.getContentAsString().split("\n");
+    assertThat(lines.length).isEqualTo(sameCityHotels.size());
+    assertThat(response.getContentAsString().endsWith("\n")).isEqualTo(true);
+
+    for (int i = 0; i < lines.length; i++) {
+      assertThat(lines[i]).startsWith("{").endsWith("}");
+      assertThat(lines[i]).contains("\"id\":" + sameCityHotels.get(i).getId());
+    }
+  }
+
+  /**
+   * Calls the "streamAllHotelsByCity" method with an ObjectMapper naming the properties in upper
+   * camel case, that should write the Hotel instances with the settings of that ObjectMapper.
+   */
+  @Test
+  @SuppressWarnings("unchecked")
+  public void streamWithObjectMapperSettings() throws Exception {
+    // Mockito configuration
+    doAnswer(
+            invocation -> {
+              Consumer<Hotel> action = invocation.getArgument(2);
+              sameCityHotels.forEach(action);
+              return null;
+            })
+        .when(hotelService)
+        .forEachHotelByCity(eq(CITY), eq("DESC"), any(Consumer.class));
+
+    // Test (without Rate Limiter)
+    ObjectMapper objectMapper =
+        new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategy.UPPER_CAMEL_CASE);
+    HotelController hotelController = new HotelController(this.hotelService, objectMapper);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    hotelController.streamAllHotelsByCity(CITY, "DESC", new MockHttpServletRequest(), response);
+
+    String[] lines = response.getContentAsString().split("\n");
+    assertThat(lines.length).isEqualTo(sameCityHotels.size());
+
+    for (int i = 0; i < lines.length; i++) {
+      assertThat(lines[i]).contains("\"Id\":" + sameCityHotels.get(i).getId());
+    }
+  }
+
+  /**
+   * Calls the "streamAllHotelsByRoom" method with {NOT_AVAILABLE_ROOM}, that should write an empty
+   * body.
+   */
+  @Test
+  public void streamByNonAvailableRoom() throws Exception {
+    // Test (without Rate Limiter)
+    HotelController hotelController = new HotelController(this.hotelService, OBJECT_MAPPER);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    hotelController.streamAllHotelsByRoom(
+        NOT_AVAILABLE_ROOM, null, new MockHttpServletRequest(), response);
+
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+    assertThat(response.getContentAsString()).isEqualTo("");
+  }
 }
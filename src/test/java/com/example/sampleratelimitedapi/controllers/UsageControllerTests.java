@@ -0,0 +1,56 @@
+package com.example.sampleratelimitedapi.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.example.sampleratelimitedapi.models.UsageSummary;
+import com.example.sampleratelimitedapi.services.UsageService;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+
+/**
+ *
+ *
+ * <h1>UsageControllerTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the UsageController class
+ *
+ * <p>We use Mockito to generate a mocked instance based on the UsageService interface
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class UsageControllerTests {
+  private static final String CLIENT = "ip:10.0.0.1";
+
+  @Mock private UsageService usageService;
+
+  /**
+   * Calls the "findUsage" method that should return the usage of {CLIENT} on every endpoint in the
+   * given period.
+   */
+  @Test
+  public void findUsageOfClient() {
+    // Mockito configuration
+    List<UsageSummary> usage =
+        Arrays.asList(
+            new UsageSummary(CLIENT, "city", 10L, 2L), new UsageSummary(CLIENT, "room", 3L, 0L));
+    when(usageService.findUsage(CLIENT, 1000L, 2000L)).thenReturn(usage);
+
+    // Test
+    UsageController usageController = new UsageController(this.usageService);
+    ResponseEntity<List<UsageSummary>> response = usageController.findUsage(CLIENT, 1000L, 2000L);
+
+    assertThat(response.getBody()).isNotNull();
+    assertThat(response.getBody().size()).isEqualTo(2);
+    assertThat(response.getBody().get(0).getAllowed()).isEqualTo(10L);
+    assertThat(response.getBody().get(0).getRejected()).isEqualTo(2L);
+  }
+}
@@ -0,0 +1,102 @@
+package com.example.sampleratelimitedapi.interceptors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ *
+ *
+ * <h1>RateLimitCostAdviceTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the RateLimitCostAdvice class
+ *
+ * <p>We use Mockito to generate a mocked instance of the RateLimitInterceptor
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class RateLimitCostAdviceTests {
+  @Mock private RateLimitInterceptor rateLimitInterceptor;
+
+  /** The controller methods used to test the advice. */
+  public static class SampleController {
+    @RateLimited(name = "weighted", max = 10, windowMs = 1000L, rowsPerPermit = 10)
+    public void weighted() {}
+
+    @RateLimited(name = "notWeighted", max = 10, windowMs = 1000L)
+    public void notWeighted() {}
+  }
+
+  private static MethodParameter returnTypeOf(String method) throws Exception {
+    return new MethodParameter(SampleController.class.getMethod(method), -1);
+  }
+
+  /** Only the methods declaring a "rowsPerPermit" should be settled. */
+  @Test
+  public void testSupports() throws Exception {
+    RateLimitCostAdvice advice = new RateLimitCostAdvice(rateLimitInterceptor);
+
+    assertThat(advice.supports(returnTypeOf("weighted"), MappingJackson2HttpMessageConverter.class))
+        .isEqualTo(true);
+    assertThat(
+            advice.supports(returnTypeOf("notWeighted"), MappingJackson2HttpMessageConverter.class))
+        .isEqualTo(false);
+  }
+
+  /**
+   * Given a method declaring a "rowsPerPermit". When it returns a List of 3 elements. Then the
+   * request should be settled against 3 rows, and the body should be left untouched.
+   */
+  @Test
+  public void testSettle() throws Exception {
+    RateLimitCostAdvice advice = new RateLimitCostAdvice(rateLimitInterceptor);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    Object body = Arrays.asList("a", "b", "c");
+
+    Object written =
+        advice.beforeBodyWrite(
+            body,
+            returnTypeOf("weighted"),
+            MediaType.APPLICATION_JSON,
+            MappingJackson2HttpMessageConverter.class,
+            new ServletServerHttpRequest(request),
+            new ServletServerHttpResponse(new MockHttpServletResponse()));
+
+    assertThat(written).isSameAs(body);
+    verify(rateLimitInterceptor).settle(request, 3);
+  }
+
+  /** A body that is not a collection of rows should not be settled. */
+  @Test
+  public void testNotCollection() throws Exception {
+    RateLimitCostAdvice advice = new RateLimitCostAdvice(rateLimitInterceptor);
+
+    advice.beforeBodyWrite(
+        "body",
+        returnTypeOf("weighted"),
+        MediaType.APPLICATION_JSON,
+        MappingJackson2HttpMessageConverter.class,
+        new ServletServerHttpRequest(new MockHttpServletRequest()),
+        new ServletServerHttpResponse(new MockHttpServletResponse()));
+
+    verify(rateLimitInterceptor, never()).settle(any(), anyInt());
+  }
+}
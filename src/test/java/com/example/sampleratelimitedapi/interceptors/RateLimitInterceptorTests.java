@@ -0,0 +1,489 @@
+package com.example.sampleratelimitedapi.interceptors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.sampleratelimitedapi.config.RateLimitProperties;
+import com.example.sampleratelimitedapi.config.RateLimiterFactory;
+import com.example.sampleratelimitedapi.utils.ClientKeyResolver;
+import com.example.sampleratelimitedapi.utils.InMemoryQuotaStore;
+import com.example.sampleratelimitedapi.utils.MonotonicClock;
+import com.example.sampleratelimitedapi.utils.RateLimiterSnapshot;
+import com.example.sampleratelimitedapi.utils.UsageAccumulator;
+import java.util.HashMap;
+import java.util.Map;
+import javax.servlet.DispatcherType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.method.HandlerMethod;
+
+/**
+ *
+ *
+ * <h1>RateLimitInterceptorTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the RateLimitInterceptor class
+ *
+ * <p>The requests are handled by the methods of {@link SampleController}, annotated with {@link
+ * RateLimited}.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RateLimitInterceptorTests {
+  private static final String CLIENT = "10.0.0.1";
+  private static final String DIFFERENT_CLIENT = "10.0.0.2";
+
+  private static final String API_KEY = "known-key";
+
+  private RateLimitInterceptor rateLimitInterceptor;
+
+  private ThreadPoolTaskScheduler taskScheduler;
+
+  /** The controller methods used to test the interceptor. */
+  public static class SampleController {
+    public void notRateLimited() {}
+
+    @RateLimited(name = "client", max = 2, windowMs = 60 * 1000L)
+    public void rateLimitedPerClient() {}
+
+    @RateLimited(name = "client", max = 2, windowMs = 60 * 1000L)
+    public void streamedPerClient() {}
+
+    @RateLimited(name = "global", max = 2, windowMs = 60 * 1000L, key = RateLimited.Key.GLOBAL)
+    public void rateLimitedGlobally() {}
+
+    @RateLimited(name = "adaptive", max = 100, windowMs = 60 * 1000L)
+    public void adaptive() {}
+
+    @RateLimited(name = "queued", max = 1, windowMs = 200L)
+    public void queued() {}
+
+    @RateLimited(name = "queuedTooLong", max = 1, windowMs = 60 * 1000L)
+    public void queuedTooLong() {}
+
+    @RateLimited(name = "weighted", max = 10, windowMs = 60 * 1000L, rowsPerPermit = 10)
+    public void weighted() {}
+  }
+
+  @BeforeEach
+  public void setup() {
+    RateLimitProperties rateLimitProperties = new RateLimitProperties();
+
+    RateLimitProperties.Endpoint adaptive = new RateLimitProperties.Endpoint();
+    adaptive.setAdaptive(true);
+    adaptive.setMaxConcurrency(1);
+    rateLimitProperties.getEndpoints().put("adaptive", adaptive);
+
+    RateLimitProperties.Endpoint queued = new RateLimitProperties.Endpoint();
+    queued.setMaxWaitMs(1000L);
+    rateLimitProperties.getEndpoints().put("queued", queued);
+    rateLimitProperties.getEndpoints().put("queuedTooLong", queued);
+
+    rateLimitProperties.getApiKeys().add(API_KEY);
+
+    // Every client is limited to 4 requests across all the endpoints
+    rateLimitProperties.getClient().setMaxRequests(4L);
+    rateLimitProperties.getClient().setTimeIntervalMs(60 * 1000L);
+
+    RateLimiterFactory rateLimiterFactory =
+        new RateLimiterFactory(
+            rateLimitProperties, new InMemoryQuotaStore(), MonotonicClock.INSTANCE);
+
+    taskScheduler = new ThreadPoolTaskScheduler();
+    taskScheduler.initialize();
+
+    rateLimitInterceptor = new RateLimitInterceptor(rateLimiterFactory, null, taskScheduler);
+  }
+
+  @AfterEach
+  public void teardown() {
+    rateLimitInterceptor.destroy();
+    taskScheduler.shutdown();
+  }
+
+  private boolean preHandle(String method, String client, MockHttpServletResponse response)
+      throws Exception {
+    return preHandle(method, client, new MockHttpServletRequest(), response);
+  }
+
+  private boolean preHandle(
+      String method,
+      String client,
+      MockHttpServletRequest request,
+      MockHttpServletResponse response)
+      throws Exception {
+    request.setRemoteAddr(client);
+
+    return rateLimitInterceptor.preHandle(
+        request, response, new HandlerMethod(new SampleController(), method));
+  }
+
+  /** A method without the RateLimited annotation should always be called. */
+  @Test
+  public void testNotRateLimited() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      assertThat(preHandle("notRateLimited", CLIENT, new MockHttpServletResponse())).isTrue();
+    }
+  }
+
+  /**
+   * Given a method rate limited to max 2 requests per client. When a client makes three requests.
+   * Then the third request should be rejected with a 429 status, but other clients should still be
+   * allowed.
+   */
+  @Test
+  public void testRateLimitedPerClient() throws Exception {
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, response)).isFalse();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+
+    assertThat(preHandle("rateLimitedPerClient", DIFFERENT_CLIENT, new MockHttpServletResponse()))
+        .isTrue();
+  }
+
+  /**
+   * Given a method rate limited to max 2 requests per client. When a client sends a different
+   * unknown API key on every request. Then its third request should be rejected (the client is
+   * limited by its IP address), while a known API key from the same address should still be
+   * allowed.
+   */
+  @Test
+  public void testRotatingApiKeys() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      MockHttpServletRequest request = new MockHttpServletRequest();
+      request.addHeader(ClientKeyResolver.API_KEY_HEADER, "rotated-key-" + i);
+
+      assertThat(preHandle("rateLimitedPerClient", CLIENT, request, new MockHttpServletResponse()))
+          .isEqualTo(i < 2);
+    }
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(ClientKeyResolver.API_KEY_HEADER, API_KEY);
+
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, request, new MockHttpServletResponse()))
+        .isTrue();
+  }
+
+  /**
+   * Given two methods rate limited by the same name to max 2 requests per client. When a client
+   * makes one request to each of them. Then its third request should be rejected, whatever the
+   * method.
+   */
+  @Test
+  public void testSameNameShared() throws Exception {
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("streamedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+
+    assertThat(preHandle("streamedPerClient", CLIENT, new MockHttpServletResponse())).isFalse();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isFalse();
+  }
+
+  /**
+   * Given a method rate limited to max 2 requests, shared by every client. When two clients make
+   * one request each. Then the next request should be rejected, whatever the client.
+   */
+  @Test
+  public void testRateLimitedGlobally() throws Exception {
+    assertThat(preHandle("rateLimitedGlobally", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedGlobally", DIFFERENT_CLIENT, new MockHttpServletResponse()))
+        .isTrue();
+
+    assertThat(preHandle("rateLimitedGlobally", CLIENT, new MockHttpServletResponse())).isFalse();
+  }
+
+  /**
+   * Given a method rate limited to max 2 requests per client. When a client makes three requests.
+   * Then every response should describe the limit, and the rejected one should also tell the client
+   * when to retry, with an empty JSON array body.
+   */
+  @Test
+  public void testRateLimitHeaders() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, response)).isTrue();
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT_HEADER)).isEqualTo("2");
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_REMAINING_HEADER)).isEqualTo("1");
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_RESET_HEADER)).isEqualTo("60");
+    assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+
+    response = new MockHttpServletResponse();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, response)).isTrue();
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_REMAINING_HEADER)).isEqualTo("0");
+
+    response = new MockHttpServletResponse();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, response)).isFalse();
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT_HEADER)).isEqualTo("2");
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_REMAINING_HEADER)).isEqualTo("0");
+    assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    assertThat(response.getContentAsString()).isEqualTo("[]");
+    assertThat(response.getContentLength()).isEqualTo(2);
+  }
+
+  /**
+   * Given a method rate limited to max 2 requests per client, exceeded by a client. When the client
+   * makes another request. Then it should be turned away by the DenyList (without looking up its
+   * limits, so without the rate limit headers), while the client should still be allowed on other
+   * methods, and other clients on the same method.
+   */
+  @Test
+  public void testDenyList() throws Exception {
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isFalse();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, response)).isFalse();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT_HEADER)).isNull();
+
+    assertThat(preHandle("rateLimitedGlobally", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedPerClient", DIFFERENT_CLIENT, new MockHttpServletResponse()))
+        .isTrue();
+  }
+
+  /**
+   * Given a method rate limited to max 2 requests per client. When a client makes four requests
+   * (the last one turned away by the DenyList). Then the usage of the client should count two
+   * requests allowed and two rejected.
+   */
+  @Test
+  public void testUsage() throws Exception {
+    UsageAccumulator usageAccumulator = new UsageAccumulator();
+
+    rateLimitInterceptor.destroy();
+    rateLimitInterceptor =
+        new RateLimitInterceptor(
+            new RateLimiterFactory(
+                new RateLimitProperties(), new InMemoryQuotaStore(), MonotonicClock.INSTANCE),
+            usageAccumulator,
+            taskScheduler);
+
+    for (int i = 0; i < 4; i++)
+      preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse());
+
+    Map<String, long[]> usage = new HashMap<>();
+    usageAccumulator.drain(
+        (endpoint, clientKey, allowed, rejected) ->
+            usage.put(endpoint + " " + clientKey, new long[] {allowed, rejected}));
+
+    assertThat(usage.get("client ip:" + CLIENT)).containsExactly(2L, 2L);
+  }
+
+  /** A method without the RateLimited annotation should not carry the rate limit headers. */
+  @Test
+  public void testNotRateLimitedHeaders() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("notRateLimited", CLIENT, response)).isTrue();
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT_HEADER)).isNull();
+  }
+
+  /**
+   * Given an adaptive method, limited to 1 request at the same time. When a second request arrives
+   * before the first one completes. Then the second request should be shed with a 503 status, and
+   * requests should be allowed again once the first one completes.
+   */
+  @Test
+  public void testAdaptive() throws Exception {
+    HandlerMethod handler = new HandlerMethod(new SampleController(), "adaptive");
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    assertThat(preHandle("adaptive", CLIENT, request, new MockHttpServletResponse())).isTrue();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("adaptive", DIFFERENT_CLIENT, response)).isFalse();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+    assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+
+    rateLimitInterceptor.afterCompletion(request, new MockHttpServletResponse(), handler, null);
+
+    assertThat(preHandle("adaptive", DIFFERENT_CLIENT, new MockHttpServletResponse())).isTrue();
+  }
+
+  /**
+   * Given a limit of max 4 requests per client, across all the endpoints. When a client makes two
+   * requests to each of three endpoints. Then only the first four requests should be allowed,
+   * whatever the endpoint.
+   */
+  @Test
+  public void testClientLimit() throws Exception {
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedGlobally", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedGlobally", CLIENT, new MockHttpServletResponse())).isTrue();
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("adaptive", CLIENT, response)).isFalse();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT_HEADER)).isEqualTo("4");
+
+    assertThat(preHandle("adaptive", DIFFERENT_CLIENT, new MockHttpServletResponse())).isTrue();
+  }
+
+  /**
+   * Given a method rate limited to max 1 request in 200 milliseconds, which may wait up to 1 second
+   * for a slot. When a client makes two requests. Then the second request should be parked (not
+   * rejected), and allowed once dispatched again after its slot opens.
+   */
+  @Test
+  public void testQueued() throws Exception {
+    assertThat(preHandle("queued", CLIENT, new MockHttpServletResponse())).isTrue();
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setAsyncSupported(true);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertThat(preHandle("queued", CLIENT, request, response)).isFalse();
+    assertThat(request.isAsyncStarted()).isTrue();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.OK.value());
+
+    // The request is dispatched again once its slot opens
+    Thread.sleep(250L);
+    request.setDispatcherType(DispatcherType.ASYNC);
+    request.setAsyncStarted(false);
+
+    assertThat(preHandle("queued", CLIENT, request, response)).isTrue();
+  }
+
+  /**
+   * Given a method rate limited to max 1 request per minute, which may wait up to 1 second for a
+   * slot. When a client makes two requests. Then the second request should be rejected, since its
+   * slot would not open within 1 second.
+   */
+  @Test
+  public void testQueuedTooLong() throws Exception {
+    assertThat(preHandle("queuedTooLong", CLIENT, new MockHttpServletResponse())).isTrue();
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setAsyncSupported(true);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertThat(preHandle("queuedTooLong", CLIENT, request, response)).isFalse();
+    assertThat(request.isAsyncStarted()).isFalse();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+  }
+
+  /**
+   * Given a method costing one permit every 10 rows, and a limit of max 4 requests per client. When
+   * a client makes a request returning 50 rows. Then the request should be charged 5 permits once
+   * settled, so the next request of the client should be rejected.
+   */
+  @Test
+  public void testWeighted() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("weighted", CLIENT, request, response)).isTrue();
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_REMAINING_HEADER)).isEqualTo("3");
+
+    rateLimitInterceptor.settle(request, 50);
+
+    response = new MockHttpServletResponse();
+    assertThat(preHandle("weighted", CLIENT, response)).isFalse();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+  }
+
+  /**
+   * Given a method costing one permit every 10 rows, and a limit of max 4 requests per client. When
+   * a client makes a request streaming 40 rows. Then the request should be charged 4 permits once
+   * the rows are settled, and settling them again should change nothing.
+   */
+  @Test
+  public void testSettleRows() throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    assertThat(preHandle("weighted", CLIENT, request, new MockHttpServletResponse())).isTrue();
+
+    RateLimitInterceptor.settleRows(request, 40);
+    RateLimitInterceptor.settleRows(request, 0);
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("weighted", CLIENT, response)).isFalse();
+    assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+  }
+
+  /**
+   * Given a method costing one permit every 10 rows, and a limit of max 4 requests per client. When
+   * other clients make requests returning 40 rows each. Then a new client should still be charged a
+   * single permit up front, so it should still be allowed 4 requests.
+   */
+  @Test
+  public void testWeightedCostOfOtherClients() throws Exception {
+    for (int i = 2; i <= 5; i++) {
+      MockHttpServletRequest request = new MockHttpServletRequest();
+      assertThat(preHandle("weighted", "10.0.0." + i, request, new MockHttpServletResponse()))
+          .isTrue();
+      RateLimitInterceptor.settleRows(request, 40);
+    }
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("weighted", CLIENT, response)).isTrue();
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_REMAINING_HEADER)).isEqualTo("3");
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(preHandle("weighted", CLIENT, new MockHttpServletResponse())).isTrue();
+    }
+  }
+
+  /**
+   * Given a method rate limited to max 2 requests per client, with 1 request made. When the
+   * properties are reloaded, raising the limit of the method to 5 requests and blocking it for 2
+   * seconds. Then the request made should be carried over, and the method should be blocked for 2
+   * seconds once the new limit is reached.
+   */
+  @Test
+  public void testReload() throws Exception {
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+
+    RateLimitProperties rateLimitProperties = new RateLimitProperties();
+    RateLimitProperties.Endpoint client = new RateLimitProperties.Endpoint();
+    client.setMaxRequests(5L);
+    rateLimitProperties.getEndpoints().put("client", client);
+    rateLimitProperties.setBlockedTimeMs(2000L);
+
+    rateLimitInterceptor.reload(rateLimitProperties);
+
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, response)).isTrue();
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_LIMIT_HEADER)).isEqualTo("5");
+    assertThat(response.getHeader(RateLimitInterceptor.RATE_LIMIT_REMAINING_HEADER)).isEqualTo("3");
+
+    for (int i = 0; i < 3; i++)
+      assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+
+    response = new MockHttpServletResponse();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, response)).isFalse();
+    assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+  }
+
+  /**
+   * Given a method rate limited to max 2 requests per client, exceeded by a client. When the
+   * snapshots of the interceptor are restored on a new interceptor (e.g. after a restart). Then the
+   * client should still be rejected, while other clients should still be allowed.
+   */
+  @Test
+  public void testSnapshot() throws Exception {
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isTrue();
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isFalse();
+
+    Map<String, RateLimiterSnapshot> snapshots = rateLimitInterceptor.snapshot();
+    rateLimitInterceptor.destroy();
+
+    rateLimitInterceptor =
+        new RateLimitInterceptor(
+            new RateLimiterFactory(
+                new RateLimitProperties(), new InMemoryQuotaStore(), MonotonicClock.INSTANCE));
+    rateLimitInterceptor.restore(snapshots);
+
+    assertThat(preHandle("rateLimitedPerClient", CLIENT, new MockHttpServletResponse())).isFalse();
+    assertThat(preHandle("rateLimitedPerClient", DIFFERENT_CLIENT, new MockHttpServletResponse()))
+        .isTrue();
+  }
+}
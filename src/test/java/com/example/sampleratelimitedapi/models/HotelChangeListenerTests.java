@@ -0,0 +1,68 @@
+package com.example.sampleratelimitedapi.models;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ *
+ *
+ * <h1>HotelChangeListenerTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the HotelChangeListener class
+ *
+ * <p>The listener is called by JPA, so we test it by writing real Hotel rows (seeded automatically
+ * from test/resources/data.sql), and recording the events published.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@DataJpaTest
+@Import(HotelChangeListenerTests.Recorder.class)
+public class HotelChangeListenerTests {
+  @Autowired TestEntityManager testEntityManager;
+
+  @Autowired Recorder recorder;
+
+  /**
+   * Given the seeded hotels. When a Hotel is inserted, another one is updated, and another one is
+   * deleted. Then an event should be published for each of them.
+   */
+  @Test
+  public void testChangesArePublished() {
+    testEntityManager.persist(new Hotel(null, "Rome", "Deluxe", 2000));
+    testEntityManager.flush();
+
+    Hotel updated = testEntityManager.find(Hotel.class, 1L);
+    updated.setPrice(1500);
+    testEntityManager.flush();
+
+    testEntityManager.remove(testEntityManager.find(Hotel.class, 2L));
+    testEntityManager.flush();
+
+    assertThat(recorder.hotels.size()).isEqualTo(3);
+    assertThat(recorder.hotels.get(0).getCity()).isEqualTo("Rome");
+    assertThat(recorder.hotels.get(1).getPrice()).isEqualTo(1500);
+    assertThat(recorder.hotels.get(2).getId()).isEqualTo(2L);
+  }
+
+  /** Records the Hotel instances of the events published. */
+  @Component
+  public static class Recorder {
+    private final List<Hotel> hotels = new ArrayList<>();
+
+    @EventListener
+    public void onHotelChanged(HotelChangedEvent event) {
+      hotels.add(event.getHotel());
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package com.example.sampleratelimitedapi.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelChangedEvent;
+import com.example.sampleratelimitedapi.utils.MonotonicClock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ *
+ *
+ * <h1>CachingHotelRepositoryTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the CachingHotelRepository class
+ *
+ * <p>We use Mockito to generate a mocked instance based on the HotelRepository interface
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class CachingHotelRepositoryTests {
+  private static final String CITY = "Bangkok";
+  private static final String DIFFERENT_CITY = "Amsterdam";
+
+  private static final String ROOM = "Deluxe";
+  private static final String DIFFERENT_ROOM = "Superior";
+
+  @Mock private HotelRepository hotelRepository;
+
+  /**
+   * Calls the "findAllHotelsByCity" method twice, with the city and the sort order in a different
+   * case, that should query the HotelRepository only once.
+   */
+  @Test
+  public void findByCityCached() {
+    // Mockito configuration
+    when(hotelRepository.findAllHotelsByCity(CITY, "ASC")).thenReturn(bangkokHotels());
+
+    // Test
+    CachingHotelRepository cachingHotelRepository = newRepository(16);
+
+    List<Hotel> first = cachingHotelRepository.findAllHotelsByCity(CITY, "ASC");
+    List<Hotel> second = cachingHotelRepository.findAllHotelsByCity("BANGKOK", "asc");
+
+    assertThat(second).isEqualTo(first);
+    assertThat(second.size()).isEqualTo(2);
+    verify(hotelRepository, times(1)).findAllHotelsByCity(CITY, "ASC");
+
+    assertThat(cachingHotelRepository.getStats().getHits()).isEqualTo(1L);
+    assertThat(cachingHotelRepository.getStats().getMisses()).isEqualTo(1L);
+  }
+
+  /** A different sort order should be a different result, queried separately. */
+  @Test
+  public void findByCitySortedSeparately() {
+    // Mockito configuration
+    when(hotelRepository.findAllHotelsByCity(CITY, "ASC")).thenReturn(bangkokHotels());
+    when(hotelRepository.findAllHotelsByCity(CITY, "DESC")).thenReturn(bangkokHotels());
+
+    // Test
+    CachingHotelRepository cachingHotelRepository = newRepository(16);
+
+    cachingHotelRepository.findAllHotelsByCity(CITY, "ASC");
+    cachingHotelRepository.findAllHotelsByCity(CITY, "DESC");
+
+    verify(hotelRepository, times(1)).findAllHotelsByCity(CITY, "DESC");
+  }
+
+  /**
+   * Given cached results. When a Hotel of {CITY} is updated. Then the results of {CITY} should be
+   * queried again, the results of {DIFFERENT_ROOM} (not containing it) should stay cached, and the
+   * results of {ROOM} (containing it) should be queried again.
+   */
+  @Test
+  public void testInvalidation() {
+    // Mockito configuration
+    when(hotelRepository.findAllHotelsByCity(CITY, null)).thenReturn(bangkokHotels());
+    when(hotelRepository.findAllHotelsByRoom(ROOM, null))
+        .thenReturn(new ArrayList<>(Arrays.asList(new Hotel(3L, CITY, ROOM, 1900))));
+    when(hotelRepository.findAllHotelsByRoom(DIFFERENT_ROOM, null))
+        .thenReturn(new ArrayList<>(Arrays.asList(new Hotel(1L, CITY, DIFFERENT_ROOM, 1400))));
+
+    // Test
+    CachingHotelRepository cachingHotelRepository = newRepository(16);
+
+    cachingHotelRepository.findAllHotelsByCity(CITY, null);
+    cachingHotelRepository.findAllHotelsByRoom(ROOM, null);
+    cachingHotelRepository.findAllHotelsByRoom(DIFFERENT_ROOM, null);
+
+    // The Hotel 3 moves to a different room, of a different city
+    cachingHotelRepository.onHotelChanged(
+        new HotelChangedEvent(new Hotel(3L, DIFFERENT_CITY, "Standard", 1900)));
+
+    cachingHotelRepository.findAllHotelsByCity(CITY, null);
+    cachingHotelRepository.findAllHotelsByRoom(ROOM, null);
+    cachingHotelRepository.findAllHotelsByRoom(DIFFERENT_ROOM, null);
+
+    verify(hotelRepository, times(2)).findAllHotelsByCity(CITY, null);
+    verify(hotelRepository, times(2)).findAllHotelsByRoom(ROOM, null);
+    verify(hotelRepository, times(1)).findAllHotelsByRoom(DIFFERENT_ROOM, null);
+  }
+
+  /**
+   * Given a result of {CITY} being loaded. When a Hotel of {CITY} is changed before the load
+   * completes (so the load may have read the database before the change). Then the loaded result
+   * should not be cached, and the next call should query the HotelRepository again.
+   */
+  @Test
+  public void testInvalidationDuringLoad() {
+    CachingHotelRepository cachingHotelRepository = newRepository(16);
+
+    // Mockito configuration
+    when(hotelRepository.findAllHotelsByCity(CITY, null))
+        .thenAnswer(
+            invocation -> {
+              cachingHotelRepository.onHotelChanged(
+                  new HotelChangedEvent(new Hotel(1L, CITY, DIFFERENT_ROOM, 1500)));
+              return bangkokHotels();
+            })
+        .thenReturn(bangkokHotels());
+
+    // Test
+    cachingHotelRepository.findAllHotelsByCity(CITY, null);
+    cachingHotelRepository.findAllHotelsByCity(CITY, null);
+    cachingHotelRepository.findAllHotelsByCity(CITY, null);
+
+    verify(hotelRepository, times(2)).findAllHotelsByCity(CITY, null);
+  }
+
+  /** With the cache disabled, every call should query the HotelRepository. */
+  @Test
+  public void testDisabled() {
+    // Mockito configuration
+    when(hotelRepository.findAllHotelsByCity(CITY, null)).thenReturn(bangkokHotels());
+
+    // Test
+    CachingHotelRepository cachingHotelRepository = newRepository(0);
+
+    cachingHotelRepository.findAllHotelsByCity(CITY, null);
+    cachingHotelRepository.findAllHotelsByCity(CITY, null);
+
+    verify(hotelRepository, times(2)).findAllHotelsByCity(CITY, null);
+    assertThat(cachingHotelRepository.getStats()).isNull();
+  }
+
+  private CachingHotelRepository newRepository(int maxEntries) {
+    return new CachingHotelRepository(
+        hotelRepository, maxEntries, 60 * 1000L, MonotonicClock.INSTANCE);
+  }
+
+  private static List<Hotel> bangkokHotels() {
+    return new ArrayList<>(
+        Arrays.asList(new Hotel(1L, CITY, DIFFERENT_ROOM, 1400), new Hotel(3L, CITY, ROOM, 1900)));
+  }
+}
@@ -5,10 +5,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.example.sampleratelimitedapi.models.Hotel;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.repository.Repository;
 
 /**
@@ -37,8 +42,9 @@ public class HotelJpaRepositoryTests {
   private static final String DIFFERENT_ROOM = "Superior";
   private static final String NOT_AVAILABLE_ROOM = "GigaDeluxe";
 
-  @Autowired
-  HotelJpaRepository hotelJpaRepository;
+  @Autowired HotelJpaRepository hotelJpaRepository;
+
+  @Autowired TestEntityManager testEntityManager;
 
   private static List<Hotel> sameCityHotels;
   private static List<Hotel> sameRoomHotels;
@@ -59,11 +65,11 @@ public class HotelJpaRepositoryTests {
 
   // findByCity
 
-  /** Calls the "findByCityIgnoreCase" method that should return a list of Hotel in {CITY}. */
+  /** Calls the "findByCityKey" method that should return a list of Hotel in {CITY}. */
   @Test
   public void findByExistingCity() {
     // Test
-    List<Hotel> hotels = hotelJpaRepository.findByCityIgnoreCase(CITY);
+    List<Hotel> hotels = hotelJpaRepository.findByCityKey(Hotel.key(CITY), Sort.unsorted());
 
     assertThat(hotels).isNotNull();
     assertThat(hotels.size()).isEqualTo(2);
@@ -75,13 +81,14 @@ public class HotelJpaRepositoryTests {
   }
 
   /**
-   * Calls the "findByCityIgnoreCase" method that should return an <b>empty</b> list of Hotel in
+   * Calls the "findByCityKey" method that should return an <b>empty</b> list of Hotel in
    * {NOT_AVAILABLE_CITY}.
    */
   @Test
   public void findByNonAvailableCity() {
     // Test
-    List<Hotel> hotels = hotelJpaRepository.findByCityIgnoreCase(NOT_AVAILABLE_CITY);
+    List<Hotel> hotels =
+        hotelJpaRepository.findByCityKey(Hotel.key(NOT_AVAILABLE_CITY), Sort.unsorted());
 
     assertThat(hotels).isNotNull();
     assertThat(hotels.size()).isEqualTo(0);
@@ -89,11 +96,11 @@ public class HotelJpaRepositoryTests {
 
   // findByRoom
 
-  /** Calls the "findByRoomIgnoreCase" method that should return a list of Hotel with {ROOM}. */
+  /** Calls the "findByRoomKey" method that should return a list of Hotel with {ROOM}. */
   @Test
   public void findByExistingRoom() {
     // Test
-    List<Hotel> hotels = hotelJpaRepository.findByRoomIgnoreCase(ROOM);
+    List<Hotel> hotels = hotelJpaRepository.findByRoomKey(Hotel.key(ROOM), Sort.unsorted());
 
     assertThat(hotels).isNotNull();
     assertThat(hotels.size()).isEqualTo(2);
@@ -105,15 +112,138 @@ public class HotelJpaRepositoryTests {
   }
 
   /**
-   * Calls the "findByRoomIgnoreCase" method that should return an <b>empty</b> list of Hotel with
+   * Calls the "findByRoomKey" method that should return an <b>empty</b> list of Hotel with
    * {NOT_AVAILABLE_ROOM}.
    */
   @Test
   public void findByNonAvailableRoom() {
     // Test
-    List<Hotel> hotels = hotelJpaRepository.findByRoomIgnoreCase(NOT_AVAILABLE_ROOM);
+    List<Hotel> hotels =
+        hotelJpaRepository.findByRoomKey(Hotel.key(NOT_AVAILABLE_ROOM), Sort.unsorted());
 
     assertThat(hotels).isNotNull();
     assertThat(hotels.size()).isEqualTo(0);
   }
+
+  // Pages
+
+  /**
+   * Calls the "findByCityKey" method sorted by price DESC, that should return the Hotel instances
+   * in {CITY} ordered by price DESC (then id DESC).
+   */
+  @Test
+  public void findByExistingCitySorted() {
+    // Test
+    List<Hotel> hotels =
+        hotelJpaRepository.findByCityKey(
+            Hotel.key("BANGKOK"), Sort.by(Sort.Direction.DESC, "price", "id"));
+
+    assertThat(hotels.size()).isEqualTo(2);
+    assertThat(hotels.get(0).getPrice()).isEqualTo(1900);
+    assertThat(hotels.get(1).getPrice()).isEqualTo(1400);
+  }
+
+  /**
+   * Given a Hotel inserted through JPA. When its city is updated. Then the normalized city should
+   * follow, so that the Hotel is only found by its new city (whatever the case).
+   */
+  @Test
+  public void findByKeyFilledOnWrite() {
+    // Test
+    Hotel hotel = testEntityManager.persist(new Hotel(null, "Rome", "Junior Suite", 900));
+    testEntityManager.flush();
+
+    assertThat(hotelJpaRepository.findByCityKey(Hotel.key("ROME"), Sort.unsorted()).size())
+        .isEqualTo(1);
+    assertThat(hotelJpaRepository.findByRoomKey(Hotel.key("junior suite"), Sort.unsorted()).size())
+        .isEqualTo(1);
+
+    hotel.setCity("Milan");
+    testEntityManager.flush();
+
+    assertThat(hotelJpaRepository.findByCityKey(Hotel.key("Rome"), Sort.unsorted()).size())
+        .isEqualTo(0);
+    assertThat(hotelJpaRepository.findByCityKey(Hotel.key("MILAN"), Sort.unsorted()).size())
+        .isEqualTo(1);
+  }
+
+  /**
+   * Calls the keyset queries of {CITY} one Hotel at a time, that should return every Hotel once, by
+   * ascending and descending price.
+   */
+  @Test
+  public void findCityPages() {
+    // Test
+    List<Hotel> first =
+        hotelJpaRepository.findCityPageAsc(
+            "bangkok", Integer.MIN_VALUE, Long.MIN_VALUE, PageRequest.of(0, 1));
+    assertThat(first.size()).isEqualTo(1);
+    assertThat(first.get(0).getPrice()).isEqualTo(1400);
+
+    List<Hotel> second =
+        hotelJpaRepository.findCityPageAsc(
+            Hotel.key(CITY), first.get(0).getPrice(), first.get(0).getId(), PageRequest.of(0, 1));
+    assertThat(second.size()).isEqualTo(1);
+    assertThat(second.get(0).getPrice()).isEqualTo(1900);
+
+    List<Hotel> third =
+        hotelJpaRepository.findCityPageAsc(
+            Hotel.key(CITY), second.get(0).getPrice(), second.get(0).getId(), PageRequest.of(0, 1));
+    assertThat(third.size()).isEqualTo(0);
+
+    List<Hotel> descending =
+        hotelJpaRepository.findCityPageDesc(Hotel.key(CITY), 1900, 3L, PageRequest.of(0, 10));
+    assertThat(descending.size()).isEqualTo(1);
+    assertThat(descending.get(0).getPrice()).isEqualTo(1400);
+  }
+
+  /** Calls the keyset query of {ROOM} by descending price, that should return both hotels. */
+  @Test
+  public void findRoomPageDesc() {
+    // Test
+    List<Hotel> hotels =
+        hotelJpaRepository.findRoomPageDesc(
+            Hotel.key(ROOM), Integer.MAX_VALUE, Long.MAX_VALUE, PageRequest.of(0, 10));
+
+    assertThat(hotels.size()).isEqualTo(2);
+    assertThat(hotels.get(0).getPrice()).isEqualTo(2300);
+    assertThat(hotels.get(1).getPrice()).isEqualTo(1900);
+    assertThat(
+            hotelJpaRepository
+                .findRoomPageAsc(Hotel.key(ROOM), 1900, 3L, PageRequest.of(0, 10))
+                .size())
+        .isEqualTo(1);
+  }
+
+  // streamBy
+
+  /**
+   * Calls the "streamByCityKey" method sorted by price DESC, that should stream the Hotel instances
+   * in {CITY} ordered by price DESC.
+   */
+  @Test
+  public void streamByExistingCitySorted() {
+    // Test
+    List<Hotel> hotels;
+
+    try (Stream<Hotel> stream =
+        hotelJpaRepository.streamByCityKey(
+            Hotel.key("BANGKOK"), Sort.by(Sort.Direction.DESC, "price", "id"))) {
+      hotels = stream.collect(Collectors.toList());
+    }
+
+    assertThat(hotels.size()).isEqualTo(2);
+    assertThat(hotels.get(0).getPrice()).isEqualTo(1900);
+    assertThat(hotels.get(1).getPrice()).isEqualTo(1400);
+  }
+
+  /** Calls the "streamByRoomKey" method with {NOT_AVAILABLE_ROOM}, that should be empty. */
+  @Test
+  public void streamByNonAvailableRoom() {
+    // Test
+    try (Stream<Hotel> stream =
+        hotelJpaRepository.streamByRoomKey(Hotel.key(NOT_AVAILABLE_ROOM), Sort.unsorted())) {
+      assertThat(stream.count()).isEqualTo(0L);
+    }
+  }
 }
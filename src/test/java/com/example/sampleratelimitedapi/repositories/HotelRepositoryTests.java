@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.when;
 
 import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelCursor;
 import com.example.sampleratelimitedapi.repositories.HotelJpaRepository;
 import com.example.sampleratelimitedapi.repositories.HotelRepository;
 import com.example.sampleratelimitedapi.repositories.HotelRepositoryImpl;
@@ -15,6 +16,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 /**
  *
@@ -42,14 +45,22 @@ public class HotelRepositoryTests {
   private static final String DIFFERENT_ROOM = "Superior";
   private static final String NOT_AVAILABLE_ROOM = "GigaDeluxe";
 
+  // The orders the database is asked to sort the Hotel instances in.
+  private static final Sort PRICE_ASC = Sort.by(Sort.Direction.ASC, "price", "id");
+  private static final Sort PRICE_DESC = Sort.by(Sort.Direction.DESC, "price", "id");
+
   @Mock private HotelJpaRepository hotelJpaRepository;
 
   private static List<Hotel> sameCityHotels;
   private static List<Hotel> sameRoomHotels;
 
+  // The same Hotel instances, by descending price.
+  private static List<Hotel> sameCityHotelsDesc;
+  private static List<Hotel> sameRoomHotelsDesc;
+
   /**
    * setup() creates three Hotel instances, and adds them to sameCityHotels / sameRoomHotels List
-   * objects
+   * objects (by ascending price, and by descending price)
    */
   @BeforeAll
   public static void setup() {
@@ -58,7 +69,10 @@ public class HotelRepositoryTests {
     Hotel thirdHotel = new Hotel(3L, CITY, ROOM, 1900);
 
     sameCityHotels = Arrays.asList(firstHotel, thirdHotel);
-    sameRoomHotels = Arrays.asList(secondHotel, thirdHotel);
+    sameRoomHotels = Arrays.asList(thirdHotel, secondHotel);
+
+    sameCityHotelsDesc = Arrays.asList(thirdHotel, firstHotel);
+    sameRoomHotelsDesc = Arrays.asList(secondHotel, thirdHotel);
   }
 
   // findAllHotelsByCity
@@ -70,7 +84,7 @@ public class HotelRepositoryTests {
   @Test
   public void findByExistingCityAsc() {
     // Mockito configuration
-    when(hotelJpaRepository.findByCityIgnoreCase(CITY)).thenReturn(sameCityHotels);
+    when(hotelJpaRepository.findByCityKey(Hotel.key(CITY), PRICE_ASC)).thenReturn(sameCityHotels);
 
     // Test
     HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
@@ -84,8 +98,8 @@ public class HotelRepositoryTests {
     Integer previousPrice = null;
 
     for (Hotel hotel : hotels) {
-      assertThat(previousPrice == null || hotel.getPrice() > previousPrice);
-      assertThat(hotel.getCity().equals(CITY));
+      assertThat(previousPrice == null || hotel.getPrice() > previousPrice).isTrue();
+      assertThat(hotel.getCity().equals(CITY)).isTrue();
 
       // Save reference to previous price
       previousPrice = hotel.getPrice();
@@ -99,7 +113,8 @@ public class HotelRepositoryTests {
   @Test
   public void findByExistingCityDesc() {
     // Mockito configuration
-    when(hotelJpaRepository.findByCityIgnoreCase(CITY)).thenReturn(sameCityHotels);
+    when(hotelJpaRepository.findByCityKey(Hotel.key(CITY), PRICE_DESC))
+        .thenReturn(sameCityHotelsDesc);
 
     // Test
     HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
@@ -109,12 +124,12 @@ public class HotelRepositoryTests {
     assertThat(hotels.size()).isEqualTo(2);
 
     // Every hotel should be based in {CITY}
-    // The price should never decrease
+    // The price should never increase
     Integer previousPrice = null;
 
     for (Hotel hotel : hotels) {
-      assertThat(previousPrice == null || hotel.getPrice() < previousPrice);
-      assertThat(hotel.getCity().equals(CITY));
+      assertThat(previousPrice == null || hotel.getPrice() < previousPrice).isTrue();
+      assertThat(hotel.getCity().equals(CITY)).isTrue();
 
       // Save reference to previous price
       previousPrice = hotel.getPrice();
@@ -128,7 +143,8 @@ public class HotelRepositoryTests {
   @Test
   public void findByNonAvailableCity() {
     // Mockito configuration
-    when(hotelJpaRepository.findByCityIgnoreCase(NOT_AVAILABLE_CITY)).thenReturn(new ArrayList<>());
+    when(hotelJpaRepository.findByCityKey(Hotel.key(NOT_AVAILABLE_CITY), PRICE_ASC))
+        .thenReturn(new ArrayList<>());
 
     // Test
     HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
@@ -147,7 +163,7 @@ public class HotelRepositoryTests {
   @Test
   public void findByExistingRoomAsc() {
     // Mockito configuration
-    when(hotelJpaRepository.findByRoomIgnoreCase(ROOM)).thenReturn(sameRoomHotels);
+    when(hotelJpaRepository.findByRoomKey(Hotel.key(ROOM), PRICE_ASC)).thenReturn(sameRoomHotels);
 
     // Test
     HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
@@ -161,8 +177,8 @@ public class HotelRepositoryTests {
     Integer previousPrice = null;
 
     for (Hotel hotel : hotels) {
-      assertThat(previousPrice == null || hotel.getPrice() > previousPrice);
-      assertThat(hotel.getRoom().equals(ROOM));
+      assertThat(previousPrice == null || hotel.getPrice() > previousPrice).isTrue();
+      assertThat(hotel.getRoom().equals(ROOM)).isTrue();
 
       // Save reference to previous price
       previousPrice = hotel.getPrice();
@@ -176,7 +192,8 @@ public class HotelRepositoryTests {
   @Test
   public void findByExistingRoomDesc() {
     // Mockito configuration
-    when(hotelJpaRepository.findByRoomIgnoreCase(ROOM)).thenReturn(sameRoomHotels);
+    when(hotelJpaRepository.findByRoomKey(Hotel.key(ROOM), PRICE_DESC))
+        .thenReturn(sameRoomHotelsDesc);
 
     // Test
     HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
@@ -186,12 +203,12 @@ public class HotelRepositoryTests {
     assertThat(hotels.size()).isEqualTo(2);
 
     // Every hotel should have the following {ROOM}
-    // The price should never decrease
+    // The price should never increase
     Integer previousPrice = null;
 
     for (Hotel hotel : hotels) {
-      assertThat(previousPrice == null || hotel.getPrice() < previousPrice);
-      assertThat(hotel.getRoom().equals(ROOM));
+      assertThat(previousPrice == null || hotel.getPrice() < previousPrice).isTrue();
+      assertThat(hotel.getRoom().equals(ROOM)).isTrue();
 
       // Save reference to previous price
       previousPrice = hotel.getPrice();
@@ -205,7 +222,8 @@ public class HotelRepositoryTests {
   @Test
   public void findByNonAvailableRoom() {
     // Mockito configuration
-    when(hotelJpaRepository.findByRoomIgnoreCase(NOT_AVAILABLE_ROOM)).thenReturn(new ArrayList<>());
+    when(hotelJpaRepository.findByRoomKey(Hotel.key(NOT_AVAILABLE_ROOM), PRICE_ASC))
+        .thenReturn(new ArrayList<>());
 
     // Test
     HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
@@ -214,4 +232,78 @@ public class HotelRepositoryTests {
     assertThat(hotels).isNotNull();
     assertThat(hotels.size()).isEqualTo(0);
   }
+
+  // Pages
+
+  /**
+   * Calls the "findHotelsPageByCity" method without a cursor, that should query the first page of
+   * {CITY} by descending price.
+   */
+  @Test
+  public void findFirstPageByCityDesc() {
+    // Mockito configuration
+    when(hotelJpaRepository.findCityPageDesc(
+            Hotel.key(CITY), Integer.MAX_VALUE, Long.MAX_VALUE, PageRequest.of(0, 10)))
+        .thenReturn(sameCityHotelsDesc);
+
+    // Test
+    HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
+    List<Hotel> hotels = hotelRepository.findHotelsPageByCity(CITY, "DESC", null, 10);
+
+    assertThat(hotels.size()).isEqualTo(2);
+  }
+
+  /**
+   * Calls the "findHotelsPageByRoom" method with a cursor, that should query the page of {ROOM}
+   * after it by ascending price.
+   */
+  @Test
+  public void findNextPageByRoom() {
+    // Mockito configuration
+    when(hotelJpaRepository.findRoomPageAsc(Hotel.key(ROOM), 1900, 3L, PageRequest.of(0, 10)))
+        .thenReturn(sameRoomHotels.subList(1, 2));
+
+    // Test
+    HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
+    List<Hotel> hotels =
+        hotelRepository.findHotelsPageByRoom(ROOM, null, new HotelCursor(1900, 3L), 10);
+
+    assertThat(hotels.size()).isEqualTo(1);
+  }
+
+  /**
+   * Calls the "forEachHotelByCity" method by price ASC, that should stream the Hotel instances in
+   * {CITY} sorted by the database, and pass them to the action in that order.
+   */
+  @Test
+  public void forEachByExistingCity() {
+    // Mockito configuration
+    when(hotelJpaRepository.streamByCityKey(Hotel.key(CITY), PRICE_ASC))
+        .thenReturn(sameCityHotels.stream());
+
+    // Test
+    HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
+    List<Hotel> hotels = new ArrayList<>();
+    hotelRepository.forEachHotelByCity(CITY, "asc", hotels::add);
+
+    assertThat(hotels).isEqualTo(sameCityHotels);
+  }
+
+  /**
+   * Calls the "forEachHotelByRoom" method without sorting, that should stream the Hotel instances
+   * with a {ROOM} unsorted.
+   */
+  @Test
+  public void forEachByExistingRoomUnsorted() {
+    // Mockito configuration
+    when(hotelJpaRepository.streamByRoomKey(Hotel.key(ROOM), Sort.unsorted()))
+        .thenReturn(sameRoomHotels.stream());
+
+    // Test
+    HotelRepository hotelRepository = new HotelRepositoryImpl(this.hotelJpaRepository);
+    List<Hotel> hotels = new ArrayList<>();
+    hotelRepository.forEachHotelByRoom(ROOM, null, hotels::add);
+
+    assertThat(hotels.size()).isEqualTo(2);
+  }
 }
@@ -0,0 +1,263 @@
+package com.example.sampleratelimitedapi.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.sampleratelimitedapi.models.Hotel;
+import com.example.sampleratelimitedapi.models.HotelChangedEvent;
+import com.example.sampleratelimitedapi.models.HotelCursor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ *
+ *
+ * <h1>InMemoryHotelRepositoryTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the InMemoryHotelRepository class
+ *
+ * <p>We use Mockito to generate a mocked instance based on the HotelJpaRepository interface
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class InMemoryHotelRepositoryTests {
+  private static final String CITY = "Bangkok";
+  private static final String DIFFERENT_CITY = "Amsterdam";
+  private static final String NOT_AVAILABLE_CITY = "Guadalupe";
+
+  private static final String ROOM = "Deluxe";
+  private static final String DIFFERENT_ROOM = "Superior";
+
+  @Mock private HotelJpaRepository hotelJpaRepository;
+
+  private static List<Hotel> allHotels;
+
+  /** setup() creates three Hotel instances, and adds them to the allHotels List */
+  @BeforeAll
+  public static void setup() {
+    allHotels =
+        Arrays.asList(
+            new Hotel(1L, CITY, DIFFERENT_ROOM, 1400),
+            new Hotel(2L, DIFFERENT_CITY, ROOM, 2300),
+            new Hotel(3L, CITY, ROOM, 1900));
+  }
+
+  /**
+   * Calls the "findAllHotelsByCity" method with a city in a different case, that should return the
+   * Hotel instances in {CITY} ordered by price ASC and DESC.
+   */
+  @Test
+  public void findByExistingCitySorted() {
+    // Mockito configuration
+    when(hotelJpaRepository.findAll()).thenReturn(allHotels);
+
+    // Test
+    InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository(hotelJpaRepository);
+    hotelRepository.refresh();
+
+    List<Hotel> asc = hotelRepository.findAllHotelsByCity("BANGKOK", "asc");
+    assertThat(asc.size()).isEqualTo(2);
+    assertThat(asc.get(0).getPrice()).isEqualTo(1400);
+    assertThat(asc.get(1).getPrice()).isEqualTo(1900);
+
+    List<Hotel> desc = hotelRepository.findAllHotelsByCity(CITY, "DESC");
+    assertThat(desc.size()).isEqualTo(2);
+    assertThat(desc.get(0).getPrice()).isEqualTo(1900);
+    assertThat(desc.get(1).getPrice()).isEqualTo(1400);
+  }
+
+  /**
+   * Calls the "findAllHotelsByRoom" method with and without sorting, that should return the Hotel
+   * instances with a {ROOM} in price order, and the same Lists on every call (never sorting nor
+   * copying them).
+   */
+  @Test
+  public void findByExistingRoomPresorted() {
+    // Mockito configuration
+    when(hotelJpaRepository.findAll()).thenReturn(allHotels);
+
+    // Test
+    InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository(hotelJpaRepository);
+    hotelRepository.refresh();
+
+    List<Hotel> hotels = hotelRepository.findAllHotelsByRoom("deluxe", null);
+    assertThat(hotels.size()).isEqualTo(2);
+    assertThat(hotels.get(0).getId()).isEqualTo(3L);
+    assertThat(hotels.get(1).getId()).isEqualTo(2L);
+
+    assertThat(hotelRepository.findAllHotelsByRoom(ROOM, "ASC") == hotels).isEqualTo(true);
+
+    List<Hotel> desc = hotelRepository.findAllHotelsByRoom(ROOM, "DESC");
+    assertThat(desc.get(0).getId()).isEqualTo(2L);
+    assertThat(desc.get(1).getId()).isEqualTo(3L);
+    assertThat(hotelRepository.findAllHotelsByRoom(ROOM, "desc") == desc).isEqualTo(true);
+  }
+
+  /** Calls the "findAllHotelsByCity" method with a city that has no hotels. */
+  @Test
+  public void findByNotAvailableCity() {
+    // Mockito configuration
+    when(hotelJpaRepository.findAll()).thenReturn(allHotels);
+
+    // Test
+    InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository(hotelJpaRepository);
+    hotelRepository.refresh();
+
+    assertThat(hotelRepository.findAllHotelsByCity(NOT_AVAILABLE_CITY, "ASC").size()).isEqualTo(0);
+  }
+
+  /**
+   * Given an index built from an empty database. When the repository is refreshed after the hotels
+   * are added. Then the new hotels should be found.
+   */
+  @Test
+  public void testRefresh() {
+    // Mockito configuration
+    when(hotelJpaRepository.findAll()).thenReturn(Collections.emptyList()).thenReturn(allHotels);
+
+    // Test
+    InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository(hotelJpaRepository);
+    hotelRepository.refresh();
+    assertThat(hotelRepository.findAllHotelsByCity(DIFFERENT_CITY, null).size()).isEqualTo(0);
+
+    hotelRepository.refresh();
+    assertThat(hotelRepository.findAllHotelsByCity(DIFFERENT_CITY, null).size()).isEqualTo(1);
+  }
+
+  /**
+   * Given the indexed hotels. When a new Hotel in {CITY} is saved (so its change is published once
+   * committed). Then it should be found in {CITY}, in price order, without restarting.
+   */
+  @Test
+  public void findSavedHotel() {
+    // Mockito configuration
+    Hotel savedHotel = new Hotel(4L, CITY, ROOM, 1500);
+    List<Hotel> savedHotels = new ArrayList<>(allHotels);
+    savedHotels.add(savedHotel);
+
+    when(hotelJpaRepository.findAll()).thenReturn(allHotels).thenReturn(savedHotels);
+
+    // Test
+    InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository(hotelJpaRepository);
+    hotelRepository.refresh();
+    assertThat(hotelRepository.findAllHotelsByCity(CITY, "ASC").size()).isEqualTo(2);
+
+    hotelRepository.onHotelChanged(new HotelChangedEvent(savedHotel));
+
+    List<Hotel> asc = hotelRepository.findAllHotelsByCity(CITY, "ASC");
+    assertThat(asc.size()).isEqualTo(3);
+    assertThat(asc.get(1).getId()).isEqualTo(4L);
+  }
+
+  /**
+   * Given the indexed hotels. When three new Hotel instances are saved in the same transaction.
+   * Then the catalog should be reloaded only once, when the transaction is committed.
+   */
+  @Test
+  public void findHotelsSavedInOneTransaction() {
+    // Mockito configuration
+    List<Hotel> savedHotels = new ArrayList<>(allHotels);
+    for (long id = 4L; id <= 6L; id++) savedHotels.add(new Hotel(id, CITY, ROOM, 1500));
+
+    when(hotelJpaRepository.findAll()).thenReturn(allHotels).thenReturn(savedHotels);
+
+    // Test
+    InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository(hotelJpaRepository);
+    hotelRepository.refresh();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      for (Hotel hotel : savedHotels.subList(3, 6))
+        hotelRepository.onHotelChanged(new HotelChangedEvent(hotel));
+
+      // Nothing is reloaded before the commit
+      assertThat(hotelRepository.findAllHotelsByCity(CITY, null).size()).isEqualTo(2);
+
+      List<TransactionSynchronization> synchronizations =
+          TransactionSynchronizationManager.getSynchronizations();
+      assertThat(synchronizations.size()).isEqualTo(1);
+
+      synchronizations.forEach(TransactionSynchronization::afterCommit);
+      synchronizations.forEach(
+          synchronization ->
+              synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(hotelRepository.findAllHotelsByCity(CITY, null).size()).isEqualTo(5);
+    verify(hotelJpaRepository, times(2)).findAll();
+  }
+
+  /**
+   * Calls the "findHotelsPageByCity" method one Hotel at a time, that should return every Hotel in
+   * {CITY} once, by ascending and descending price.
+   */
+  @Test
+  public void findPagesByCity() {
+    // Mockito configuration
+    when(hotelJpaRepository.findAll()).thenReturn(allHotels);
+
+    // Test
+    InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository(hotelJpaRepository);
+    hotelRepository.refresh();
+
+    List<Hotel> first = hotelRepository.findHotelsPageByCity(CITY, "ASC", null, 1);
+    assertThat(first.size()).isEqualTo(1);
+    assertThat(first.get(0).getPrice()).isEqualTo(1400);
+
+    List<Hotel> second =
+        hotelRepository.findHotelsPageByCity(CITY, "ASC", HotelCursor.after(first.get(0)), 1);
+    assertThat(second.size()).isEqualTo(1);
+    assertThat(second.get(0).getPrice()).isEqualTo(1900);
+
+    assertThat(
+            hotelRepository
+                .findHotelsPageByCity(CITY, "ASC", HotelCursor.after(second.get(0)), 1)
+                .size())
+        .isEqualTo(0);
+
+    List<Hotel> descending = hotelRepository.findHotelsPageByCity(CITY, "DESC", null, 1);
+    assertThat(descending.get(0).getPrice()).isEqualTo(1900);
+
+    List<Hotel> next =
+        hotelRepository.findHotelsPageByCity(
+            CITY, "DESC", HotelCursor.after(descending.get(0)), 10);
+    assertThat(next.size()).isEqualTo(1);
+    assertThat(next.get(0).getPrice()).isEqualTo(1400);
+  }
+
+  /**
+   * Calls the "forEachHotelByRoom" method by price DESC, that should pass the Hotel instances with
+   * a {ROOM} to the action in the same order as the List.
+   */
+  @Test
+  public void forEachByExistingRoom() {
+    // Mockito configuration
+    when(hotelJpaRepository.findAll()).thenReturn(allHotels);
+
+    // Test
+    InMemoryHotelRepository hotelRepository = new InMemoryHotelRepository(hotelJpaRepository);
+    hotelRepository.refresh();
+
+    List<Hotel> hotels = new ArrayList<>();
+    hotelRepository.forEachHotelByRoom("deluxe", "DESC", hotels::add);
+
+    assertThat(hotels).isEqualTo(hotelRepository.findAllHotelsByRoom(ROOM, "DESC"));
+    assertThat(hotels.get(0).getId()).isEqualTo(2L);
+  }
+}
@@ -0,0 +1,77 @@
+package com.example.sampleratelimitedapi.repositories;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.sampleratelimitedapi.models.Usage;
+import com.example.sampleratelimitedapi.models.UsageSummary;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/**
+ *
+ *
+ * <h1>UsageJpaRepositoryTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the UsageJpaRepository class.
+ *
+ * <p>Given that UsageJpaRepository is an interface whose queries are run by the database, we can
+ * only test the correct behaviour of the class using real data.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@DataJpaTest
+public class UsageJpaRepositoryTests {
+  private static final String CLIENT = "ip:10.0.0.1";
+  private static final String DIFFERENT_CLIENT = "ip:10.0.0.2";
+
+  @Autowired UsageJpaRepository usageJpaRepository;
+
+  /** setup() saves the usage of two clients, flushed in two periods (0-1000 and 1000-2000). */
+  @BeforeEach
+  public void setup() {
+    usageJpaRepository.saveAll(
+        Arrays.asList(
+            new Usage(CLIENT, "city", 0L, 1000L, 10L, 1L),
+            new Usage(CLIENT, "room", 0L, 1000L, 5L, 0L),
+            new Usage(DIFFERENT_CLIENT, "city", 0L, 1000L, 7L, 0L),
+            new Usage(CLIENT, "city", 1000L, 2000L, 3L, 2L)));
+  }
+
+  /** Calls the "sumByClientKey" method that should sum the usage of {CLIENT} by endpoint. */
+  @Test
+  public void sumByClientKey() {
+    List<UsageSummary> usage = usageJpaRepository.sumByClientKey(CLIENT, 0L, 2000L);
+
+    assertThat(usage.size()).isEqualTo(2);
+    assertThat(usage.get(0).getEndpoint()).isEqualTo("city");
+    assertThat(usage.get(0).getAllowed()).isEqualTo(13L);
+    assertThat(usage.get(0).getRejected()).isEqualTo(3L);
+    assertThat(usage.get(1).getEndpoint()).isEqualTo("room");
+    assertThat(usage.get(1).getAllowed()).isEqualTo(5L);
+  }
+
+  /** Calls the "sumByClientKey" method that should only sum the periods starting in the range. */
+  @Test
+  public void sumByClientKeyInPeriod() {
+    List<UsageSummary> usage = usageJpaRepository.sumByClientKey(CLIENT, 1000L, 2000L);
+
+    assertThat(usage.size()).isEqualTo(1);
+    assertThat(usage.get(0).getAllowed()).isEqualTo(3L);
+  }
+
+  /** Calls the "sumAll" method that should sum the usage of every client by endpoint. */
+  @Test
+  public void sumAll() {
+    List<UsageSummary> usage = usageJpaRepository.sumAll(0L, 2000L);
+
+    assertThat(usage.size()).isEqualTo(3);
+    assertThat(usage.get(2).getClientKey()).isEqualTo(DIFFERENT_CLIENT);
+    assertThat(usage.get(2).getAllowed()).isEqualTo(7L);
+  }
+}
@@ -1,6 +1,8 @@
 package com.example.sampleratelimitedapi.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.sampleratelimitedapi.models.Hotel;
@@ -9,6 +11,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -218,4 +222,56 @@ public class HotelServiceTests {
     assertThat(hotels).isNotNull();
     assertThat(hotels.size()).isEqualTo(0);
   }
+
+  // Single flight
+
+  /**
+   * Calls the "findAllHotelsByCity" method from 8 threads at the same time, with the city and the
+   * sort order in different cases, that should call the HotelRepository only once.
+   */
+  @Test
+  public void findByCityCollapsed() throws Exception {
+    // Mockito configuration
+    CountDownLatch release = new CountDownLatch(1);
+    when(hotelRepository.findAllHotelsByCity(CITY, "ASC"))
+        .thenAnswer(
+            invocation -> {
+              release.await(5, TimeUnit.SECONDS);
+              return sameCityHotels;
+            });
+
+    // Test
+    HotelService hotelService = new HotelServiceImpl(this.hotelRepository);
+    List<Thread> threads = new ArrayList<>();
+    int[] found = new int[1];
+
+    Thread leader = new Thread(() -> hotelService.findAllHotelsByCity(CITY, "ASC"));
+    leader.start();
+
+    // Let the leader reach the HotelRepository first
+    Thread.sleep(100L);
+
+    for (int i = 0; i < 8; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                List<Hotel> hotels = hotelService.findAllHotelsByCity("BANGKOK", "asc");
+
+                synchronized (found) {
+                  found[0] += hotels.size();
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+
+    Thread.sleep(100L);
+    release.countDown();
+
+    leader.join();
+    for (Thread thread : threads) thread.join();
+
+    assertThat(found[0]).isEqualTo(16);
+    verify(hotelRepository, times(1)).findAllHotelsByCity(CITY, "ASC");
+  }
 }
@@ -0,0 +1,72 @@
+package com.example.sampleratelimitedapi.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.sampleratelimitedapi.models.Usage;
+import com.example.sampleratelimitedapi.models.UsageSummary;
+import com.example.sampleratelimitedapi.repositories.UsageJpaRepository;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ *
+ *
+ * <h1>UsageServiceTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the UsageServiceImpl class (and UsageService interface)
+ *
+ * <p>We use Mockito to generate a mocked instance based on the UsageJpaRepository interface
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+@ExtendWith(MockitoExtension.class)
+public class UsageServiceTests {
+  private static final String CLIENT = "ip:10.0.0.1";
+
+  @Mock private UsageJpaRepository usageJpaRepository;
+
+  /** Calls the "findUsage" method with a client, that should only sum the usage of {CLIENT}. */
+  @Test
+  public void findUsageOfClient() {
+    // Mockito configuration
+    List<UsageSummary> usage = Collections.singletonList(new UsageSummary(CLIENT, "city", 1L, 0L));
+    when(usageJpaRepository.sumByClientKey(CLIENT, 0L, 1000L)).thenReturn(usage);
+
+    // Test
+    UsageService usageService = new UsageServiceImpl(this.usageJpaRepository);
+
+    assertThat(usageService.findUsage(CLIENT, 0L, 1000L)).isEqualTo(usage);
+  }
+
+  /** Calls the "findUsage" method without a client, that should sum the usage of every client. */
+  @Test
+  public void findUsageOfEveryClient() {
+    // Mockito configuration
+    List<UsageSummary> usage = Collections.singletonList(new UsageSummary(CLIENT, "city", 1L, 0L));
+    when(usageJpaRepository.sumAll(0L, 1000L)).thenReturn(usage);
+
+    // Test
+    UsageService usageService = new UsageServiceImpl(this.usageJpaRepository);
+
+    assertThat(usageService.findUsage(null, 0L, 1000L)).isEqualTo(usage);
+  }
+
+  /** Calls the "saveAll" method, that should save every Usage instance. */
+  @Test
+  public void saveAll() {
+    List<Usage> usages = Collections.singletonList(new Usage(CLIENT, "city", 0L, 1000L, 1L, 0L));
+
+    // Test
+    new UsageServiceImpl(this.usageJpaRepository).saveAll(usages);
+
+    verify(usageJpaRepository).saveAll(usages);
+  }
+}
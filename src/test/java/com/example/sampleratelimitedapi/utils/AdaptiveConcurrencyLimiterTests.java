@@ -0,0 +1,85 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>AdaptiveConcurrencyLimiterTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the AdaptiveConcurrencyLimiter class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class AdaptiveConcurrencyLimiterTests {
+  /**
+   * Given a concurrency limit of 2 requests. When two requests are being handled. Then a third
+   * request should be rejected, until one of them completes.
+   */
+  @Test
+  public void testLimit() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 2);
+
+    assertThat(limiter.tryAcquire()).isEqualTo(true);
+    assertThat(limiter.tryAcquire()).isEqualTo(true);
+    assertThat(limiter.tryAcquire()).isEqualTo(false);
+    assertThat(limiter.getInFlight()).isEqualTo(2);
+
+    limiter.cancel();
+    assertThat(limiter.tryAcquire()).isEqualTo(true);
+  }
+
+  /**
+   * Given a concurrency limit of 10 requests. When the latency rises above twice the baseline. Then
+   * the limit should decrease, but never below the minimum.
+   */
+  @Test
+  public void testDecreaseOnLatency() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 2, 100);
+
+    limiter.tryAcquire();
+    limiter.release(1000L);
+    int limit = limiter.getLimit();
+
+    limiter.tryAcquire();
+    limiter.release(5000L);
+    assertThat(limiter.getLimit()).isLessThan(limit);
+
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire();
+      limiter.release(5000L);
+    }
+
+    assertThat(limiter.getLimit()).isEqualTo(2);
+  }
+
+  /**
+   * Given a concurrency limit of 10 requests. When the limit is in use and the latency stays at the
+   * baseline. Then the limit should grow, but never above the maximum.
+   */
+  @Test
+  public void testIncrease() {
+    AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20);
+
+    for (int i = 0; i < 100; i++) {
+      while (limiter.tryAcquire()) {}
+
+      limiter.release(1000L);
+    }
+
+    assertThat(limiter.getLimit()).isEqualTo(20);
+
+    // A request handled alone does not need a higher limit
+    AdaptiveConcurrencyLimiter idleLimiter = new AdaptiveConcurrencyLimiter(10, 1, 20);
+    for (int i = 0; i < 100; i++) {
+      idleLimiter.tryAcquire();
+      idleLimiter.release(1000L);
+    }
+
+    assertThat(idleLimiter.getLimit()).isEqualTo(10);
+  }
+}
@@ -0,0 +1,54 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>CachedClockTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the CachedClock class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class CachedClockTests {
+  /**
+   * Given a clock cached every minute. When the source clock moves forward. Then the cached time
+   * should only change once the clock ticks.
+   */
+  @Test
+  public void testTick() {
+    FakeClock source = new FakeClock(1000L);
+
+    try (CachedClock clock = new CachedClock(source, 60 * 1000L)) {
+      assertThat(clock.currentTimeMillis()).isEqualTo(1000L);
+
+      source.advance(500L);
+      assertThat(clock.currentTimeMillis()).isEqualTo(1000L);
+
+      clock.tick();
+      assertThat(clock.currentTimeMillis()).isEqualTo(1500L);
+    }
+  }
+
+  /**
+   * Given a clock cached every millisecond. When the source clock moves forward. Then the ticker
+   * should refresh the cached time.
+   */
+  @Test
+  public void testTicker() throws InterruptedException {
+    FakeClock source = new FakeClock(1000L);
+
+    try (CachedClock clock = new CachedClock(source, 1L)) {
+      source.advance(500L);
+
+      for (int i = 0; i < 100 && clock.currentTimeMillis() != 1500L; i++) Thread.sleep(10L);
+
+      assertThat(clock.currentTimeMillis()).isEqualTo(1500L);
+    }
+  }
+}
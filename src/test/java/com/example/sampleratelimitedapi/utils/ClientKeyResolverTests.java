@@ -0,0 +1,98 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ *
+ *
+ * <h1>ClientKeyResolverTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the ClientKeyResolver class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class ClientKeyResolverTests {
+  private static final String API_KEY = "known-key";
+
+  private static final String CLIENT = "203.0.113.7";
+  private static final String PROXY = "10.0.0.1";
+  private static final String DIFFERENT_PROXY = "10.0.0.2";
+
+  private final ClientKeyResolver clientKeyResolver =
+      new ClientKeyResolver(
+          Collections.singletonList(API_KEY), Arrays.asList(PROXY, DIFFERENT_PROXY));
+
+  private MockHttpServletRequest request(String remoteAddr, String apiKey, String forwardedFor) {
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.setRemoteAddr(remoteAddr);
+
+    if (apiKey != null) request.addHeader(ClientKeyResolver.API_KEY_HEADER, apiKey);
+    if (forwardedFor != null)
+      request.addHeader(ClientKeyResolver.FORWARDED_FOR_HEADER, forwardedFor);
+
+    return request;
+  }
+
+  /**
+   * Given a request with a known API key. When the client is resolved. Then it should be identified
+   * by the hash of the key, never by the key itself.
+   */
+  @Test
+  public void testKnownApiKey() {
+    String clientKey = clientKeyResolver.resolve(request(CLIENT, API_KEY, null));
+
+    assertThat(clientKey).isEqualTo("key:" + ClientKeyResolver.hash(API_KEY));
+    assertThat(clientKey).doesNotContain(API_KEY);
+  }
+
+  /**
+   * Given requests with unknown API keys. When the client is resolved. Then it should be identified
+   * by its IP address, whatever the key.
+   */
+  @Test
+  public void testUnknownApiKey() {
+    assertThat(clientKeyResolver.resolve(request(CLIENT, "unknown-key", null)))
+        .isEqualTo("ip:" + CLIENT);
+    assertThat(clientKeyResolver.resolve(request(CLIENT, "another-unknown-key", null)))
+        .isEqualTo("ip:" + CLIENT);
+  }
+
+  /**
+   * Given a request forwarded by a trusted proxy. When the client is resolved. Then it should be
+   * identified by the address the proxy forwarded the request for.
+   */
+  @Test
+  public void testForwardedByTrustedProxy() {
+    assertThat(clientKeyResolver.resolve(request(PROXY, null, CLIENT))).isEqualTo("ip:" + CLIENT);
+  }
+
+  /**
+   * Given a request forwarded by a chain of trusted proxies, with a forged address in front. When
+   * the client is resolved. Then it should be identified by the last address that is not a trusted
+   * proxy.
+   */
+  @Test
+  public void testForwardedByProxyChain() {
+    String forwardedFor = "198.51.100.1, " + CLIENT + ", " + DIFFERENT_PROXY;
+
+    assertThat(clientKeyResolver.resolve(request(PROXY, null, forwardedFor)))
+        .isEqualTo("ip:" + CLIENT);
+  }
+
+  /**
+   * Given a request with a X-Forwarded-For header, not sent by a trusted proxy. When the client is
+   * resolved. Then the header should be ignored.
+   */
+  @Test
+  public void testForwardedByUntrustedAddress() {
+    assertThat(clientKeyResolver.resolve(request(CLIENT, null, "198.51.100.1")))
+        .isEqualTo("ip:" + CLIENT);
+  }
+}
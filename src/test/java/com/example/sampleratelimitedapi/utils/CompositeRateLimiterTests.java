@@ -0,0 +1,96 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>CompositeRateLimiterTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the CompositeRateLimiter class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class CompositeRateLimiterTests {
+  private final FakeClock clock = new FakeClock(10 * 1000L);
+
+  private RateLimiter rateLimiter(long maxRequests) {
+    return new RateLimiter(new TokenBucketStrategy(maxRequests, 60 * 1000L), clock);
+  }
+
+  /**
+   * Given an endpoint limit of 5 requests and a global limit of 3 requests. When we make five
+   * requests. Then only three requests should be allowed, and the rejected ones should not consume
+   * the endpoint limit.
+   */
+  @Test
+  public void testRejectedRequestsAreRefunded() {
+    RateLimiter endpoint = rateLimiter(5L);
+    RateLimiter global = rateLimiter(3L);
+    CompositeRateLimiter rateLimiter = new CompositeRateLimiter(endpoint, global);
+
+    int allowed = 0;
+    for (int i = 0; i < 5; i++) {
+      if (rateLimiter.isAllowed()) allowed++;
+    }
+
+    assertThat(allowed).isEqualTo(3);
+    assertThat(endpoint.tryAcquire().getRemaining()).isEqualTo(1L);
+  }
+
+  /**
+   * Given a client limit of 2 requests and a global limit of 10 requests. When the client makes
+   * three requests. Then the global limit should only be consumed by the two allowed requests.
+   */
+  @Test
+  public void testSharedLevelUntouchedByRejectedClient() {
+    RateLimiter client = rateLimiter(2L);
+    RateLimiter global = rateLimiter(10L);
+    CompositeRateLimiter rateLimiter = new CompositeRateLimiter(client, global);
+
+    assertThat(rateLimiter.isAllowed()).isEqualTo(true);
+    assertThat(rateLimiter.isAllowed()).isEqualTo(true);
+    assertThat(rateLimiter.isAllowed()).isEqualTo(false);
+
+    assertThat(global.tryAcquire().getRemaining()).isEqualTo(7L);
+  }
+
+  /**
+   * Given an endpoint limit of 5 requests and a global limit of 10 requests. When we make a
+   * request. Then the decision should describe the most restrictive level.
+   */
+  @Test
+  public void testDecision() {
+    CompositeRateLimiter rateLimiter = new CompositeRateLimiter(rateLimiter(5L), rateLimiter(10L));
+
+    RateLimitDecision decision = rateLimiter.tryAcquire();
+    assertThat(decision.isAllowed()).isEqualTo(true);
+    assertThat(decision.getLimit()).isEqualTo(5L);
+    assertThat(decision.getRemaining()).isEqualTo(4L);
+  }
+
+  /**
+   * Given an endpoint limit of 10 requests and a global limit of 6 requests. When a request charged
+   * 5 permits turns out to cost 1 permit. Then settling it should give the extra permits back to
+   * every level.
+   */
+  @Test
+  public void testPermits() {
+    RateLimiter endpoint = rateLimiter(10L);
+    RateLimiter global = rateLimiter(6L);
+    CompositeRateLimiter rateLimiter = new CompositeRateLimiter(endpoint, global);
+
+    assertThat(rateLimiter.tryAcquire(5L).getRemaining()).isEqualTo(1L);
+
+    rateLimiter.settle(5L, 1L);
+
+    RateLimitDecision decision = rateLimiter.tryAcquire(1L);
+    assertThat(decision.getLimit()).isEqualTo(6L);
+    assertThat(decision.getRemaining()).isEqualTo(4L);
+    assertThat(endpoint.tryAcquire().getRemaining()).isEqualTo(7L);
+  }
+}
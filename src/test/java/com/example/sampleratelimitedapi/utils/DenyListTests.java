@@ -0,0 +1,105 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>DenyListTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the DenyList class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class DenyListTests {
+  private static final long CLIENT = DenyList.fingerprint("ip:10.0.0.1");
+  private static final long DIFFERENT_CLIENT = DenyList.fingerprint("ip:10.0.0.2");
+
+  /**
+   * Given a client denied for 5 seconds. When the time passes. Then the client should be denied for
+   * the time left, other clients should never be denied, and the client should not be denied
+   * anymore once the time is up.
+   */
+  @Test
+  public void testDenyExpires() {
+    FakeClock clock = new FakeClock(1000L);
+    DenyList denyList = new DenyList(16, clock);
+
+    denyList.deny(CLIENT, 6000L);
+    assertThat(denyList.getDeniedMs(CLIENT)).isEqualTo(5000L);
+    assertThat(denyList.getDeniedMs(DIFFERENT_CLIENT)).isEqualTo(0L);
+
+    clock.advance(3000L);
+    assertThat(denyList.getDeniedMs(CLIENT)).isEqualTo(2000L);
+
+    clock.advance(2000L);
+    assertThat(denyList.getDeniedMs(CLIENT)).isEqualTo(0L);
+  }
+
+  /**
+   * Given a client already denied. When it is denied again until an earlier time. Then it should
+   * stay denied until the latest time.
+   */
+  @Test
+  public void testDenyKeepsLatest() {
+    DenyList denyList = new DenyList(16, new FakeClock(1000L));
+
+    denyList.deny(CLIENT, 6000L);
+    denyList.deny(CLIENT, 2000L);
+
+    assertThat(denyList.getDeniedMs(CLIENT)).isEqualTo(5000L);
+  }
+
+  /** A time that has already passed should never deny the client. */
+  @Test
+  public void testDenyInThePast() {
+    DenyList denyList = new DenyList(16, new FakeClock(1000L));
+
+    denyList.deny(CLIENT, 1000L);
+
+    assertThat(denyList.getDeniedMs(CLIENT)).isEqualTo(0L);
+  }
+
+  /**
+   * Given a list holding about 16 clients. When 10000 clients are denied. Then the latest client
+   * should be denied, and a client that was never denied should never be.
+   */
+  @Test
+  public void testOverCapacity() {
+    DenyList denyList = new DenyList(16, new FakeClock(1000L));
+
+    for (int i = 0; i < 10000; i++) denyList.deny(DenyList.fingerprint("ip:" + i), 6000L);
+
+    assertThat(denyList.getDeniedMs(DenyList.fingerprint("ip:9999"))).isEqualTo(5000L);
+    assertThat(denyList.getDeniedMs(CLIENT)).isEqualTo(0L);
+  }
+
+  /** A client denied on an endpoint should not be denied on the other endpoints. */
+  @Test
+  public void testScopedFingerprint() {
+    DenyList denyList = new DenyList(16, new FakeClock(1000L));
+    long city = DenyList.fingerprint("city");
+    long room = DenyList.fingerprint("room");
+
+    denyList.deny(DenyList.fingerprint(CLIENT, city), 6000L);
+
+    assertThat(denyList.getDeniedMs(DenyList.fingerprint(CLIENT, city))).isEqualTo(5000L);
+    assertThat(denyList.getDeniedMs(DenyList.fingerprint(CLIENT, room))).isEqualTo(0L);
+    assertThat(denyList.getDeniedMs(CLIENT)).isEqualTo(0L);
+  }
+
+  /** A cleared list should not deny any client. */
+  @Test
+  public void testClear() {
+    DenyList denyList = new DenyList(16, new FakeClock(1000L));
+
+    denyList.deny(CLIENT, 6000L);
+    denyList.clear();
+
+    assertThat(denyList.getDeniedMs(CLIENT)).isEqualTo(0L);
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.sampleratelimitedapi.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *
+ *
+ * <h1>FakeClock</h1>
+ *
+ * <p>A deterministic {@link Clock} for the tests: the time only moves when the test says so, so the
+ * tests never need to sleep.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class FakeClock implements Clock {
+  private final AtomicLong currentTimeMillis;
+
+  /**
+   * Creates a FakeClock starting at the specified time.
+   *
+   * @param currentTimeMillis The initial time (in milliseconds).
+   */
+  public FakeClock(long currentTimeMillis) {
+    this.currentTimeMillis = new AtomicLong(currentTimeMillis);
+  }
+
+  @Override
+  public long currentTimeMillis() {
+    return currentTimeMillis.get();
+  }
+
+  /**
+   * Moves the time forward.
+   *
+   * @param ms The amount of milliseconds to move the time forward by.
+   */
+  public void advance(long ms) {
+    currentTimeMillis.addAndGet(ms);
+  }
+}
@@ -0,0 +1,99 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>GcraStrategyTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the GcraStrategy class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class GcraStrategyTests {
+  /**
+   * Given a rate limit of max 5 requests in 1 second. When we make five requests at the same time.
+   * Then the sixth request should be rejected.
+   */
+  @Test
+  public void testBurst() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new GcraStrategy(5L, 1000L);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(strategy.tryAcquire(now)).isEqualTo(true);
+    }
+
+    // Last request should fail
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second (emission interval of 200 milliseconds). When
+   * the burst of five requests has been used. Then one request should be allowed every 200
+   * milliseconds.
+   */
+  @Test
+  public void testRefill() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new GcraStrategy(5L, 1000L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+
+    assertThat(strategy.tryAcquire(now + 199L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + 200L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now + 200L)).isEqualTo(false);
+
+    // The burst never exceeds 5 requests
+    for (int i = 0; i < 5; i++) {
+      assertThat(strategy.tryAcquire(now + 60 * 1000L)).isEqualTo(true);
+    }
+
+    assertThat(strategy.tryAcquire(now + 60 * 1000L)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, already reached. When we ask how long until
+   * the next request is allowed. Then a request should be rejected before that time, and allowed at
+   * that time.
+   */
+  @Test
+  public void testWait() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = new GcraStrategy(5L, 1000L);
+
+    assertThat(strategy.getWaitMs(now)).isEqualTo(0L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+
+    long waitMs = strategy.getWaitMs(now);
+    assertThat(waitMs).isEqualTo(200L);
+
+    assertThat(strategy.tryAcquire(now + waitMs - 1)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + waitMs)).isEqualTo(true);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, with 2 requests made. When 4 more permits are
+   * consumed, exceeding the limit. Then the debt should be paid by the refill: only 4 permits
+   * should be available 1 second later.
+   */
+  @Test
+  public void testConsumeRefill() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = new GcraStrategy(5L, 1000L);
+
+    assertThat(strategy.tryAcquire(now, 2L)).isEqualTo(true);
+    strategy.consume(now, 4L);
+
+    assertThat(strategy.tryAcquire(now, 1L)).isEqualTo(false);
+
+    assertThat(strategy.tryAcquire(now + 1000L, 5L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + 1000L, 4L)).isEqualTo(true);
+  }
+}
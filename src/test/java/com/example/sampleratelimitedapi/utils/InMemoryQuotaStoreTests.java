@@ -0,0 +1,39 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>InMemoryQuotaStoreTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the InMemoryQuotaStore class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class InMemoryQuotaStoreTests {
+  /**
+   * Given a rate limit of max 25 requests in 1 second.
+   * When we lease 10 permits three times in the same window.
+   * Then the last lease should only get the 5 remaining permits.
+   */
+  @Test
+  public void testLeaseWithinWindow() {
+    QuotaStore quotaStore = new InMemoryQuotaStore();
+
+    assertThat(quotaStore.lease("key", 10L, 25L, 1000L, 10 * 1000L)).isEqualTo(10L);
+    assertThat(quotaStore.lease("key", 10L, 25L, 1000L, 10 * 1000L + 500L)).isEqualTo(10L);
+    assertThat(quotaStore.lease("key", 10L, 25L, 1000L, 10 * 1000L + 999L)).isEqualTo(5L);
+    assertThat(quotaStore.lease("key", 10L, 25L, 1000L, 10 * 1000L + 999L)).isEqualTo(0L);
+
+    // Other keys have their own quota
+    assertThat(quotaStore.lease("other", 10L, 25L, 1000L, 10 * 1000L)).isEqualTo(10L);
+
+    // The next window starts with a fresh quota
+    assertThat(quotaStore.lease("key", 10L, 25L, 1000L, 11 * 1000L)).isEqualTo(10L);
+  }
+}
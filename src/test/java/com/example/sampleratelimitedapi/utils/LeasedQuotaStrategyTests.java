@@ -0,0 +1,164 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>LeasedQuotaStrategyTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the LeasedQuotaStrategy class
+ *
+ * <p>Several "nodes" are simulated by creating several LeasedQuotaStrategy instances sharing the
+ * same {@link InMemoryQuotaStore}.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class LeasedQuotaStrategyTests {
+  private static final String KEY = "city:ip:127.0.0.1";
+
+  /**
+   * Given a global rate limit of max 100 requests in 1 second, shared by 3 nodes. When every node
+   * receives 100 requests. Then exactly 100 requests should be allowed across the cluster.
+   */
+  @Test
+  public void testGlobalLimit() {
+    long now = 10 * 1000L;
+    QuotaStore quotaStore = new InMemoryQuotaStore();
+    RateLimitStrategy[] nodes = new RateLimitStrategy[3];
+
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = new LeasedQuotaStrategy(quotaStore, KEY, 100L, 1000L, 10L);
+    }
+
+    int allowed = 0;
+    for (int i = 0; i < 100; i++) {
+      for (RateLimitStrategy node : nodes) {
+        if (node.tryAcquire(now)) allowed++;
+      }
+    }
+
+    assertThat(allowed).isEqualTo(100);
+
+    // The next window starts with a fresh quota
+    assertThat(nodes[0].tryAcquire(now + 1000L)).isEqualTo(true);
+  }
+
+  /**
+   * Given a rate limit of max 100 requests in 1 second, leasing 10 permits at once. When the node
+   * receives 150 requests. Then the store should be called only once per batch (plus once to find
+   * it exhausted).
+   */
+  @Test
+  public void testLeaseBatches() {
+    long now = 10 * 1000L;
+    InMemoryQuotaStore delegate = new InMemoryQuotaStore();
+    AtomicInteger leases = new AtomicInteger(0);
+
+    QuotaStore quotaStore =
+        (key, permits, maxRequests, timeIntervalMs, currentTimeMillis) -> {
+          leases.incrementAndGet();
+          return delegate.lease(key, permits, maxRequests, timeIntervalMs, currentTimeMillis);
+        };
+
+    RateLimitStrategy strategy = new LeasedQuotaStrategy(quotaStore, KEY, 100L, 1000L, 10L);
+
+    int allowed = 0;
+    for (int i = 0; i < 150; i++) {
+      if (strategy.tryAcquire(now)) allowed++;
+    }
+
+    assertThat(allowed).isEqualTo(100);
+    assertThat(leases.get()).isEqualTo(11);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests, already reached. When one of the permits is refunded.
+   * Then exactly one more request should be allowed.
+   */
+  @Test
+  public void testRefund() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy =
+        new LeasedQuotaStrategy(new InMemoryQuotaStore(), KEY, 5L, 1000L, 5L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+
+    strategy.refund(now);
+
+    assertThat(strategy.tryAcquire(now)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second. When requests cost more than one permit. Then
+   * a request should only be allowed if all of its permits are available.
+   */
+  @Test
+  public void testPermits() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy =
+        new LeasedQuotaStrategy(new InMemoryQuotaStore(), KEY, 5L, 1000L, 5L);
+
+    assertThat(strategy.tryAcquire(now, 3L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now, 3L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now, 2L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now, 1L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now, 6L)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, with 2 requests made. When 4 more permits are
+   * consumed, exceeding the limit. Then the next requests should be rejected until the debt is
+   * paid.
+   */
+  @Test
+  public void testConsume() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy =
+        new LeasedQuotaStrategy(new InMemoryQuotaStore(), KEY, 5L, 1000L, 5L);
+
+    assertThat(strategy.tryAcquire(now, 2L)).isEqualTo(true);
+    strategy.consume(now, 4L);
+
+    assertThat(strategy.tryAcquire(now, 1L)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, with every permit of the window spent. When a
+   * request of that window waits to lease more permits while another request leases the permits of
+   * the next window. Then the waiting request should count in the next window, without discarding
+   * the permits leased for it.
+   */
+  @Test
+  public void testConcurrentWindowRollover() throws Exception {
+    long now = 10 * 1000L;
+    LeasedQuotaStrategy strategy =
+        new LeasedQuotaStrategy(new InMemoryQuotaStore(), KEY, 5L, 1000L, 5L);
+
+    assertThat(strategy.tryAcquire(now, 5L)).isEqualTo(true);
+
+    AtomicBoolean allowed = new AtomicBoolean();
+    Thread thread = new Thread(() -> allowed.set(strategy.tryAcquire(now)));
+
+    // Hold the lease, so the request of the ended window waits for it
+    synchronized (strategy) {
+      thread.start();
+      while (thread.getState() != Thread.State.BLOCKED) Thread.yield();
+
+      assertThat(strategy.tryAcquire(now + 1000L)).isEqualTo(true);
+    }
+
+    thread.join();
+
+    assertThat(allowed.get()).isEqualTo(true);
+    assertThat(strategy.getRemaining(now + 1000L)).isEqualTo(3L);
+  }
+}
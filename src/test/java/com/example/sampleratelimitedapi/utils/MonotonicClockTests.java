@@ -0,0 +1,35 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>MonotonicClockTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the MonotonicClock class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class MonotonicClockTests {
+  /**
+   * Given the monotonic clock. When we read the time many times. Then the time should never go
+   * backwards, and stay close to the system time.
+   */
+  @Test
+  public void testMonotonic() {
+    long previous = MonotonicClock.INSTANCE.currentTimeMillis();
+
+    for (int i = 0; i < 100000; i++) {
+      long current = MonotonicClock.INSTANCE.currentTimeMillis();
+      assertThat(current).isGreaterThanOrEqualTo(previous);
+      previous = current;
+    }
+
+    assertThat(Math.abs(previous - System.currentTimeMillis())).isLessThan(1000L);
+  }
+}
@@ -0,0 +1,96 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ *
+ *
+ * <h1>RateLimitStrategyTests</h1>
+ *
+ * <p>This class contains the Unit Tests of the contract of the RateLimitStrategy interface, run
+ * against the strategy of every RateLimitAlgorithm. The behaviour specific to an algorithm is
+ * tested by the class of its strategy.
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RateLimitStrategyTests {
+  /**
+   * Given a rate limit of max 5 requests in 1 second. When requests cost more than one permit. Then
+   * a request should only be allowed if all of its permits are available.
+   */
+  @ParameterizedTest
+  @EnumSource(RateLimitAlgorithm.class)
+  public void testPermits(RateLimitAlgorithm algorithm) {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = algorithm.create(5L, 1000L);
+
+    assertThat(strategy.tryAcquire(now, 3L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now, 3L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now, 2L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now, 1L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now, 6L)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, with 2 requests made. When 4 more permits are
+   * consumed, exceeding the limit. Then the next requests should be rejected until the debt is
+   * paid.
+   */
+  @ParameterizedTest
+  @EnumSource(RateLimitAlgorithm.class)
+  public void testConsume(RateLimitAlgorithm algorithm) {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = algorithm.create(5L, 1000L);
+
+    assertThat(strategy.tryAcquire(now, 2L)).isEqualTo(true);
+    strategy.consume(now, 4L);
+
+    assertThat(strategy.tryAcquire(now, 1L)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests, already reached. When one of the permits is refunded.
+   * Then exactly one more request should be allowed.
+   */
+  @ParameterizedTest
+  @EnumSource(RateLimitAlgorithm.class)
+  public void testRefund(RateLimitAlgorithm algorithm) {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = algorithm.create(5L, 1000L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+
+    strategy.refund(now);
+
+    assertThat(strategy.tryAcquire(now)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, already reached. When the strategy is reset.
+   * Then 5 more requests should be allowed.
+   */
+  @ParameterizedTest
+  @EnumSource(RateLimitAlgorithm.class)
+  public void testReset(RateLimitAlgorithm algorithm) {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = algorithm.create(5L, 1000L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+
+    strategy.reset();
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(strategy.tryAcquire(now)).isEqualTo(true);
+    }
+
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+  }
+}
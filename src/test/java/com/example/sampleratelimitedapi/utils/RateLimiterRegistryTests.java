@@ -0,0 +1,120 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>RateLimiterRegistryTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the RateLimiterRegistry class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RateLimiterRegistryTests {
+  /**
+   * Given a registry with a rate limit of max 1 request per key. When the first client makes two
+   * requests. Then the second client should still be allowed.
+   */
+  @Test
+  public void testKeysAreLimitedIndependently() {
+    try (RateLimiterRegistry registry =
+        new RateLimiterRegistry(key -> new RateLimiter(1L, 60 * 1000L))) {
+      assertThat(registry.get("first").isAllowed()).isEqualTo(true);
+      assertThat(registry.get("first").isAllowed()).isEqualTo(false);
+
+      assertThat(registry.get("second").isAllowed()).isEqualTo(true);
+    }
+  }
+
+  /**
+   * Given a registry holding max 64 entries. When 10000 different keys are requested. Then the
+   * registry should never hold more than 64 entries.
+   */
+  @Test
+  public void testMaxEntries() {
+    try (RateLimiterRegistry registry =
+        new RateLimiterRegistry(key -> new RateLimiter(1L, 60 * 1000L), 64, 60 * 1000L)) {
+      for (int i = 0; i < 10000; i++) {
+        registry.get("client-" + i);
+        assertThat(registry.size()).isLessThanOrEqualTo(64);
+      }
+    }
+  }
+
+  /**
+   * Given a registry evicting entries after 100 milliseconds of inactivity, and a fake clock. When
+   * a key is not requested for 200 milliseconds, while another key has just been requested. Then
+   * only the RateLimiter of the first key should be evicted.
+   */
+  @Test
+  public void testEvictIdle() {
+    FakeClock clock = new FakeClock(10 * 1000L);
+
+    try (RateLimiterRegistry registry =
+        new RateLimiterRegistry(key -> new RateLimiter(1L, 60 * 1000L), 64, 100L, clock)) {
+      RateLimiter idleRateLimiter = registry.get("idle");
+
+      clock.advance(200L);
+      RateLimiter busyRateLimiter = registry.get("busy");
+      registry.evictIdle();
+
+      assertThat(registry.size()).isEqualTo(1);
+      assertThat(registry.get("busy")).isSameAs(busyRateLimiter);
+      assertThat(registry.get("idle")).isNotSameAs(idleRateLimiter);
+    }
+  }
+
+  /**
+   * Given a registry evicting entries after 100 milliseconds of inactivity on a scheduler, and a
+   * fake clock. When a key is not requested for 200 milliseconds. Then its RateLimiter should be
+   * evicted by the scheduler, without calling evictIdle.
+   */
+  @Test
+  public void testScheduledEviction() throws Exception {
+    FakeClock clock = new FakeClock(10 * 1000L);
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+
+    try (RateLimiterRegistry registry =
+        new RateLimiterRegistry(
+            key -> new RateLimiter(1L, 60 * 1000L), 64, 100L, clock, scheduler)) {
+      registry.get("idle");
+      clock.advance(200L);
+
+      // The eviction runs every 50 milliseconds
+      for (int i = 0; i < 100 && registry.size() > 0; i++) Thread.sleep(10L);
+
+      assertThat(registry.size()).isEqualTo(0);
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Given a registry holding the RateLimiter of three keys. When we visit every RateLimiter. Then
+   * every key should be visited once, with its own RateLimiter.
+   */
+  @Test
+  public void testForEach() {
+    try (RateLimiterRegistry registry =
+        new RateLimiterRegistry(key -> new RateLimiter(1L, 60 * 1000L))) {
+      RateLimiter first = registry.get("first");
+      registry.get("second");
+      registry.get("third");
+
+      Map<String, RateLimiter> visited = new HashMap<>();
+      registry.forEach(visited::put);
+
+      assertThat(visited.keySet()).containsExactlyInAnyOrder("first", "second", "third");
+      assertThat(visited.get("first")).isSameAs(first);
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ *
+ *
+ * <h1>RateLimiterSnapshotFileTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the RateLimiterSnapshotFile class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class RateLimiterSnapshotFileTests {
+  @TempDir Path directory;
+
+  /**
+   * Given two snapshots holding some state, and an empty one. When they are written to the file and
+   * read back. Then the two snapshots should be read as they were written, and the empty one should
+   * be skipped.
+   */
+  @Test
+  public void testWriteAndRead() throws Exception {
+    RateLimiterSnapshotFile file = new RateLimiterSnapshotFile(directory.resolve("snapshots"));
+
+    Map<String, RateLimiterSnapshot> snapshots = new HashMap<>();
+    snapshots.put("endpoint:city:ip:10.0.0.1", new RateLimiterSnapshot(3L, 1000L, 0L));
+    snapshots.put("global", new RateLimiterSnapshot(0L, 1000L, 6000L));
+    snapshots.put("client:ip:10.0.0.2", new RateLimiterSnapshot(0L, 1000L, 0L));
+
+    file.write(snapshots);
+    Map<String, RateLimiterSnapshot> read = file.read();
+
+    assertThat(read.keySet()).containsExactlyInAnyOrder("endpoint:city:ip:10.0.0.1", "global");
+    assertThat(read.get("endpoint:city:ip:10.0.0.1").getUsed()).isEqualTo(3L);
+    assertThat(read.get("endpoint:city:ip:10.0.0.1").getTakenAtMs()).isEqualTo(1000L);
+    assertThat(read.get("global").getBlockedUntilMs()).isEqualTo(6000L);
+  }
+
+  /** A file that does not exist yet should hold no snapshots. */
+  @Test
+  public void testMissingFile() throws Exception {
+    RateLimiterSnapshotFile file = new RateLimiterSnapshotFile(directory.resolve("missing"));
+
+    assertThat(file.read()).isEmpty();
+  }
+
+  /** A file that is not a snapshot file should not be read. */
+  @Test
+  public void testNotSnapshotFile() throws Exception {
+    Path path = directory.resolve("snapshots");
+    Files.write(path, "rate-limit.global.max-requests=10".getBytes(StandardCharsets.UTF_8));
+
+    assertThatThrownBy(() -> new RateLimiterSnapshotFile(path).read())
+        .isInstanceOf(IOException.class);
+  }
+}
@@ -2,6 +2,13 @@ package com.example.sampleratelimitedapi.utils;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -66,4 +73,150 @@ public class RateLimiterTests {
     // Last request should pass
     assertThat(rateLimiter.isAllowed()).isEqualTo(true);
   }
+
+  /**
+   * Given a rate limit of max 1000 requests in 1 minute. When 8 threads make 10000 requests at the
+   * same time. Then exactly 1000 requests should be allowed.
+   */
+  @Test
+  public void testConcurrentRequests() throws Exception {
+    RateLimiter rateLimiter = new RateLimiter(1000L, 60 * 1000L);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Integer>> results = new ArrayList<>();
+
+    try {
+      for (int i = 0; i < 8; i++) {
+        Callable<Integer> task =
+            () -> {
+              start.await();
+
+              int allowed = 0;
+              for (int j = 0; j < 10000 / 8; j++) {
+                if (rateLimiter.isAllowed()) allowed++;
+              }
+
+              return allowed;
+            };
+
+        results.add(executor.submit(task));
+      }
+
+      start.countDown();
+
+      int allowed = 0;
+      for (Future<Integer> result : results) allowed += result.get();
+
+      assertThat(allowed).isEqualTo(1000);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Given a rate limit of max 100 requests in 1 second, and a fake clock. When we make a million
+   * requests, moving the clock forward 1 millisecond every request. Then the limiter should
+   * alternate 100 allowed requests, and a blocking time in which every request is rejected.
+   */
+  @Test
+  public void testFakeClock() {
+    FakeClock clock = new FakeClock(0L);
+    RateLimiter rateLimiter = new RateLimiter(new SlidingLogStrategy(100L, 1000L), clock);
+
+    int allowed = 0;
+    for (int i = 0; i < 1000 * 1000; i++) {
+      if (rateLimiter.isAllowed()) allowed++;
+      clock.advance(1L);
+    }
+
+    // Every cycle is 100 allowed requests, the rejected one, and the blocking time
+    long cycleMs = 100 + 1 + RateLimiter.API_BLOCKED_TIME_MS;
+    long cycles = 1000 * 1000 / cycleMs;
+
+    assertThat((long) allowed).isBetween(cycles * 100, (cycles + 1) * 100);
+  }
+
+  /**
+   * Given a rate limit of max 10 requests in 1 minute. When a request charged 5 permits turns out
+   * to cost 2 permits, and another one charged 2 permits turns out to cost 4. Then the extra
+   * permits should be given back, and the missing ones taken.
+   */
+  @Test
+  public void testSettle() {
+    FakeClock clock = new FakeClock(10 * 1000L);
+    RateLimiter rateLimiter = new RateLimiter(new TokenBucketStrategy(10L, 60 * 1000L), clock);
+
+    assertThat(rateLimiter.tryAcquire(5L).getRemaining()).isEqualTo(5L);
+    rateLimiter.settle(5L, 2L);
+
+    assertThat(rateLimiter.tryAcquire(2L).getRemaining()).isEqualTo(6L);
+    rateLimiter.settle(2L, 4L);
+
+    assertThat(rateLimiter.tryAcquire(4L).getRemaining()).isEqualTo(0L);
+    assertThat(rateLimiter.tryAcquire(1L).isAllowed()).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 minute, with 3 requests made. When the limit is
+   * reconfigured to max 10 requests, blocking the endpoint for 1 second. Then the 3 requests should
+   * be carried over, and the endpoint should be blocked for 1 second once the new limit is reached.
+   */
+  @Test
+  public void testReconfigure() {
+    FakeClock clock = new FakeClock(10 * 1000L);
+    RateLimiter rateLimiter = new RateLimiter(new TokenBucketStrategy(5L, 60 * 1000L), clock);
+
+    for (int i = 0; i < 3; i++) assertThat(rateLimiter.isAllowed()).isEqualTo(true);
+
+    rateLimiter.reconfigure(new TokenBucketStrategy(10L, 60 * 1000L), 1000L);
+
+    RateLimitDecision decision = rateLimiter.tryAcquire();
+    assertThat(decision.getLimit()).isEqualTo(10L);
+    assertThat(decision.getRemaining()).isEqualTo(6L);
+
+    for (int i = 0; i < 6; i++) assertThat(rateLimiter.isAllowed()).isEqualTo(true);
+
+    assertThat(rateLimiter.tryAcquire().getRetryAfterMs()).isEqualTo(1000L);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 minute, with 3 requests made. When its snapshot is
+   * restored on a new RateLimiter. Then the new RateLimiter should only allow 2 more requests.
+   */
+  @Test
+  public void testSnapshot() {
+    FakeClock clock = new FakeClock(10 * 1000L);
+    RateLimiter rateLimiter = new RateLimiter(new TokenBucketStrategy(5L, 60 * 1000L), clock);
+
+    for (int i = 0; i < 3; i++) assertThat(rateLimiter.isAllowed()).isEqualTo(true);
+
+    RateLimiterSnapshot snapshot = rateLimiter.snapshot();
+    assertThat(snapshot.getUsed()).isEqualTo(3L);
+
+    clock.advance(1000L);
+    RateLimiter restored = new RateLimiter(new TokenBucketStrategy(5L, 60 * 1000L), clock);
+    restored.restore(snapshot);
+
+    assertThat(restored.tryAcquire().getRemaining()).isEqualTo(1L);
+  }
+
+  /**
+   * Given a blocked RateLimiter. When its snapshot is restored on a new RateLimiter. Then the new
+   * RateLimiter should stay blocked until the same time.
+   */
+  @Test
+  public void testSnapshotBlocked() {
+    FakeClock clock = new FakeClock(10 * 1000L);
+    RateLimiter rateLimiter = new RateLimiter(new TokenBucketStrategy(1L, 60 * 1000L), clock);
+
+    assertThat(rateLimiter.isAllowed()).isEqualTo(true);
+    assertThat(rateLimiter.isAllowed()).isEqualTo(false);
+
+    clock.advance(1000L);
+    RateLimiter restored = new RateLimiter(new TokenBucketStrategy(1L, 60 * 1000L), clock);
+    restored.restore(rateLimiter.snapshot());
+
+    assertThat(restored.tryAcquire().getRetryAfterMs())
+        .isEqualTo(RateLimiter.API_BLOCKED_TIME_MS - 1000L);
+  }
 }
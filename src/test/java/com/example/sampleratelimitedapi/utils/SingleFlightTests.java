@@ -0,0 +1,177 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>SingleFlightTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the SingleFlight class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SingleFlightTests {
+  /**
+   * Given a slow loader. When 8 threads call the same key while it is running. Then the loader
+   * should run once, every thread should get its result, and the key should be forgotten.
+   */
+  @Test
+  public void testCallsAreCollapsed() throws Exception {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    AtomicInteger loads = new AtomicInteger();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    Thread leader =
+        new Thread(
+            () ->
+                singleFlight.execute(
+                    "amsterdam",
+                    () -> {
+                      loads.incrementAndGet();
+                      loading.countDown();
+                      await(release);
+                      return "result";
+                    }));
+    leader.start();
+    loading.await();
+
+    List<String> results = new ArrayList<>();
+    List<Thread> followers = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      Thread follower =
+          new Thread(
+              () -> {
+                String result =
+                    singleFlight.execute(
+                        "amsterdam",
+                        () -> {
+                          loads.incrementAndGet();
+                          return "another result";
+                        });
+
+                synchronized (results) {
+                  results.add(result);
+                }
+              });
+      follower.start();
+      followers.add(follower);
+    }
+
+    // Let the followers reach the call in flight before it completes
+    Thread.sleep(100L);
+    release.countDown();
+
+    leader.join();
+    for (Thread follower : followers) follower.join();
+
+    assertThat(loads.get()).isEqualTo(1);
+    assertThat(results.size()).isEqualTo(8);
+    assertThat(results.stream().allMatch("result"::equals)).isEqualTo(true);
+    assertThat(singleFlight.size()).isEqualTo(0);
+  }
+
+  /**
+   * Given a loader that throws. When it is called. Then the exception should be thrown as it is,
+   * the key should be forgotten, and the next call should run the loader again.
+   */
+  @Test
+  public void testLoaderThrows() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    assertThatThrownBy(
+            () ->
+                singleFlight.execute(
+                    "amsterdam",
+                    () -> {
+                      throw new IllegalStateException("database down");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(singleFlight.size()).isEqualTo(0);
+    assertThat(singleFlight.execute("amsterdam", () -> "result")).isEqualTo("result");
+  }
+
+  /**
+   * Given a slow loader that throws. When another thread calls the same key while it is running.
+   * Then the other thread should get the same exception.
+   */
+  @Test
+  public void testWaitersGetTheException() throws Exception {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    IllegalStateException exception = new IllegalStateException("database down");
+
+    Thread leader =
+        new Thread(
+            () -> {
+              try {
+                singleFlight.execute(
+                    "amsterdam",
+                    () -> {
+                      loading.countDown();
+                      await(release);
+                      throw exception;
+                    });
+              } catch (IllegalStateException e) {
+                // Expected
+              }
+            });
+    leader.start();
+    loading.await();
+
+    Throwable[] thrown = new Throwable[1];
+    Thread follower =
+        new Thread(
+            () -> {
+              try {
+                singleFlight.execute("amsterdam", () -> "result");
+              } catch (Throwable t) {
+                thrown[0] = t;
+              }
+            });
+    follower.start();
+
+    Thread.sleep(100L);
+    release.countDown();
+    leader.join();
+    follower.join();
+
+    // The follower may have arrived after the leader was done, and loaded the key itself
+    if (thrown[0] != null) assertThat(thrown[0]).isSameAs(exception);
+    assertThat(singleFlight.size()).isEqualTo(0);
+  }
+
+  /** A loader calling the same key again on its own thread should not wait for itself. */
+  @Test
+  public void testReentrantCall() {
+    SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    String result =
+        singleFlight.execute(
+            "amsterdam", () -> "outer " + singleFlight.execute("amsterdam", () -> "inner"));
+
+    assertThat(result).isEqualTo("outer inner");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>SlidingLogStrategyTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the SlidingLogStrategy class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SlidingLogStrategyTests {
+  /**
+   * Given a rate limit of max 5 requests in 1 second. When we make five requests, one every 100
+   * milliseconds. Then a request should be allowed only once the first one is older than 1 second.
+   */
+  @Test
+  public void testSlidingWindow() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new SlidingLogStrategy(5L, 1000L);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(strategy.tryAcquire(now + i * 100L)).isEqualTo(true);
+    }
+
+    assertThat(strategy.tryAcquire(now + 999L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + 1000L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now + 1000L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + 1100L)).isEqualTo(true);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second. When we make two requests, 100 milliseconds
+   * apart. Then three requests should remain, and the whole limit should be available again 1
+   * second after the last request.
+   */
+  @Test
+  public void testRemainingAndReset() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new SlidingLogStrategy(5L, 1000L);
+
+    assertThat(strategy.getLimit()).isEqualTo(5L);
+    assertThat(strategy.getRemaining(now)).isEqualTo(5L);
+    assertThat(strategy.getResetMs(now)).isEqualTo(0L);
+
+    strategy.tryAcquire(now);
+    strategy.tryAcquire(now + 100L);
+
+    assertThat(strategy.getRemaining(now + 100L)).isEqualTo(3L);
+    assertThat(strategy.getResetMs(now + 100L)).isEqualTo(1000L);
+
+    // The first request leaves the window
+    assertThat(strategy.getRemaining(now + 1000L)).isEqualTo(4L);
+    assertThat(strategy.getResetMs(now + 1000L)).isEqualTo(100L);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, already reached. When we ask how long until
+   * the next request is allowed. Then a request should be rejected before that time, and allowed at
+   * that time.
+   */
+  @Test
+  public void testWait() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = new SlidingLogStrategy(5L, 1000L);
+
+    assertThat(strategy.getWaitMs(now)).isEqualTo(0L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+
+    long waitMs = strategy.getWaitMs(now);
+    assertThat(waitMs).isEqualTo(1000L);
+
+    assertThat(strategy.tryAcquire(now + waitMs - 1)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + waitMs)).isEqualTo(true);
+  }
+
+  /**
+   * Given a rate limit of max 100 requests in 1 hour. When 32 threads make 100 requests each at the
+   * same time, recording some debt too. Then no more than 100 requests should be allowed, and every
+   * thread should finish.
+   */
+  @Test
+  public void testConcurrentRequests() throws Exception {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new SlidingLogStrategy(100L, 60 * 60 * 1000L);
+    AtomicLong allowed = new AtomicLong();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < 32; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  return;
+                }
+
+                for (int j = 0; j < 100; j++) {
+                  if (strategy.tryAcquire(now)) allowed.incrementAndGet();
+                  if (j % 10 == 0) strategy.consume(now, 1L);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+
+    start.countDown();
+    for (Thread thread : threads) thread.join(10 * 1000L);
+
+    for (Thread thread : threads) assertThat(thread.isAlive()).isFalse();
+    assertThat(allowed.get()).isLessThanOrEqualTo(100L);
+  }
+}
@@ -0,0 +1,122 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>SlidingWindowCounterStrategyTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the SlidingWindowCounterStrategy class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class SlidingWindowCounterStrategyTests {
+  /**
+   * Given a rate limit of max 10 requests in 1 second. When we make ten requests at the start of a
+   * window. Then the eleventh request should be rejected.
+   */
+  @Test
+  public void testCurrentWindow() {
+    RateLimitStrategy strategy = new SlidingWindowCounterStrategy(10L, 1000L);
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(strategy.tryAcquire(10 * 1000L)).isEqualTo(true);
+    }
+
+    assertThat(strategy.tryAcquire(10 * 1000L + 999L)).isEqualTo(false);
+  }
+
+  /**
+   * Given a rate limit of max 10 requests in 1 second, reached in the previous window. When 30% of
+   * the current window has elapsed (so 70% of the previous requests still count). Then only three
+   * more requests should be allowed.
+   */
+  @Test
+  public void testWeightedPreviousWindow() {
+    RateLimitStrategy strategy = new SlidingWindowCounterStrategy(10L, 1000L);
+
+    for (int i = 0; i < 10; i++) strategy.tryAcquire(10 * 1000L);
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(strategy.tryAcquire(11 * 1000L + 300L)).isEqualTo(true);
+    }
+
+    assertThat(strategy.tryAcquire(11 * 1000L + 300L)).isEqualTo(false);
+
+    // Two windows later, the previous requests do not count anymore
+    for (int i = 0; i < 10; i++) {
+      assertThat(strategy.tryAcquire(13 * 1000L)).isEqualTo(true);
+    }
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, already reached. When we ask how long until
+   * the next request is allowed. Then a request should be rejected before that time, and allowed at
+   * that time.
+   */
+  @Test
+  public void testWait() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = new SlidingWindowCounterStrategy(5L, 1000L);
+
+    assertThat(strategy.getWaitMs(now)).isEqualTo(0L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+
+    long waitMs = strategy.getWaitMs(now);
+    assertThat(waitMs).isEqualTo(1001L);
+
+    assertThat(strategy.tryAcquire(now + waitMs - 1)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + waitMs)).isEqualTo(true);
+  }
+
+  /**
+   * Given 1000 rate limits of max 100000 requests in 1 second. When 8 threads make, on each of
+   * them, 20 requests in the middle of a window and 20 more at the start of the next one, racing
+   * with the switch. Then every allowed request should be counted, either in the previous window or
+   * in the current one, so exactly 320 requests should weigh on the remaining ones of every rate
+   * limit.
+   */
+  @Test
+  public void testConcurrentWindowRollover() throws Exception {
+    List<RateLimitStrategy> strategies = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) strategies.add(new SlidingWindowCounterStrategy(100000L, 1000L));
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  return;
+                }
+
+                for (RateLimitStrategy strategy : strategies) {
+                  for (int j = 0; j < 20; j++) strategy.tryAcquire(10 * 1000L + 500L);
+                  for (int j = 0; j < 20; j++) strategy.tryAcquire(11 * 1000L);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+
+    start.countDown();
+    for (Thread thread : threads) thread.join();
+
+    for (RateLimitStrategy strategy : strategies) {
+      assertThat(strategy.getRemaining(11 * 1000L)).isEqualTo(100000L - 320L);
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>StripedTokenBucketStrategyTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the StripedTokenBucketStrategy class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class StripedTokenBucketStrategyTests {
+  /**
+   * Given a bucket of 5 tokens refilled every second. When we make five requests at the same time.
+   * Then the sixth request should be rejected.
+   */
+  @Test
+  public void testBurst() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new StripedTokenBucketStrategy(5L, 1000L, 4);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(strategy.tryAcquire(now)).isEqualTo(true);
+    }
+
+    // Last request should fail
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+  }
+
+  /**
+   * Given a bucket of 5 tokens refilled every second (one token every 200 milliseconds). When the
+   * bucket is empty. Then one request should be allowed every 200 milliseconds.
+   */
+  @Test
+  public void testRefill() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new StripedTokenBucketStrategy(5L, 1000L, 4);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+
+    assertThat(strategy.tryAcquire(now + 199L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + 200L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now + 200L)).isEqualTo(false);
+
+    // The bucket never holds more than 5 tokens
+    for (int i = 0; i < 5; i++) {
+      assertThat(strategy.tryAcquire(now + 60 * 1000L)).isEqualTo(true);
+    }
+
+    assertThat(strategy.tryAcquire(now + 60 * 1000L)).isEqualTo(false);
+  }
+
+  /**
+   * Given a bucket of 10 tokens split across 4 stripes. When a request takes 4 of them, and another
+   * one takes 7. Then the second request should be rejected, and a request taking the last 6 tokens
+   * should be allowed.
+   */
+  @Test
+  public void testPermitsAcrossStripes() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new StripedTokenBucketStrategy(10L, 60 * 1000L, 4);
+
+    assertThat(strategy.tryAcquire(now, 4L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now, 7L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now, 6L)).isEqualTo(true);
+    assertThat(strategy.getRemaining(now)).isEqualTo(0L);
+  }
+
+  /**
+   * Given a bucket of 10 tokens split across 4 stripes. When 15 tokens are consumed. Then the
+   * bucket should owe 5 tokens, paid by the refills before a request is allowed again.
+   */
+  @Test
+  public void testConsumeRefill() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new StripedTokenBucketStrategy(10L, 1000L, 4);
+
+    strategy.consume(now, 15L);
+    assertThat(strategy.getRemaining(now)).isEqualTo(0L);
+
+    // One token every 100 milliseconds: 5 to pay the debt, then one more
+    assertThat(strategy.tryAcquire(now + 500L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + 600L)).isEqualTo(true);
+  }
+
+  /**
+   * Given a bucket of 1000 tokens split across 16 stripes, never refilled during the test. When 32
+   * threads make 100 requests each. Then exactly 1000 requests should be allowed: the stripes never
+   * over-admit, and the tokens they hold are gathered back before a request is rejected.
+   */
+  @Test
+  public void testConcurrentRequests() throws Exception {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new StripedTokenBucketStrategy(1000L, 60 * 60 * 1000L, 16);
+    AtomicLong allowed = new AtomicLong();
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < 32; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  start.await();
+                } catch (InterruptedException e) {
+                  return;
+                }
+
+                for (int j = 0; j < 100; j++)
+                  if (strategy.tryAcquire(now)) allowed.incrementAndGet();
+              });
+      thread.start();
+      threads.add(thread);
+    }
+
+    start.countDown();
+    for (Thread thread : threads) thread.join();
+
+    assertThat(allowed.get()).isEqualTo(1000L);
+  }
+
+  /**
+   * Given a bucket of 1000 tokens split across 16 stripes, never refilled during the test. When 8
+   * threads make one request each, moving a batch of tokens to their stripes. Then 992 tokens
+   * should be remaining, whatever the thread asking.
+   */
+  @Test
+  public void testRemainingAcrossStripes() throws Exception {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new StripedTokenBucketStrategy(1000L, 60 * 60 * 1000L, 16);
+
+    for (int i = 0; i < 8; i++) {
+      Thread thread = new Thread(() -> strategy.tryAcquire(now));
+      thread.start();
+      thread.join();
+    }
+
+    assertThat(strategy.getRemaining(now)).isEqualTo(992L);
+  }
+}
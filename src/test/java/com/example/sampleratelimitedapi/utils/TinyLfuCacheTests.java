@@ -0,0 +1,134 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>TinyLfuCacheTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the TinyLfuCache class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class TinyLfuCacheTests {
+  /**
+   * Given a cached value. When it is requested, and a missing value is requested. Then the first
+   * request should be a hit, and the second one a miss.
+   */
+  @Test
+  public void testHitsAndMisses() {
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(16, 60 * 1000L, new FakeClock(0L));
+
+    cache.put("amsterdam", "value");
+
+    assertThat(cache.get("amsterdam")).isEqualTo("value");
+    assertThat(cache.get("bangkok")).isNull();
+
+    TinyLfuCache.Stats stats = cache.getStats();
+    assertThat(stats.getHits()).isEqualTo(1L);
+    assertThat(stats.getMisses()).isEqualTo(1L);
+    assertThat(stats.getSize()).isEqualTo(1);
+    assertThat(stats.getHitRate()).isEqualTo(0.5);
+  }
+
+  /** A value should expire once its time to live is over. */
+  @Test
+  public void testExpiry() {
+    FakeClock clock = new FakeClock(0L);
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(16, 1000L, clock);
+
+    cache.put("amsterdam", "value");
+
+    clock.advance(999L);
+    assertThat(cache.get("amsterdam")).isEqualTo("value");
+
+    clock.advance(1L);
+    assertThat(cache.get("amsterdam")).isNull();
+    assertThat(cache.getStats().getSize()).isEqualTo(0);
+  }
+
+  /**
+   * Given a full cache of one entry, whose key was requested several times. When a key requested
+   * once is added. Then it should be rejected, until it is requested more often than the cached
+   * key.
+   */
+  @Test
+  public void testAdmission() {
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(1, 60 * 1000L, new FakeClock(0L));
+
+    cache.put("amsterdam", "hot");
+    for (int i = 0; i < 3; i++) cache.get("amsterdam");
+
+    cache.get("bangkok");
+    cache.put("bangkok", "cold");
+
+    assertThat(cache.get("amsterdam")).isEqualTo("hot");
+    assertThat(cache.getStats().getRejections()).isEqualTo(1L);
+
+    // "amsterdam" has been requested 4 times: "bangkok" is requested a 5th time
+    for (int i = 0; i < 4; i++) cache.get("bangkok");
+    cache.put("bangkok", "cold");
+
+    assertThat(cache.get("bangkok")).isEqualTo("cold");
+    assertThat(cache.getStats().getEvictions()).isEqualTo(1L);
+  }
+
+  /** An expired entry should always be replaced, however popular its key is. */
+  @Test
+  public void testExpiredEntryIsReplaced() {
+    FakeClock clock = new FakeClock(0L);
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(1, 1000L, clock);
+
+    cache.put("amsterdam", "hot");
+    for (int i = 0; i < 10; i++) cache.get("amsterdam");
+
+    clock.advance(1000L);
+    cache.put("bangkok", "cold");
+
+    assertThat(cache.get("bangkok")).isEqualTo("cold");
+    assertThat(cache.getStats().getRejections()).isEqualTo(0L);
+  }
+
+  /**
+   * Given a cache of two entries in one stripe (a window of one entry, and a main segment of one),
+   * whose admitted key was requested several times. When two keys requested less often are added,
+   * one after the other. Then the first one should be rejected when it leaves the window, while the
+   * second one should still be cached in the window.
+   */
+  @Test
+  public void testAdmissionWindow() {
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(2, 60 * 1000L, 1, new FakeClock(0L));
+
+    cache.put("amsterdam", "hot");
+    cache.put("bangkok", "cold");
+    for (int i = 0; i < 3; i++) cache.get("amsterdam");
+
+    cache.put("cairo", "new");
+
+    assertThat(cache.get("cairo")).isEqualTo("new");
+    assertThat(cache.get("amsterdam")).isEqualTo("hot");
+    assertThat(cache.get("bangkok")).isNull();
+    assertThat(cache.getStats().getRejections()).isEqualTo(1L);
+    assertThat(cache.getStats().getSize()).isEqualTo(2);
+  }
+
+  /** Only the entry of the given key should be invalidated. */
+  @Test
+  public void testInvalidate() {
+    TinyLfuCache<String, String> cache = new TinyLfuCache<>(16, 60 * 1000L, new FakeClock(0L));
+
+    cache.put("city:amsterdam", "1");
+    cache.put("city:bangkok", "2");
+
+    cache.invalidate("city:amsterdam");
+    cache.invalidate("room:deluxe");
+
+    assertThat(cache.get("city:amsterdam")).isNull();
+    assertThat(cache.get("city:bangkok")).isEqualTo("2");
+  }
+}
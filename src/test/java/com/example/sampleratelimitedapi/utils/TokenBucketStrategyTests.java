@@ -0,0 +1,138 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>TokenBucketStrategyTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the TokenBucketStrategy class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class TokenBucketStrategyTests {
+  /**
+   * Given a bucket of 5 tokens refilled every second. When we make five requests at the same time.
+   * Then the sixth request should be rejected.
+   */
+  @Test
+  public void testBurst() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new TokenBucketStrategy(5L, 1000L);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(strategy.tryAcquire(now)).isEqualTo(true);
+    }
+
+    // Last request should fail
+    assertThat(strategy.tryAcquire(now)).isEqualTo(false);
+  }
+
+  /**
+   * Given a bucket of 5 tokens refilled every second (one token every 200 milliseconds). When the
+   * bucket is empty. Then one request should be allowed every 200 milliseconds.
+   */
+  @Test
+  public void testRefill() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new TokenBucketStrategy(5L, 1000L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+
+    assertThat(strategy.tryAcquire(now + 199L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + 200L)).isEqualTo(true);
+    assertThat(strategy.tryAcquire(now + 200L)).isEqualTo(false);
+
+    // The bucket never holds more than 5 tokens
+    for (int i = 0; i < 5; i++) {
+      assertThat(strategy.tryAcquire(now + 60 * 1000L)).isEqualTo(true);
+    }
+
+    assertThat(strategy.tryAcquire(now + 60 * 1000L)).isEqualTo(false);
+  }
+
+  /**
+   * Given a bucket of 3 tokens refilled every 10 milliseconds (one token every 3.33 milliseconds).
+   * When a request is made every millisecond for 1 second. Then about 303 requests should be
+   * allowed: the 3 tokens of the full bucket, and the 300 tokens earned in 1 second.
+   */
+  @Test
+  public void testRefillNonDivisibleInterval() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = new TokenBucketStrategy(3L, 10L);
+
+    long allowed = 0L;
+    for (long i = 0; i < 1000L; i++) {
+      if (strategy.tryAcquire(now + i)) allowed++;
+    }
+
+    assertThat(allowed).isBetween(300L, 303L);
+  }
+
+  /**
+   * Given a bucket of 5 tokens refilled every second (one token every 200 milliseconds). When we
+   * make two requests. Then three tokens should remain, and the bucket should be full again after
+   * 400 milliseconds.
+   */
+  @Test
+  public void testRemainingAndReset() {
+    long now = System.currentTimeMillis();
+    RateLimitStrategy strategy = new TokenBucketStrategy(5L, 1000L);
+
+    assertThat(strategy.getLimit()).isEqualTo(5L);
+    assertThat(strategy.getRemaining(now)).isEqualTo(5L);
+    assertThat(strategy.getResetMs(now)).isEqualTo(0L);
+
+    strategy.tryAcquire(now);
+    strategy.tryAcquire(now);
+
+    assertThat(strategy.getRemaining(now)).isEqualTo(3L);
+    assertThat(strategy.getResetMs(now)).isEqualTo(400L);
+    assertThat(strategy.getRemaining(now + 200L)).isEqualTo(4L);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, already reached. When we ask how long until
+   * the next request is allowed. Then a request should be rejected before that time, and allowed at
+   * that time.
+   */
+  @Test
+  public void testWait() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = new TokenBucketStrategy(5L, 1000L);
+
+    assertThat(strategy.getWaitMs(now)).isEqualTo(0L);
+
+    for (int i = 0; i < 5; i++) strategy.tryAcquire(now);
+
+    long waitMs = strategy.getWaitMs(now);
+    assertThat(waitMs).isEqualTo(200L);
+
+    assertThat(strategy.tryAcquire(now + waitMs - 1)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + waitMs)).isEqualTo(true);
+  }
+
+  /**
+   * Given a rate limit of max 5 requests in 1 second, with 2 requests made. When 4 more permits are
+   * consumed, exceeding the limit. Then the debt should be paid by the refill: only 4 permits
+   * should be available 1 second later.
+   */
+  @Test
+  public void testConsumeRefill() {
+    long now = 10 * 1000L;
+    RateLimitStrategy strategy = new TokenBucketStrategy(5L, 1000L);
+
+    assertThat(strategy.tryAcquire(now, 2L)).isEqualTo(true);
+    strategy.consume(now, 4L);
+
+    assertThat(strategy.tryAcquire(now, 1L)).isEqualTo(false);
+
+    assertThat(strategy.tryAcquire(now + 1000L, 5L)).isEqualTo(false);
+    assertThat(strategy.tryAcquire(now + 1000L, 4L)).isEqualTo(true);
+  }
+}
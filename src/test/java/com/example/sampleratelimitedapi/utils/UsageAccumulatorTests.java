@@ -0,0 +1,113 @@
+package com.example.sampleratelimitedapi.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ *
+ * <h1>UsageAccumulatorTests</h1>
+ *
+ * <p>This class contains the Unit Tests for the UsageAccumulator class
+ *
+ * @author Marco Giuliani
+ * @version 1.0
+ * @since 2026-10-17
+ */
+public class UsageAccumulatorTests {
+  private static final String CLIENT = "ip:10.0.0.1";
+  private static final String DIFFERENT_CLIENT = "ip:10.0.0.2";
+
+  // Drains the accumulator, returning the [allowed, rejected] counts by "endpoint client"
+  private Map<String, long[]> drain(UsageAccumulator accumulator) {
+    Map<String, long[]> usage = new HashMap<>();
+
+    accumulator.drain(
+        (endpoint, clientKey, allowed, rejected) ->
+            usage.put(endpoint + " " + clientKey, new long[] {allowed, rejected}));
+
+    return usage;
+  }
+
+  /**
+   * Given two clients making requests to two endpoints. When the accumulator is drained. Then the
+   * requests allowed and rejected should be reported for every client and endpoint.
+   */
+  @Test
+  public void testDrain() {
+    UsageAccumulator accumulator = new UsageAccumulator();
+
+    accumulator.record("city", CLIENT, true);
+    accumulator.record("city", CLIENT, true);
+    accumulator.record("city", CLIENT, false);
+    accumulator.record("room", CLIENT, true);
+    accumulator.record("city", DIFFERENT_CLIENT, false);
+
+    Map<String, long[]> usage = drain(accumulator);
+
+    assertThat(usage.keySet())
+        .containsExactlyInAnyOrder("city " + CLIENT, "room " + CLIENT, "city " + DIFFERENT_CLIENT);
+    assertThat(usage.get("city " + CLIENT)).containsExactly(2L, 1L);
+    assertThat(usage.get("room " + CLIENT)).containsExactly(1L, 0L);
+    assertThat(usage.get("city " + DIFFERENT_CLIENT)).containsExactly(0L, 1L);
+  }
+
+  /**
+   * Given a client whose requests were already drained. When it makes another request, and the
+   * accumulator is drained again. Then only the new request should be reported.
+   */
+  @Test
+  public void testDrainReportsDifference() {
+    UsageAccumulator accumulator = new UsageAccumulator();
+
+    accumulator.record("city", CLIENT, true);
+    accumulator.record("city", CLIENT, true);
+    drain(accumulator);
+
+    accumulator.record("city", CLIENT, true);
+
+    assertThat(drain(accumulator).get("city " + CLIENT)).containsExactly(1L, 0L);
+    assertThat(drain(accumulator)).isEmpty();
+  }
+
+  /**
+   * Given 8 threads recording 10000 requests each, while the accumulator is drained over and over.
+   * When the threads are done, and the accumulator is drained twice more. Then every request should
+   * have been reported exactly once.
+   */
+  @Test
+  public void testConcurrentDrain() throws Exception {
+    UsageAccumulator accumulator = new UsageAccumulator();
+    CountDownLatch done = new CountDownLatch(8);
+    List<Thread> threads = new ArrayList<>();
+    long[] reported = new long[1];
+
+    for (int i = 0; i < 8; i++) {
+      String client = "ip:10.0.0." + (i % 2);
+      Thread thread =
+          new Thread(
+              () -> {
+                for (int j = 0; j < 10000; j++) accumulator.record("city", client, true);
+                done.countDown();
+              });
+      thread.start();
+      threads.add(thread);
+    }
+
+    UsageAccumulator.Sink sink = (endpoint, clientKey, allowed, rejected) -> reported[0] += allowed;
+
+    while (done.getCount() > 0) accumulator.drain(sink);
+    for (Thread thread : threads) thread.join();
+
+    accumulator.drain(sink);
+    accumulator.drain(sink);
+
+    assertThat(reported[0]).isEqualTo(80000L);
+  }
+}
@@ -5,4 +5,7 @@ ALTER TABLE hotels ALTER COLUMN id RESTART WITH 1
 -- Insert new rows
 INSERT INTO hotels (city, room, price) VALUES ('Bangkok','Superior', 1400)
 INSERT INTO hotels (city, room, price) VALUES ('Amsterdam','Deluxe', 2300)
-INSERT INTO hotels (city, room, price) VALUES ('Bangkok','Deluxe', 1900)
\ No newline at end of file
+INSERT INTO hotels (city, room, price) VALUES ('Bangkok','Deluxe', 1900)
+
+-- Fill in the normalized columns (see Hotel.key), as the rows are not inserted through JPA
+UPDATE hotels SET city_key = LOWER(city), room_key = LOWER(room)
\ No newline at end of file